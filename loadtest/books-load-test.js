@@ -0,0 +1,52 @@
+// Carga de leitura em GET /api/v1/books.
+// Uso: k6 run -e EMAIL=... -e PASSWORD=... -e VUS=1000 -e DURATION=2m -e BASE_URL=http://localhost:8080 loadtest/books-load-test.js
+// EMAIL/PASSWORD são de um usuário já cadastrado (POST /api/v1/auth/register); os usuários do seed não têm senha válida.
+import http from 'k6/http';
+import { check, fail } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = parseInt(__ENV.VUS || '1000');
+const DURATION = __ENV.DURATION || '2m';
+
+export const options = {
+    scenarios: {
+        books: {
+            executor: 'constant-vus',
+            vus: VUS,
+            duration: DURATION,
+            gracefulStop: '10s',
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        http_req_duration: ['p(95)<500', 'p(99)<1500'],
+    },
+    summaryTrendStats: ['avg', 'med', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+    if (!__ENV.EMAIL || !__ENV.PASSWORD) {
+        fail('Informe EMAIL e PASSWORD de um usuário cadastrado (-e EMAIL=... -e PASSWORD=...)');
+    }
+
+    const res = http.post(`${BASE_URL}/api/v1/auth/login`, JSON.stringify({
+        email: __ENV.EMAIL,
+        password: __ENV.PASSWORD,
+    }), { headers: { 'Content-Type': 'application/json' } });
+
+    // Sem token todas as requisições seguintes seriam 401/403 e a rodada não mediria nada
+    if (!check(res, { 'login ok': (r) => r.status === 200 })) {
+        fail(`Login falhou para ${__ENV.EMAIL}: HTTP ${res.status}`);
+    }
+    return { token: res.json('token') };
+}
+
+export default function (data) {
+    const page = Math.floor(Math.random() * 5);
+    const res = http.get(`${BASE_URL}/api/v1/books?page=${page}&size=20`, {
+        headers: { Authorization: `Bearer ${data.token}` },
+        tags: { name: 'GET /api/v1/books' },
+    });
+
+    check(res, { 'status 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,28 @@
+#!/usr/bin/env bash
+# Executa a carga com 1k, 5k e 10k clientes e salva um resumo por rodada.
+# Suba a API antes com o modo desejado e informe o rótulo em MODE e as credenciais
+# de um usuário cadastrado em EMAIL/PASSWORD:
+#   EMAIL=admin@example.com PASSWORD=password123 MODE=platform ./loadtest/run.sh
+#   EMAIL=admin@example.com PASSWORD=password123 MODE=vthreads ./loadtest/run.sh   (API com SPRING_PROFILES_ACTIVE=vthreads)
+set -euo pipefail
+
+EMAIL="${EMAIL:?informe EMAIL de um usuário cadastrado}"
+PASSWORD="${PASSWORD:?informe PASSWORD do usuário}"
+MODE="${MODE:-platform}"
+BASE_URL="${BASE_URL:-http://localhost:8080}"
+DURATION="${DURATION:-2m}"
+LEVELS="${LEVELS:-1000 5000 10000}"
+OUT_DIR="${OUT_DIR:-loadtest/results}"
+
+mkdir -p "$OUT_DIR"
+
+for vus in $LEVELS; do
+  echo ">> $MODE: $vus clientes por $DURATION"
+  k6 run \
+    -e BASE_URL="$BASE_URL" -e VUS="$vus" -e DURATION="$DURATION" \
+    -e EMAIL="$EMAIL" -e PASSWORD="$PASSWORD" \
+    --summary-export "$OUT_DIR/$MODE-$vus.json" \
+    "$(dirname "$0")/books-load-test.js" || true
+  # Deixa o pool de conexões e o GC estabilizarem entre as rodadas
+  sleep 30
+done
@@ -0,0 +1,86 @@
+-- Benchmark da busca textual com 1M de livros.
+-- Rode contra um banco descartável já migrado (Flyway), por exemplo:
+--   psql -h localhost -U postgres -d library_bench -f loadtest/search-benchmark.sql
+-- Cada consulta é executada com EXPLAIN (ANALYZE, BUFFERS); compare "Execution Time" com o alvo de 10 ms.
+\timing on
+
+INSERT INTO categories (name, description)
+VALUES ('Benchmark', 'Categoria gerada pelo benchmark')
+ON CONFLICT (name) DO NOTHING;
+
+INSERT INTO authors (name)
+SELECT 'Autor ' || w1.word || ' ' || w2.word
+  FROM unnest(ARRAY['Silva', 'Souza', 'Orwell', 'Machado', 'Assis', 'Lispector', 'Amado', 'Rosa', 'Woolf', 'Borges']) w1(word),
+       unnest(ARRAY['Ana', 'Bruno', 'Clara', 'Diego', 'Elisa', 'Fabio', 'Gabriela', 'Heitor', 'Iris', 'Joao']) w2(word);
+
+-- Títulos combinam palavras de um vocabulário de ~2000 termos para gerar distribuição realista
+WITH vocab AS (
+    SELECT array_agg(md5(i::text)::varchar(6)) AS words FROM generate_series(1, 2000) i
+)
+INSERT INTO books (isbn, title, description, publisher, available_quantity, total_quantity, category_id)
+SELECT 'BENCH' || lpad(n::text, 12, '0'),
+       initcap(words[1 + (n * 7) % 2000] || ' ' || words[1 + (n * 13) % 2000] || ' ' || words[1 + (n * 31) % 2000]),
+       'Descricao ' || words[1 + (n * 17) % 2000] || ' ' || words[1 + (n * 23) % 2000],
+       'Editora ' || words[1 + n % 50],
+       1, 1,
+       (SELECT id FROM categories WHERE name = 'Benchmark')
+  FROM generate_series(1, 1000000) n, vocab;
+
+INSERT INTO book_author (book_id, author_id)
+SELECT b.id, a.ids[1 + b.id % array_length(a.ids, 1)]
+  FROM books b, (SELECT array_agg(id) AS ids FROM authors WHERE name LIKE 'Autor %') a
+ WHERE b.isbn LIKE 'BENCH%';
+
+ANALYZE books;
+ANALYZE authors;
+ANALYZE book_author;
+
+-- Alguns títulos acentuados para o caso sem acento
+INSERT INTO books (isbn, title, description, publisher, available_quantity, total_quantity, category_id)
+SELECT 'BENCHACC' || lpad(n::text, 8, '0'), 'Ficção Científica ' || n, NULL, 'Editora Benchmark', 1, 1,
+       (SELECT id FROM categories WHERE name = 'Benchmark')
+  FROM generate_series(1, 1000) n;
+ANALYZE books;
+
+-- Mesma consulta de CatalogSearchRepository.searchBookIds (primeira página, 20 livros)
+PREPARE search_books(text) AS
+WITH q AS (SELECT to_tsquery('catalog', $1) AS query),
+book_hits AS (
+    SELECT b.id, ts_rank_cd(b.search_vector, q.query) AS rank
+      FROM books b, q
+     WHERE b.search_vector @@ q.query AND b.is_deleted = FALSE
+     ORDER BY rank DESC, b.id
+     LIMIT 20
+),
+author_hits AS (
+    SELECT ba.book_id AS id, MAX(ts_rank_cd(a.search_vector, q.query)) * 0.8 AS rank
+      FROM authors a
+      JOIN book_author ba ON ba.author_id = a.id
+      JOIN books b ON b.id = ba.book_id, q
+     WHERE a.search_vector @@ q.query AND b.is_deleted = FALSE
+     GROUP BY ba.book_id
+     ORDER BY rank DESC, ba.book_id
+     LIMIT 20
+)
+SELECT id FROM (SELECT * FROM book_hits UNION ALL SELECT * FROM author_hits) hits
+ GROUP BY id ORDER BY MAX(rank) DESC, id LIMIT 20 OFFSET 0;
+
+-- Termo seletivo (prefixo de uma palavra do vocabulário)
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE search_books('c4ca42:*');
+
+-- Dois termos combinados
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE search_books('c4ca42:* & c81e72:*');
+
+-- Prefixo aberto: "d" casa com todas as descrições ("Descricao ..."), ou seja, o acervo inteiro.
+-- É o pior caso do ramo de livros: todas as linhas encontradas são ranqueadas antes do LIMIT
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE search_books('d:*');
+
+-- Prefixo de autor que casa com 10 dos 100 autores (~100 mil livros pelo ramo de autores)
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE search_books('silva:*');
+
+-- Sem acento na busca: deve encontrar os títulos "Ficção Científica"
+EXECUTE search_books('ficcao:* & cientif:*');
+
+-- Busca por trecho do título (endpoint /books/search/title) usando o índice trigram
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id FROM books WHERE upper(title) LIKE upper('%c4ca4%') AND is_deleted = FALSE LIMIT 20;
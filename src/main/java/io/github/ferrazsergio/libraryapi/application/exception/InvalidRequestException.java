@@ -0,0 +1,12 @@
+package io.github.ferrazsergio.libraryapi.application.exception;
+
+/**
+ * Parâmetro enviado pelo cliente é inválido (400). A mensagem é devolvida na resposta, então
+ * deve ser escrita para o cliente e não expor detalhes internos.
+ */
+public class InvalidRequestException extends RuntimeException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
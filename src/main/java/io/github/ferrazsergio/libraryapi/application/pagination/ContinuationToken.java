@@ -0,0 +1,59 @@
+package io.github.ferrazsergio.libraryapi.application.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.stream.Collectors;
+
+/**
+ * Codifica a chave da última linha de uma página (paginação por keyset) em um token opaco.
+ * <p>
+ * O cliente apenas devolve o token em {@code ?cursor=}; o formato interno
+ * ({@code v1|chave1|chave2}, em Base64 URL-safe) pode mudar sem quebrar a API.
+ */
+public final class ContinuationToken {
+
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "|";
+
+    private ContinuationToken() {
+    }
+
+    public static String encode(Object... keys) {
+        String payload = VERSION + SEPARATOR + Arrays.stream(keys)
+                .map(String::valueOf)
+                .collect(Collectors.joining(SEPARATOR));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return as chaves do token, na ordem em que foram codificadas
+     * @throws InvalidContinuationTokenException se o token estiver malformado ou tiver outro número de chaves
+     */
+    public static String[] decode(String token, int keyCount) {
+        String payload;
+        try {
+            payload = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidContinuationTokenException();
+        }
+
+        String[] parts = payload.split("\\|", -1);
+        if (parts.length != keyCount + 1 || !VERSION.equals(parts[0])) {
+            throw new InvalidContinuationTokenException();
+        }
+        return Arrays.copyOfRange(parts, 1, parts.length);
+    }
+
+    public static Integer decodeId(String token) {
+        return parseId(decode(token, 1)[0]);
+    }
+
+    public static Integer parseId(String key) {
+        try {
+            return Integer.valueOf(key);
+        } catch (NumberFormatException e) {
+            throw new InvalidContinuationTokenException();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package io.github.ferrazsergio.libraryapi.application.pagination;
+
+import io.github.ferrazsergio.libraryapi.application.exception.InvalidRequestException;
+
+/**
+ * O {@code cursor} recebido não é um token emitido por esta API (malformado, adulterado ou de
+ * outra listagem).
+ */
+public class InvalidContinuationTokenException extends InvalidRequestException {
+
+    public InvalidContinuationTokenException() {
+        super("Invalid continuation token");
+    }
+}
@@ -1,7 +1,10 @@
 package io.github.ferrazsergio.libraryapi.application.service;
 
 import io.github.ferrazsergio.libraryapi.domain.model.Activity;
+import io.github.ferrazsergio.libraryapi.infrastructure.activity.ActivityLogWriter;
+import io.github.ferrazsergio.libraryapi.infrastructure.activity.RecentActivityFeed;
 import io.github.ferrazsergio.libraryapi.infrastructure.repository.ActivityRepository;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.ActivityFeedDTO;
 import io.github.ferrazsergio.libraryapi.interfaces.dto.RecentActivityDTO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
@@ -15,41 +18,68 @@ import java.util.stream.Collectors;
 public class ActivityService {
 
     private final ActivityRepository activityRepository;
+    private final ActivityLogWriter activityLogWriter;
+    private final RecentActivityFeed recentActivityFeed;
 
     @Autowired
-    public ActivityService(ActivityRepository activityRepository) {
+    public ActivityService(ActivityRepository activityRepository,
+                           ActivityLogWriter activityLogWriter,
+                           RecentActivityFeed recentActivityFeed) {
         this.activityRepository = activityRepository;
+        this.activityLogWriter = activityLogWriter;
+        this.recentActivityFeed = recentActivityFeed;
     }
 
     public List<RecentActivityDTO> getRecentActivities(int limit) {
+        if (recentActivityFeed.isReady() && limit < recentActivityFeed.capacity()) {
+            return recentActivityFeed.latest(limit);
+        }
+
         PageRequest pageRequest = PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "timestamp"));
 
         return activityRepository.findAll(pageRequest)
                 .getContent()
                 .stream()
-                .map(this::mapToRecentActivity)
+                .map(RecentActivityFeed::toDTO)
                 .collect(Collectors.toList());
     }
 
-    private RecentActivityDTO mapToRecentActivity(Activity activity) {
-        return RecentActivityDTO.builder()
-                .id(activity.getId())
-                .activityType(activity.getActivityType())
-                .description(activity.getDescription())
-                .timestamp(activity.getTimestamp())
-                .userName(activity.getUserName())
-                .bookTitle(activity.getBookTitle())
+    /**
+     * Retorna as atividades registradas depois de {@code afterId}, em ordem crescente.
+     * O cursor devolvido deve ser enviado na próxima chamada.
+     *
+     * @param afterId último id já recebido pelo cliente (0 para começar do início)
+     * @param limit quantidade máxima de atividades
+     * @return atividades novas e o próximo cursor
+     */
+    public ActivityFeedDTO getActivitiesSince(long afterId, int limit) {
+        List<RecentActivityDTO> activities = recentActivityFeed.isReady()
+                ? recentActivityFeed.since(afterId, limit)
+                : null;
+
+        if (activities == null) {
+            // O intervalo pedido já saiu do buffer; busca pela chave primária
+            activities = activityRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, limit))
+                    .stream()
+                    .map(RecentActivityFeed::toDTO)
+                    .collect(Collectors.toList());
+        }
+
+        long cursor = activities.isEmpty() ? afterId : activities.get(activities.size() - 1).getId();
+        return ActivityFeedDTO.builder()
+                .activities(activities)
+                .cursor(cursor)
                 .build();
     }
 
-    // Método para registrar uma nova atividade
-    public Activity logActivity(String activityType, String description, String userName, String bookTitle) {
+    // Método para registrar uma nova atividade; a gravação é feita em lote pelo ActivityLogWriter
+    public void logActivity(String activityType, String description, String userName, String bookTitle) {
         Activity activity = new Activity();
         activity.setActivityType(activityType);
         activity.setDescription(description);
         activity.setUserName(userName);
         activity.setBookTitle(bookTitle);
 
-        return activityRepository.save(activity);
+        activityLogWriter.submit(activity);
     }
 }
@@ -3,6 +3,7 @@ package io.github.ferrazsergio.libraryapi.application.service;
 import io.github.ferrazsergio.libraryapi.domain.model.Author;
 import io.github.ferrazsergio.libraryapi.infrastructure.repository.AuthorRepository;
 import io.github.ferrazsergio.libraryapi.infrastructure.repository.BookRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.search.CatalogIndex;
 import io.github.ferrazsergio.libraryapi.interfaces.dto.AuthorDTO;
 import io.github.ferrazsergio.libraryapi.interfaces.dto.BookDTO;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +21,7 @@ public class AuthorService {
     private final AuthorRepository authorRepository;
     private final BookRepository bookRepository;
     private final ActivityService activityService;
+    private final CatalogIndex catalogIndex;
 
     @Transactional(readOnly = true)
     @Cacheable(value = "authors", key = "#id", unless = "#result == null")
@@ -70,7 +72,9 @@ public class AuthorService {
                 null
         );
 
-        return AuthorDTO.fromEntity(savedAuthor);
+        AuthorDTO dto = AuthorDTO.fromEntity(savedAuthor);
+        catalogIndex.index(dto);
+        return dto;
     }
 
     @Transactional
@@ -93,7 +97,9 @@ public class AuthorService {
                 null
         );
 
-        return AuthorDTO.fromEntity(updatedAuthor);
+        AuthorDTO dto = AuthorDTO.fromEntity(updatedAuthor);
+        catalogIndex.index(dto);
+        return dto;
     }
 
     @Transactional
@@ -108,6 +114,7 @@ public class AuthorService {
         }
 
         authorRepository.delete(author);
+        catalogIndex.removeAuthor(id);
 
         // Log activity
         activityService.logActivity(
@@ -0,0 +1,285 @@
+package io.github.ferrazsergio.libraryapi.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.ferrazsergio.libraryapi.domain.model.Author;
+import io.github.ferrazsergio.libraryapi.domain.model.Category;
+import io.github.ferrazsergio.libraryapi.infrastructure.cache.BookCache;
+import io.github.ferrazsergio.libraryapi.infrastructure.importer.BookRecordReader;
+import io.github.ferrazsergio.libraryapi.infrastructure.importer.BookRecordReader.BookRecord;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.AuthorRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.BookImportRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.CategoryRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.search.CatalogIndex;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.AuthorDTO;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.BookDTO;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.BookImportJobDTO;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.CategoryDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Importação em massa do acervo a partir de um arquivo CSV ou NDJSON.
+ * <p>
+ * O arquivo é lido em blocos de {@code chunk-size} registros. Em cada bloco os registros são
+ * validados em paralelo, ISBNs, categorias e autores são resolvidos com uma consulta por tipo
+ * e os livros válidos são inseridos em lotes JDBC. O bloco, seus erros e o checkpoint do job
+ * são confirmados na mesma transação: se a importação cair, reenviar o mesmo arquivo com o id
+ * do job continua do primeiro registro ainda não confirmado.
+ */
+@Service
+public class BookImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookImportService.class);
+
+    static final String RUNNING = "RUNNING";
+    static final String COMPLETED = "COMPLETED";
+    static final String FAILED = "FAILED";
+
+    // Limites das colunas de books (V1); violá-los derrubaria o lote inteiro no INSERT
+    private static final int MAX_ISBN_LENGTH = 20;
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private final BookImportRepository importRepository;
+    private final CategoryRepository categoryRepository;
+    private final AuthorRepository authorRepository;
+    private final ActivityService activityService;
+    private final BookCache bookCache;
+    private final CatalogIndex catalogIndex;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+
+    @Autowired
+    public BookImportService(BookImportRepository importRepository,
+                             CategoryRepository categoryRepository,
+                             AuthorRepository authorRepository,
+                             ActivityService activityService,
+                             BookCache bookCache,
+                             CatalogIndex catalogIndex,
+                             Validator validator,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${library.books.import.chunk-size:1000}") int chunkSize) {
+        this.importRepository = importRepository;
+        this.categoryRepository = categoryRepository;
+        this.authorRepository = authorRepository;
+        this.activityService = activityService;
+        this.bookCache = bookCache;
+        this.catalogIndex = catalogIndex;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Importa os livros de {@code in}. Sem {@code jobId} um novo job é criado; com ele, os
+     * registros já confirmados pelo job são pulados.
+     *
+     * @return o estado final do job, com os primeiros erros por registro
+     */
+    public BookImportJobDTO importBooks(InputStream in, BookRecordReader.Format format, UUID jobId) {
+        UUID id = jobId != null ? jobId : UUID.randomUUID();
+        long processed;
+        if (jobId == null) {
+            importRepository.createJob(id, format.name());
+            processed = 0;
+        } else {
+            BookImportJobDTO job = importRepository.findJob(jobId)
+                    .orElseThrow(() -> new RuntimeException("Import job not found with ID: " + jobId));
+            if (COMPLETED.equals(job.getStatus())) {
+                return getJob(jobId, 100);
+            }
+            processed = job.getRecordsProcessed();
+        }
+
+        try (BookRecordReader reader = new BookRecordReader(in, format, objectMapper)) {
+            reader.skip(processed);
+
+            List<BookRecord> chunk = new ArrayList<>(chunkSize);
+            BookRecord record;
+            while ((record = reader.next()) != null) {
+                chunk.add(record);
+                if (chunk.size() == chunkSize) {
+                    processed = importChunk(id, processed, chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processed = importChunk(id, processed, chunk);
+            }
+            importRepository.finish(id, COMPLETED, null);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Importação {} interrompida após {} registros: {}", id, processed, e.getMessage());
+            importRepository.finish(id, FAILED, e.getMessage());
+        }
+        return getJob(id, 100);
+    }
+
+    public BookImportJobDTO getJob(UUID jobId, int errorLimit) {
+        BookImportJobDTO job = importRepository.findJob(jobId)
+                .orElseThrow(() -> new RuntimeException("Import job not found with ID: " + jobId));
+        job.setErrors(importRepository.findErrors(jobId, errorLimit));
+        return job;
+    }
+
+    private long importChunk(UUID jobId, long processed, List<BookRecord> chunk) {
+        // Validação estrutural (Bean Validation e tamanhos) é CPU pura e roda em paralelo
+        List<RowResult> results = chunk.parallelStream()
+                .map(this::validate)
+                .toList();
+
+        List<RowResult> candidates = results.stream().filter(RowResult::valid).toList();
+        Set<String> existingIsbns = importRepository.findExistingIsbns(
+                candidates.stream().map(result -> result.book().getIsbn()).collect(Collectors.toSet()));
+        Map<Integer, Category> categories = loadById(candidates.stream()
+                .map(result -> result.book().getCategoryId()), categoryRepository::findAllById, Category::getId);
+        Map<Integer, Author> authors = loadById(candidates.stream()
+                .flatMap(result -> result.book().getAuthorIds().stream()), authorRepository::findAllById, Author::getId);
+
+        List<BookDTO> books = new ArrayList<>();
+        List<BookImportJobDTO.RowError> errors = new ArrayList<>();
+        Set<String> chunkIsbns = new HashSet<>();
+        for (RowResult result : results) {
+            String error = result.error() != null ? result.error()
+                    : resolve(result.book(), existingIsbns, chunkIsbns, categories, authors);
+            if (error != null) {
+                errors.add(new BookImportJobDTO.RowError(result.number(), isbnOf(result), error));
+            } else {
+                books.add(result.book());
+            }
+        }
+
+        long next = processed + chunk.size();
+        chunkTransaction.executeWithoutResult(status -> {
+            if (!importRepository.checkpoint(jobId, processed, next, books.size(), errors.size())) {
+                throw new IllegalStateException("Import job " + jobId + " is being processed by another request");
+            }
+            Iterator<Integer> ids = importRepository.nextBookIds(books.size()).iterator();
+            books.forEach(book -> book.setId(ids.next()));
+            importRepository.insertBooks(books);
+            importRepository.insertErrors(jobId, errors);
+
+            if (!books.isEmpty()) {
+                afterImport(books, categories, authors);
+            }
+        });
+        return next;
+    }
+
+    private RowResult validate(BookRecord record) {
+        if (record.error() != null) {
+            return new RowResult(record.number(), null, record.error());
+        }
+
+        BookDTO book = record.book();
+        Set<ConstraintViolation<BookDTO>> violations = validator.validate(book);
+        if (!violations.isEmpty()) {
+            return new RowResult(record.number(), book, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        if (book.getIsbn().length() > MAX_ISBN_LENGTH) {
+            return new RowResult(record.number(), book, "ISBN must have at most " + MAX_ISBN_LENGTH + " characters");
+        }
+        if (book.getTitle().length() > MAX_TEXT_LENGTH
+                || (book.getPublisher() != null && book.getPublisher().length() > MAX_TEXT_LENGTH)) {
+            return new RowResult(record.number(), book, "Title and publisher must have at most " + MAX_TEXT_LENGTH + " characters");
+        }
+        if (book.getAuthorIds() == null) {
+            book.setAuthorIds(Set.of());
+        }
+        return new RowResult(record.number(), book, null);
+    }
+
+    private String resolve(BookDTO book, Set<String> existingIsbns, Set<String> chunkIsbns,
+                           Map<Integer, Category> categories, Map<Integer, Author> authors) {
+        if (existingIsbns.contains(book.getIsbn()) || !chunkIsbns.add(book.getIsbn())) {
+            return "Book with ISBN " + book.getIsbn() + " already exists";
+        }
+        if (book.getCategoryId() != null && !categories.containsKey(book.getCategoryId())) {
+            return "Category not found with ID: " + book.getCategoryId();
+        }
+        for (Integer authorId : book.getAuthorIds()) {
+            if (!authors.containsKey(authorId)) {
+                return "Author not found with ID: " + authorId;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Mesmos efeitos colaterais de {@link BookService#create}, agregados por bloco:
+     * um ajuste de estatísticas e uma atividade, e a indexação de cada livro após o commit.
+     */
+    private void afterImport(List<BookDTO> books, Map<Integer, Category> categories, Map<Integer, Author> authors) {
+        bookCache.adjustTotalBooks(books.size());
+        bookCache.adjustStock(
+                books.stream().mapToLong(BookDTO::getTotalQuantity).sum(),
+                books.stream().mapToLong(BookDTO::getAvailableQuantity).sum());
+
+        for (BookDTO book : books) {
+            Category category = book.getCategoryId() != null ? categories.get(book.getCategoryId()) : null;
+            catalogIndex.index(book.toBuilder()
+                    .category(category != null ? CategoryDTO.fromEntity(category) : null)
+                    .authors(book.getAuthorIds().stream()
+                            .map(authors::get)
+                            .map(AuthorDTO::fromEntity)
+                            .collect(Collectors.toSet()))
+                    .build());
+        }
+
+        activityService.logActivity(
+                "BOOKS_IMPORTED",
+                books.size() + " livros importados (ISBN " + books.get(0).getIsbn()
+                        + " a " + books.get(books.size() - 1).getIsbn() + ")",
+                null,
+                null
+        );
+    }
+
+    private static <T> Map<Integer, T> loadById(Stream<Integer> ids,
+                                                Function<Collection<Integer>, List<T>> loader,
+                                                Function<T, Integer> idOf) {
+        Set<Integer> distinct = ids.filter(Objects::nonNull).collect(Collectors.toSet());
+        if (distinct.isEmpty()) {
+            return Map.of();
+        }
+        return loader.apply(distinct).stream().collect(Collectors.toMap(idOf, Function.identity()));
+    }
+
+    private static String isbnOf(RowResult result) {
+        String isbn = result.book() != null ? result.book().getIsbn() : null;
+        return isbn != null && isbn.length() > MAX_TEXT_LENGTH ? isbn.substring(0, MAX_TEXT_LENGTH) : isbn;
+    }
+
+    private record RowResult(long number, BookDTO book, String error) {
+        boolean valid() {
+            return error == null;
+        }
+    }
+}
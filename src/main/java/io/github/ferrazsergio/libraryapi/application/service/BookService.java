@@ -1,25 +1,32 @@
 package io.github.ferrazsergio.libraryapi.application.service;
 
+import io.github.ferrazsergio.libraryapi.application.pagination.ContinuationToken;
 import io.github.ferrazsergio.libraryapi.domain.model.Author;
 import io.github.ferrazsergio.libraryapi.domain.model.Book;
 import io.github.ferrazsergio.libraryapi.domain.model.Category;
+import io.github.ferrazsergio.libraryapi.infrastructure.cache.BookCache;
 import io.github.ferrazsergio.libraryapi.infrastructure.repository.AuthorRepository;
 import io.github.ferrazsergio.libraryapi.infrastructure.repository.BookRepository;
 import io.github.ferrazsergio.libraryapi.infrastructure.repository.CategoryRepository;
 import io.github.ferrazsergio.libraryapi.infrastructure.repository.LoanRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.TableStatisticsRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.search.CatalogIndex;
 import io.github.ferrazsergio.libraryapi.interfaces.dto.BookDTO;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.BookStockDTO;
 import io.github.ferrazsergio.libraryapi.interfaces.dto.CategoryStatisticsDTO;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.CursorPageDTO;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -32,9 +39,12 @@ public class BookService {
     private final CategoryRepository categoryRepository;
     private final LoanRepository loanRepository;
     private final ActivityService activityService;
+    private final BookCache bookCache;
+    private final CatalogIndex catalogIndex;
+    private final TableStatisticsRepository tableStatistics;
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "books", key = "#isbn", unless = "#result == null")
+    @Cacheable(value = "books", key = "'isbn:' + #isbn", unless = "#result == null")
     public BookDTO findByIsbn(String isbn) {
         return bookRepository.findByIsbn(isbn)
                 .map(BookDTO::fromEntity)
@@ -42,7 +52,7 @@ public class BookService {
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "books", key = "#id", unless = "#result == null")
+    @Cacheable(value = "books", key = "'id:' + #id", unless = "#result == null")
     public BookDTO findById(Integer id) {
         return bookRepository.findById(id)
                 .map(BookDTO::fromEntity)
@@ -55,6 +65,23 @@ public class BookService {
                 .map(BookDTO::fromEntity);
     }
 
+    /**
+     * Lista o acervo por keyset em id crescente: cada página custa o mesmo, seja a primeira
+     * ou a milésima, e nenhum COUNT é executado.
+     *
+     * @param cursor        token devolvido pela página anterior, ou null para a primeira
+     * @param estimateTotal se true, inclui a estimativa de linhas do PostgreSQL
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<BookDTO> scroll(String cursor, int size, boolean estimateTotal) {
+        Integer afterId = cursor != null ? ContinuationToken.decodeId(cursor) : 0;
+        return CursorPageDTO.of(
+                bookRepository.findByDeletedFalseAndIdGreaterThan(afterId, PageRequest.of(0, size, Sort.by("id")))
+                        .map(BookDTO::fromEntity),
+                book -> ContinuationToken.encode(book.getId()),
+                estimateTotal ? tableStatistics.estimateRows("books") : null);
+    }
+
     @Transactional(readOnly = true)
     public Page<BookDTO> findByTitle(String title, Pageable pageable) {
         return bookRepository.findByTitleContainingIgnoreCaseAndDeletedFalse(title, pageable)
@@ -74,7 +101,6 @@ public class BookService {
     }
 
     @Transactional
-    @CacheEvict(value = "books", allEntries = true)
     public BookDTO create(BookDTO bookDTO) {
         // Validate if ISBN already exists
         bookRepository.findByIsbn(bookDTO.getIsbn())
@@ -113,6 +139,10 @@ public class BookService {
         // Save the book
         Book savedBook = bookRepository.save(book);
 
+        // A new book has no cached entries yet; only the aggregates change
+        bookCache.adjustTotalBooks(1);
+        bookCache.adjustStock(savedBook.getTotalQuantity(), savedBook.getAvailableQuantity());
+
         // Log activity
         activityService.logActivity(
                 "BOOK_CREATED",
@@ -121,15 +151,22 @@ public class BookService {
                 savedBook.getTitle()
         );
 
-        return BookDTO.fromEntity(savedBook);
+        BookDTO created = BookDTO.fromEntity(savedBook);
+        catalogIndex.index(created);
+        return created;
     }
 
     @Transactional
-    @CacheEvict(value = "books", key = "#id")
     public BookDTO update(Integer id, BookDTO bookDTO) {
         Book book = bookRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Book not found with ID: " + id));
 
+        // Keep the previous state to evict the old ISBN key and compute stock deltas
+        String previousIsbn = book.getIsbn();
+        int previousTotal = book.getTotalQuantity();
+        int previousAvailable = book.getAvailableQuantity();
+        Integer previousCategoryId = book.getCategory() != null ? book.getCategory().getId() : null;
+
         // Check if another book already has this ISBN
         bookRepository.findByIsbn(bookDTO.getIsbn())
                 .ifPresent(existingBook -> {
@@ -177,6 +214,15 @@ public class BookService {
 
         Book updatedBook = bookRepository.save(book);
 
+        bookCache.evictBook(id, previousIsbn, updatedBook.getIsbn());
+        bookCache.adjustStock(updatedBook.getTotalQuantity() - previousTotal,
+                updatedBook.getAvailableQuantity() - previousAvailable);
+
+        Integer categoryId = updatedBook.getCategory() != null ? updatedBook.getCategory().getId() : null;
+        if (!Objects.equals(previousCategoryId, categoryId) && loanRepository.countByBookId(id) > 0) {
+            bookCache.evictTopCategories();
+        }
+
         // Log activity
         activityService.logActivity(
                 "BOOK_UPDATED",
@@ -185,19 +231,30 @@ public class BookService {
                 updatedBook.getTitle()
         );
 
-        return BookDTO.fromEntity(updatedBook);
+        BookDTO updated = BookDTO.fromEntity(updatedBook);
+        catalogIndex.index(updated);
+        return updated;
     }
 
     @Transactional
-    @CacheEvict(value = "books", key = "#id")
     public void delete(Integer id) {
+        // Um livro já removido não pode descontar de novo as estatísticas em cache
         Book book = bookRepository.findById(id)
+                .filter(found -> !found.isDeleted())
                 .orElseThrow(() -> new RuntimeException("Book not found with ID: " + id));
 
         // Perform soft delete
         book.setDeleted(true);
         bookRepository.save(book);
 
+        bookCache.evictBook(id, book.getIsbn());
+        bookCache.adjustTotalBooks(-1);
+        bookCache.adjustStock(-book.getTotalQuantity(), -book.getAvailableQuantity());
+        if (loanRepository.countByBookId(id) > 0) {
+            bookCache.evictTopCategories();
+        }
+        catalogIndex.removeBook(id);
+
         // Log activity
         activityService.logActivity(
                 "BOOK_DELETED",
@@ -236,8 +293,14 @@ public class BookService {
      * @return lista de estatísticas por categoria
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "bookStats", key = "'mostBorrowedCategories:' + #limit", unless = "#result.isEmpty()")
     public List<CategoryStatisticsDTO> getMostBorrowedCategories(int limit) {
+        if (limit > BookCache.TOP_CATEGORIES_SIZE) {
+            return queryMostBorrowedCategories(limit);
+        }
+        return bookCache.getTopCategories(limit, () -> queryMostBorrowedCategories(BookCache.TOP_CATEGORIES_SIZE));
+    }
+
+    private List<CategoryStatisticsDTO> queryMostBorrowedCategories(int limit) {
         return bookRepository.findMostBorrowedCategories(PageRequest.of(0, limit))
                 .stream()
                 .map(result -> {
@@ -257,16 +320,18 @@ public class BookService {
      * @return porcentagem de disponibilidade
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "bookStats", key = "'availabilityPercentage'")
     public double getBookAvailabilityPercentage() {
-        long totalQuantity = bookRepository.sumTotalQuantity();
-        long availableQuantity = bookRepository.sumAvailableQuantity();
+        // The raw sums are cached so that writes can adjust them by delta
+        BookStockDTO stock = bookCache.getStock(() -> BookStockDTO.builder()
+                .totalQuantity(bookRepository.sumTotalQuantity())
+                .availableQuantity(bookRepository.sumAvailableQuantity())
+                .build());
 
-        if (totalQuantity == 0) {
+        if (stock.getTotalQuantity() == 0) {
             return 0.0;
         }
 
-        return (double) availableQuantity / totalQuantity * 100.0;
+        return (double) stock.getAvailableQuantity() / stock.getTotalQuantity() * 100.0;
     }
 
     /**
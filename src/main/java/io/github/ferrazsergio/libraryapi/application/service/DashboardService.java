@@ -1,52 +1,239 @@
 package io.github.ferrazsergio.libraryapi.application.service;
 
 
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.DashboardSnapshotRepository;
 import io.github.ferrazsergio.libraryapi.interfaces.dto.CategoryStatisticsDTO;
 import io.github.ferrazsergio.libraryapi.interfaces.dto.DashboardDataDTO;
 import io.github.ferrazsergio.libraryapi.interfaces.dto.RecentActivityDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 @Service
 public class DashboardService {
 
+    private static final Logger log = LoggerFactory.getLogger(DashboardService.class);
+
+    private static final int CATEGORY_LIMIT = 5;
+    private static final int ACTIVITY_LIMIT = 10;
+
     private final BookService bookService;
     private final LoanService loanService;
     private final UserService userService;
     private final ActivityService activityService;
+    private final DashboardSnapshotRepository snapshotRepository;
+
+    private final boolean snapshotEnabled;
+    private final Duration maxStaleness;
+    private final Duration refreshInterval;
+    private final Duration liveTimeout;
+
+    // Cada sub-consulta do modo ao vivo roda em sua própria virtual thread e transação
+    private final ExecutorService liveQueryExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final TransactionTemplate liveQueryTransaction;
+
+    // Último snapshot carregado; nunca é alterado depois de publicado
+    private final AtomicReference<DashboardDataDTO> snapshot = new AtomicReference<>();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    // Depois de uma falha, novas tentativas de recalcular esperam refresh-interval
+    private volatile long retryRefreshAt = System.nanoTime();
 
     @Autowired
     public DashboardService(BookService bookService,
                             LoanService loanService,
                             UserService userService,
-                            ActivityService activityService) {
+                            ActivityService activityService,
+                            DashboardSnapshotRepository snapshotRepository,
+                            @Value("${library.dashboard.snapshot.enabled:true}") boolean snapshotEnabled,
+                            @Value("${library.dashboard.snapshot.max-staleness:PT1M}") Duration maxStaleness,
+                            @Value("${library.dashboard.snapshot.refresh-interval:PT30S}") Duration refreshInterval,
+                            @Value("${library.dashboard.live.timeout:PT2S}") Duration liveTimeout,
+                            PlatformTransactionManager transactionManager) {
         this.bookService = bookService;
         this.loanService = loanService;
         this.userService = userService;
         this.activityService = activityService;
+        this.snapshotRepository = snapshotRepository;
+        this.snapshotEnabled = snapshotEnabled;
+        this.maxStaleness = maxStaleness;
+        this.refreshInterval = refreshInterval;
+        this.liveTimeout = liveTimeout;
+
+        this.liveQueryTransaction = new TransactionTemplate(transactionManager);
+        this.liveQueryTransaction.setReadOnly(true);
+        this.liveQueryTransaction.setTimeout((int) Math.max(1, liveTimeout.toSeconds()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        liveQueryExecutor.shutdownNow();
     }
 
+    /**
+     * Retorna os dados do dashboard a partir do snapshot em memória.
+     * Se o snapshot estiver mais velho que {@code max-staleness}, apenas uma thread
+     * o recalcula enquanto as demais aguardam e reutilizam o resultado.
+     * <p>
+     * Se o recálculo falhar, o último snapshot continua sendo servido (ou, sem nenhum, as
+     * consultas ao vivo, fora do lock) e não há nova tentativa antes de {@code refresh-interval}.
+     *
+     * @return dados do dashboard
+     */
     public DashboardDataDTO getDashboardData() {
-        return DashboardDataDTO.builder()
-                .totalBooks(bookService.getTotalBooks())
-                .totalLoans(loanService.getTotalLoans())
-                .activeLoans(loanService.getActiveLoansCount())
-                .overdueLoans(loanService.getOverdueLoansCount())
-                .totalUsers(userService.getTotalUsers())
-                .mostBorrowedCategories(getMostBorrowedCategories())
-                .recentActivities(getRecentActivities())
+        if (!snapshotEnabled) {
+            return loadLive();
+        }
+
+        DashboardDataDTO current = snapshot.get();
+        if (isFresh(current)) {
+            return current;
+        }
+
+        if (!refreshBackedOff()) {
+            refreshLock.lock();
+            try {
+                current = snapshot.get();
+                if (isFresh(current)) {
+                    return current;
+                }
+                if (!refreshBackedOff()) {
+                    return refreshSnapshot();
+                }
+            } catch (RuntimeException e) {
+                backOffRefresh();
+                log.warn("Falha ao recalcular o snapshot do dashboard: {}", e.getMessage());
+            } finally {
+                refreshLock.unlock();
+            }
+        }
+
+        current = snapshot.get();
+        return current != null ? current : loadLive();
+    }
+
+    /**
+     * Mantém o snapshot aquecido para que as requisições raramente precisem recalculá-lo.
+     */
+    @Scheduled(fixedDelayString = "${library.dashboard.snapshot.refresh-interval:PT30S}")
+    public void scheduledRefresh() {
+        if (!snapshotEnabled || !refreshLock.tryLock()) {
+            return;
+        }
+
+        try {
+            refreshSnapshot();
+        } catch (RuntimeException e) {
+            backOffRefresh();
+            log.warn("Falha ao atualizar o snapshot do dashboard: {}", e.getMessage());
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private DashboardDataDTO refreshSnapshot() {
+        // Outro nó pode ter acabado de recalcular a view; nesse caso apenas a relê
+        snapshotRepository.refresh(refreshInterval.dividedBy(2));
+        DashboardDataDTO current = snapshotRepository.load(CATEGORY_LIMIT, ACTIVITY_LIMIT);
+
+        current.setMostBorrowedCategories(List.copyOf(current.getMostBorrowedCategories()));
+        current.setRecentActivities(List.copyOf(current.getRecentActivities()));
+        snapshot.set(current);
+        return current;
+    }
+
+    private boolean refreshBackedOff() {
+        return System.nanoTime() - retryRefreshAt < 0;
+    }
+
+    private void backOffRefresh() {
+        retryRefreshAt = System.nanoTime() + refreshInterval.toNanos();
+    }
+
+    private boolean isFresh(DashboardDataDTO data) {
+        return data != null
+                && data.getGeneratedAt() != null
+                && data.getGeneratedAt().plus(maxStaleness).isAfter(LocalDateTime.now());
+    }
+
+    /**
+     * Dispara as sub-consultas em paralelo; a latência acompanha a consulta mais lenta.
+     * Seções que falham ou estouram o prazo são devolvidas vazias e marcam o resultado como degradado.
+     */
+    private DashboardDataDTO loadLive() {
+        long deadline = System.nanoTime() + liveTimeout.toNanos();
+
+        Future<Long> totalBooks = submit(bookService::getTotalBooks);
+        Future<Long> totalLoans = submit(loanService::getTotalLoans);
+        Future<Long> activeLoans = submit(loanService::getActiveLoansCount);
+        Future<Long> overdueLoans = submit(loanService::getOverdueLoansCount);
+        Future<Long> totalUsers = submit(userService::getTotalUsers);
+        Future<List<CategoryStatisticsDTO>> categories = submit(this::getMostBorrowedCategories);
+        Future<List<RecentActivityDTO>> activities = submit(this::getRecentActivities);
+
+        List<String> unavailable = new ArrayList<>();
+        DashboardDataDTO data = DashboardDataDTO.builder()
+                .totalBooks(await("totalBooks", totalBooks, 0L, deadline, unavailable))
+                .totalLoans(await("totalLoans", totalLoans, 0L, deadline, unavailable))
+                .activeLoans(await("activeLoans", activeLoans, 0L, deadline, unavailable))
+                .overdueLoans(await("overdueLoans", overdueLoans, 0L, deadline, unavailable))
+                .totalUsers(await("totalUsers", totalUsers, 0L, deadline, unavailable))
+                .mostBorrowedCategories(await("mostBorrowedCategories", categories, List.of(), deadline, unavailable))
+                .recentActivities(await("recentActivities", activities, List.of(), deadline, unavailable))
+                .generatedAt(LocalDateTime.now())
                 .build();
+
+        data.setDegraded(!unavailable.isEmpty());
+        data.setUnavailableSections(unavailable);
+        return data;
+    }
+
+    private <T> Future<T> submit(Supplier<T> query) {
+        return liveQueryExecutor.submit(() -> liveQueryTransaction.execute(status -> query.get()));
+    }
+
+    private <T> T await(String section, Future<T> future, T fallback, long deadline, List<String> unavailable) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Seção {} do dashboard excedeu o prazo de {}", section, liveTimeout);
+        } catch (ExecutionException e) {
+            log.warn("Falha ao carregar a seção {} do dashboard: {}", section, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+        }
+        unavailable.add(section);
+        return fallback;
     }
 
     private List<CategoryStatisticsDTO> getMostBorrowedCategories() {
         // Buscar as categorias mais emprestadas
-        return bookService.getMostBorrowedCategories(5); // Limitar a 5 categorias
+        return bookService.getMostBorrowedCategories(CATEGORY_LIMIT);
     }
 
     private List<RecentActivityDTO> getRecentActivities() {
         // Buscar as atividades mais recentes
-        return activityService.getRecentActivities(10); // Limitar a 10 atividades
+        return activityService.getRecentActivities(ACTIVITY_LIMIT);
     }
 }
@@ -0,0 +1,239 @@
+package io.github.ferrazsergio.libraryapi.application.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.github.ferrazsergio.libraryapi.application.exception.InvalidRequestException;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.ActivityRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.BookRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.LoanRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.UserRepository;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.BookExportDTO;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.LoanSummaryDTO;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.RecentActivityDTO;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.UserDTO;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Exportação completa de acervo, empréstimos, usuários e atividades em NDJSON ou CSV.
+ * <p>
+ * As linhas são lidas por cursor ({@code Stream} com fetch size) dentro de uma transação
+ * somente leitura e escritas direto na saída, então a memória usada não depende do volume.
+ */
+@Service
+public class ExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public enum Dataset {
+        BOOKS, LOANS, USERS, ACTIVITIES;
+
+        public static Dataset parse(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidRequestException("Unknown export dataset: " + value);
+            }
+        }
+    }
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv;charset=UTF-8", "csv");
+
+        private final String mediaType;
+        private final String extension;
+
+        Format(String mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public String getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format parse(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidRequestException("Unknown export format: " + value);
+            }
+        }
+    }
+
+    private record Column<T>(String header, Function<T, Object> value) {
+    }
+
+    private static final List<Column<BookExportDTO>> BOOK_COLUMNS = List.of(
+            new Column<>("id", BookExportDTO::getId),
+            new Column<>("isbn", BookExportDTO::getIsbn),
+            new Column<>("title", BookExportDTO::getTitle),
+            new Column<>("publisher", BookExportDTO::getPublisher),
+            new Column<>("publish_date", BookExportDTO::getPublishDate),
+            new Column<>("available_quantity", BookExportDTO::getAvailableQuantity),
+            new Column<>("total_quantity", BookExportDTO::getTotalQuantity),
+            new Column<>("category", BookExportDTO::getCategory),
+            new Column<>("authors", BookExportDTO::getAuthors));
+
+    private static final List<Column<LoanSummaryDTO>> LOAN_COLUMNS = List.of(
+            new Column<>("id", LoanSummaryDTO::getId),
+            new Column<>("user_id", LoanSummaryDTO::getUserId),
+            new Column<>("user_name", LoanSummaryDTO::getUserName),
+            new Column<>("book_id", LoanSummaryDTO::getBookId),
+            new Column<>("book_title", LoanSummaryDTO::getBookTitle),
+            new Column<>("loan_date", LoanSummaryDTO::getLoanDate),
+            new Column<>("expected_return_date", LoanSummaryDTO::getExpectedReturnDate),
+            new Column<>("return_date", LoanSummaryDTO::getReturnDate),
+            new Column<>("status", LoanSummaryDTO::getStatus),
+            new Column<>("fine_amount", LoanSummaryDTO::getFineAmount));
+
+    private static final List<Column<UserDTO>> USER_COLUMNS = List.of(
+            new Column<>("id", UserDTO::getId),
+            new Column<>("name", UserDTO::getName),
+            new Column<>("email", UserDTO::getEmail),
+            new Column<>("phone", UserDTO::getPhone),
+            new Column<>("role", UserDTO::getRole),
+            new Column<>("status", UserDTO::getStatus),
+            new Column<>("created_at", UserDTO::getCreatedAt));
+
+    private static final List<Column<RecentActivityDTO>> ACTIVITY_COLUMNS = List.of(
+            new Column<>("id", RecentActivityDTO::getId),
+            new Column<>("activity_type", RecentActivityDTO::getActivityType),
+            new Column<>("description", RecentActivityDTO::getDescription),
+            new Column<>("timestamp", RecentActivityDTO::getTimestamp),
+            new Column<>("user_name", RecentActivityDTO::getUserName),
+            new Column<>("book_title", RecentActivityDTO::getBookTitle));
+
+    private final BookRepository bookRepository;
+    private final LoanRepository loanRepository;
+    private final UserRepository userRepository;
+    private final ActivityRepository activityRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+    private final TransactionTemplate exportTransaction;
+
+    public ExportService(BookRepository bookRepository,
+                         LoanRepository loanRepository,
+                         UserRepository userRepository,
+                         ActivityRepository activityRepository,
+                         EntityManager entityManager,
+                         ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager) {
+        this.bookRepository = bookRepository;
+        this.loanRepository = loanRepository;
+        this.userRepository = userRepository;
+        this.activityRepository = activityRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        // Sem flush por linha: a saída é descarregada quando o buffer enche
+        this.rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        this.exportTransaction = new TransactionTemplate(transactionManager);
+        this.exportTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Escreve o conjunto inteiro em {@code out}; não fecha o stream.
+     *
+     * @return quantidade de linhas exportadas
+     */
+    public long export(Dataset dataset, Format format, OutputStream out) {
+        long start = System.nanoTime();
+        Long rows = exportTransaction.execute(status -> switch (dataset) {
+            case BOOKS -> write(bookRepository.streamForExport(), BOOK_COLUMNS, format, out);
+            case LOANS -> write(loanRepository.streamSummaries(), LOAN_COLUMNS, format, out);
+            // Entidades lidas pelo cursor são desanexadas para o contexto de persistência não crescer
+            case USERS -> write(userRepository.streamAllNotDeleted().map(user -> {
+                UserDTO dto = UserDTO.fromEntity(user);
+                entityManager.detach(user);
+                return dto;
+            }), USER_COLUMNS, format, out);
+            case ACTIVITIES -> write(activityRepository.streamForExport(), ACTIVITY_COLUMNS, format, out);
+        });
+
+        long exported = rows != null ? rows : 0;
+        log.info("Exportação de {} ({}) concluída: {} linhas em {} ms", dataset, format, exported,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return exported;
+    }
+
+    private <T> long write(Stream<T> rows, List<Column<T>> columns, Format format, OutputStream out) {
+        try (rows) {
+            return format == Format.CSV ? writeCsv(rows, columns, out) : writeNdjson(rows, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> long writeNdjson(Stream<T> rows, OutputStream out) throws IOException {
+        long count = 0;
+        JsonGenerator generator = objectMapper.getFactory()
+                .createGenerator(new BufferedOutputStream(out, BUFFER_SIZE))
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        for (T row : (Iterable<T>) rows::iterator) {
+            rowWriter.writeValue(generator, row);
+            generator.writeRaw('\n');
+            count++;
+        }
+        generator.close();
+        return count;
+    }
+
+    private <T> long writeCsv(Stream<T> rows, List<Column<T>> columns, OutputStream out) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(columns.stream().map(Column::header).collect(Collectors.joining(",")));
+        writer.write('\n');
+        for (T row : (Iterable<T>) rows::iterator) {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(csv(columns.get(i).value().apply(row)));
+            }
+            writer.write('\n');
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof Number) {
+            return value.toString();
+        }
+        return "\"" + value.toString().replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,289 @@
+package io.github.ferrazsergio.libraryapi.application.service;
+
+import io.github.ferrazsergio.libraryapi.domain.model.Book;
+import io.github.ferrazsergio.libraryapi.domain.model.Hold;
+import io.github.ferrazsergio.libraryapi.domain.model.User;
+import io.github.ferrazsergio.libraryapi.infrastructure.cache.BookCache;
+import io.github.ferrazsergio.libraryapi.infrastructure.hold.HoldQueueIndex;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.BookRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.HoldRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.UserRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.search.CatalogIndex;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.HoldDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reservas de livros sem exemplar disponível.
+ * <p>
+ * Cada livro tem uma fila FIFO em {@code book_holds}. Um exemplar liberado (devolução, reserva
+ * cancelada ou com prazo de retirada vencido) vai direto para o primeiro da fila, que passa a
+ * {@code READY} com prazo de retirada; só sem fila ele volta ao estoque. O exemplar separado não
+ * conta em {@code availableQuantity} e é consumido pelo empréstimo do próprio titular.
+ */
+@Service
+public class HoldService {
+
+    private final HoldRepository holdRepository;
+    private final BookRepository bookRepository;
+    private final UserRepository userRepository;
+    private final ActivityService activityService;
+    private final BookCache bookCache;
+    private final CatalogIndex catalogIndex;
+    private final HoldQueueIndex queueIndex;
+    private final Duration pickupWindow;
+
+    @Autowired
+    public HoldService(HoldRepository holdRepository,
+                       BookRepository bookRepository,
+                       UserRepository userRepository,
+                       ActivityService activityService,
+                       BookCache bookCache,
+                       CatalogIndex catalogIndex,
+                       HoldQueueIndex queueIndex,
+                       @Value("${library.holds.pickup-window:P3D}") Duration pickupWindow) {
+        this.holdRepository = holdRepository;
+        this.bookRepository = bookRepository;
+        this.userRepository = userRepository;
+        this.activityService = activityService;
+        this.bookCache = bookCache;
+        this.catalogIndex = catalogIndex;
+        this.queueIndex = queueIndex;
+        this.pickupWindow = pickupWindow;
+    }
+
+    /**
+     * Entra na fila do livro. Se houver exemplar em estoque ele é separado na hora.
+     */
+    @Transactional
+    public HoldDTO placeHold(Integer bookId, Integer userId) {
+        Book book = bookRepository.findById(bookId)
+                .filter(found -> !found.isDeleted())
+                .orElseThrow(() -> new RuntimeException("Book not found with ID: " + bookId));
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found with ID: " + userId));
+
+        if (holdRepository.existsOpen(bookId, userId)) {
+            throw new RuntimeException("User already has an active hold for this book");
+        }
+
+        Hold hold = new Hold();
+        hold.setBook(book);
+        hold.setUser(user);
+        hold.setStatus(Hold.HoldStatus.WAITING);
+        hold.setCreatedAt(LocalDateTime.now());
+
+        // Cobre a devolução confirmada entre a consulta do cliente e a reserva
+        if (bookRepository.decrementAvailableQuantity(bookId) > 0) {
+            hold.markReady(hold.getCreatedAt(), hold.getCreatedAt().plus(pickupWindow));
+            bookCache.evictBook(book.getId(), book.getIsbn());
+            bookCache.adjustStock(0, -1);
+            catalogIndex.updateAvailability(bookId, bookRepository.findAvailableQuantity(bookId));
+        } else {
+            queueIndex.enqueued(bookId);
+        }
+
+        Hold saved = holdRepository.save(hold);
+
+        activityService.logActivity(
+                "HOLD_PLACED",
+                "Reserva feita para o livro " + book.getTitle(),
+                user.getName(),
+                book.getTitle()
+        );
+
+        return toDTO(saved);
+    }
+
+    @Transactional
+    public HoldDTO cancelHold(Integer holdId) {
+        Hold hold = holdRepository.lockById(holdId)
+                .orElseThrow(() -> new RuntimeException("Hold not found with ID: " + holdId));
+
+        Hold.HoldStatus previous = hold.getStatus();
+        hold.close(Hold.HoldStatus.CANCELLED);
+        holdRepository.save(hold);
+
+        if (previous == Hold.HoldStatus.WAITING) {
+            queueIndex.dequeued(hold.getBook().getId());
+        } else {
+            releaseCopy(hold.getBook());
+        }
+
+        activityService.logActivity(
+                "HOLD_CANCELLED",
+                "Reserva cancelada para o livro " + hold.getBook().getTitle(),
+                hold.getUser().getName(),
+                hold.getBook().getTitle()
+        );
+
+        return toDTO(hold);
+    }
+
+    @Transactional(readOnly = true)
+    public HoldDTO findById(Integer holdId) {
+        return holdRepository.findWithDetailsById(holdId)
+                .map(this::toDTO)
+                .orElseThrow(() -> new RuntimeException("Hold not found with ID: " + holdId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<HoldDTO> findByUser(Integer userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found with ID: " + userId);
+        }
+        return holdRepository.findByUserId(userId).stream()
+                .map(this::toDTO)
+                .toList();
+    }
+
+    /**
+     * Reservas em aberto do livro na ordem da fila (separadas primeiro, por chegada).
+     */
+    @Transactional(readOnly = true)
+    public List<HoldDTO> findQueue(Integer bookId) {
+        if (!bookRepository.existsById(bookId)) {
+            throw new RuntimeException("Book not found with ID: " + bookId);
+        }
+        List<HoldDTO> queue = new ArrayList<>();
+        int position = 0;
+        for (Hold hold : holdRepository.findOpenByBookId(bookId)) {
+            HoldDTO dto = HoldDTO.fromEntity(hold);
+            dto.setUserName(hold.getUser().getName());
+            if (hold.getStatus() == Hold.HoldStatus.WAITING) {
+                dto.setPosition(++position);
+            }
+            queue.add(dto);
+        }
+        queue.sort(Comparator.comparing((HoldDTO dto) -> dto.getPosition() != null));
+        return queue;
+    }
+
+    /**
+     * Consome a reserva separada para o usuário, se houver. Chamado na transação do empréstimo:
+     * o exemplar já saiu do estoque quando foi separado.
+     *
+     * @return {@code true} se o empréstimo usa o exemplar separado
+     */
+    @Transactional
+    public boolean claimReadyHold(Integer bookId, Integer userId) {
+        Optional<Hold> ready = holdRepository.lockReady(bookId, userId);
+        ready.ifPresent(hold -> {
+            hold.close(Hold.HoldStatus.FULFILLED);
+            holdRepository.save(hold);
+        });
+        return ready.isPresent();
+    }
+
+    /**
+     * Libera um exemplar: vai para o primeiro da fila ou, sem fila, volta ao estoque.
+     * Chamado na transação que liberou o exemplar (devolução, cancelamento ou expiração).
+     */
+    @Transactional
+    public void releaseCopy(Book book) {
+        if (allocateToNextHolder(book)) {
+            return;
+        }
+
+        if (bookRepository.incrementAvailableQuantity(book.getId()) == 0) {
+            throw new IllegalStateException("Available quantity cannot exceed total quantity");
+        }
+        bookCache.evictBook(book.getId(), book.getIsbn());
+        bookCache.adjustStock(0, 1);
+        catalogIndex.updateAvailability(book.getId(), bookRepository.findAvailableQuantity(book.getId()));
+    }
+
+    /**
+     * Encerra as reservas separadas cujo prazo de retirada venceu e libera os exemplares.
+     *
+     * @return quantidade de reservas expiradas; {@code limit} indica que pode haver mais
+     */
+    @Transactional
+    public int expireReadyHolds(int limit) {
+        if (!holdRepository.tryLockSweep()) {
+            return 0;
+        }
+        List<Hold> expired = holdRepository.lockExpiredReady(LocalDateTime.now(), limit);
+        for (Hold hold : expired) {
+            hold.close(Hold.HoldStatus.EXPIRED);
+            holdRepository.save(hold);
+            releaseCopy(hold.getBook());
+            activityService.logActivity(
+                    "HOLD_EXPIRED",
+                    "Reserva expirada para o livro " + hold.getBook().getTitle(),
+                    hold.getUser().getName(),
+                    hold.getBook().getTitle()
+            );
+        }
+        return expired.size();
+    }
+
+    /**
+     * Separa exemplares que ficaram em estoque enquanto havia fila para o livro.
+     *
+     * @return quantidade de reservas atendidas
+     */
+    @Transactional
+    public int allocateStrandedCopies(int limit) {
+        if (!holdRepository.tryLockSweep()) {
+            return 0;
+        }
+        int allocated = 0;
+        for (Integer bookId : holdRepository.findBooksWithStrandedCopies(limit)) {
+            Optional<Hold> next;
+            while ((next = holdRepository.lockNextWaiting(bookId)).isPresent()
+                    && bookRepository.decrementAvailableQuantity(bookId) > 0) {
+                Book book = next.get().getBook();
+                bookCache.evictBook(book.getId(), book.getIsbn());
+                bookCache.adjustStock(0, -1);
+                markReady(next.get());
+                allocated++;
+            }
+            catalogIndex.updateAvailability(bookId, bookRepository.findAvailableQuantity(bookId));
+        }
+        return allocated;
+    }
+
+    private boolean allocateToNextHolder(Book book) {
+        if (!queueIndex.mayHaveWaiters(book.getId())) {
+            return false;
+        }
+        Optional<Hold> next = holdRepository.lockNextWaiting(book.getId());
+        next.ifPresent(this::markReady);
+        return next.isPresent();
+    }
+
+    private void markReady(Hold hold) {
+        LocalDateTime now = LocalDateTime.now();
+        hold.markReady(now, now.plus(pickupWindow));
+        holdRepository.save(hold);
+        queueIndex.dequeued(hold.getBook().getId());
+
+        activityService.logActivity(
+                "HOLD_READY",
+                "Exemplar separado para retirada: " + hold.getBook().getTitle(),
+                hold.getUser().getName(),
+                hold.getBook().getTitle()
+        );
+    }
+
+    private HoldDTO toDTO(Hold hold) {
+        HoldDTO dto = HoldDTO.fromEntity(hold);
+        dto.setBookTitle(hold.getBook().getTitle());
+        if (hold.getStatus() == Hold.HoldStatus.WAITING) {
+            dto.setPosition((int) holdRepository.countWaitingAhead(
+                    hold.getBook().getId(), hold.getCreatedAt(), hold.getId()) + 1);
+        }
+        return dto;
+    }
+}
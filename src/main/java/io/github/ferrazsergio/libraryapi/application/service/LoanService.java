@@ -1,24 +1,33 @@
 package io.github.ferrazsergio.libraryapi.application.service;
 
+import io.github.ferrazsergio.libraryapi.application.pagination.ContinuationToken;
+import io.github.ferrazsergio.libraryapi.application.pagination.InvalidContinuationTokenException;
 import io.github.ferrazsergio.libraryapi.domain.model.Book;
 import io.github.ferrazsergio.libraryapi.domain.model.Loan;
 import io.github.ferrazsergio.libraryapi.domain.model.User;
+import io.github.ferrazsergio.libraryapi.infrastructure.cache.BookCache;
 import io.github.ferrazsergio.libraryapi.infrastructure.repository.BookRepository;
-import io.github.ferrazsergio.libraryapi.infrastructure.repository.FineRepository;
 import io.github.ferrazsergio.libraryapi.infrastructure.repository.LoanRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.TableStatisticsRepository;
 import io.github.ferrazsergio.libraryapi.infrastructure.repository.UserRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.search.CatalogIndex;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.CursorPageDTO;
 import io.github.ferrazsergio.libraryapi.interfaces.dto.LoanDTO;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.LoanEligibilityDTO;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.LoanSummaryDTO;
 import io.github.ferrazsergio.libraryapi.interfaces.dto.RecentActivityDTO;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -29,27 +38,43 @@ public class LoanService {
     private final LoanRepository loanRepository;
     private final BookRepository bookRepository;
     private final UserRepository userRepository;
-    private final FineRepository fineRepository;
     private final ActivityService activityService;
+    private final BookCache bookCache;
+    private final CatalogIndex catalogIndex;
+    private final TableStatisticsRepository tableStatistics;
+    private final HoldService holdService;
 
     @Transactional
     public LoanDTO createLoan(LoanDTO loanDTO) {
-        // Fetch book and user
-        Book book = bookRepository.findById(loanDTO.getBookId())
-                .orElseThrow(() -> new RuntimeException("Book not found with ID: " + loanDTO.getBookId()));
+        Integer bookId = loanDTO.getBookId();
 
+        // A decisão usa só a linha do usuário: multas em aberto e status (resumo mantido pela V14)
         User user = userRepository.findById(loanDTO.getUserId())
                 .orElseThrow(() -> new RuntimeException("User not found with ID: " + loanDTO.getUserId()));
 
-        // Check if book is available
-        if (!book.isAvailable()) {
+        String ineligible = ineligibilityReason(user);
+        if (ineligible != null) {
+            throw new RuntimeException(ineligible);
+        }
+
+        // Exemplar separado por reserva do próprio usuário já saiu do estoque. Sem reserva,
+        // o UPDATE condicional é a verificação definitiva de disponibilidade: empréstimos
+        // concorrentes não conseguem levar o estoque abaixo de zero
+        boolean reserved = holdService.claimReadyHold(bookId, user.getId());
+        if (!reserved && bookRepository.decrementAvailableQuantity(bookId) == 0) {
+            if (!bookRepository.existsById(bookId)) {
+                throw new RuntimeException("Book not found with ID: " + bookId);
+            }
             throw new RuntimeException("Book is not available for loan");
         }
 
-        // Check if user has unpaid fines
-        Double unpaidFines = fineRepository.getTotalUnpaidFinesForUser(user.getId());
-        if (unpaidFines != null && unpaidFines > 0) {
-            throw new RuntimeException("User has unpaid fines. Please pay them before borrowing more books.");
+        // Lido depois do UPDATE, já com o estoque atualizado
+        Book book = bookRepository.findById(bookId)
+                .orElseThrow(() -> new RuntimeException("Book not found with ID: " + bookId));
+        if (!reserved) {
+            bookCache.evictBook(book.getId(), book.getIsbn());
+            bookCache.adjustStock(0, -1);
+            catalogIndex.updateAvailability(book.getId(), book.getAvailableQuantity());
         }
 
         // Create the loan
@@ -62,10 +87,6 @@ public class LoanService {
         loan.setExpectedReturnDate(LocalDate.now().plusDays(14));
         loan.setStatus(Loan.LoanStatus.ACTIVE);
 
-        // Update book availability
-        book.decreaseAvailableQuantity();
-        bookRepository.save(book);
-
         // Save the loan
         Loan savedLoan = loanRepository.save(loan);
 
@@ -80,22 +101,40 @@ public class LoanService {
         return LoanDTO.fromEntity(savedLoan);
     }
 
+    /**
+     * Resumo usado na decisão de empréstimo: multas em aberto, empréstimos em aberto e status.
+     */
+    @Transactional(readOnly = true)
+    public LoanEligibilityDTO getEligibility(Integer userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found with ID: " + userId));
+
+        String reason = ineligibilityReason(user);
+        return LoanEligibilityDTO.builder()
+                .userId(user.getId())
+                .status(user.getStatus().name())
+                .unpaidFines(user.getUnpaidFines())
+                .openLoans(user.getOpenLoans())
+                .eligible(reason == null)
+                .reason(reason)
+                .build();
+    }
+
     @Transactional
     public LoanDTO returnBook(Integer loanId) {
-        Loan loan = loanRepository.findById(loanId)
+        Loan loan = loanRepository.lockById(loanId)
                 .orElseThrow(() -> new RuntimeException("Loan not found with ID: " + loanId));
 
-        if (loan.getStatus() != Loan.LoanStatus.ACTIVE) {
+        if (!loan.isOpen()) {
             throw new RuntimeException("This book has already been returned");
         }
 
         // Return the book
         loan.returnBook();
 
-        // Increase book availability
+        // O exemplar vai para o primeiro da fila de reservas ou volta ao estoque
         Book book = loan.getBook();
-        book.increaseAvailableQuantity();
-        bookRepository.save(book);
+        holdService.releaseCopy(book);
 
         // Save the updated loan
         Loan updatedLoan = loanRepository.save(loan);
@@ -113,7 +152,7 @@ public class LoanService {
 
     @Transactional
     public LoanDTO renewLoan(Integer loanId) {
-        Loan loan = loanRepository.findById(loanId)
+        Loan loan = loanRepository.findWithDetailsById(loanId)
                 .orElseThrow(() -> new RuntimeException("Loan not found with ID: " + loanId));
 
         loan.renew();
@@ -132,7 +171,7 @@ public class LoanService {
 
     @Transactional(readOnly = true)
     public LoanDTO findById(Integer id) {
-        return loanRepository.findById(id)
+        return loanRepository.findWithDetailsById(id)
                 .map(LoanDTO::fromEntity)
                 .orElseThrow(() -> new RuntimeException("Loan not found with ID: " + id));
     }
@@ -161,6 +200,57 @@ public class LoanService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public Page<LoanSummaryDTO> findAllSummaries(Pageable pageable) {
+        return loanRepository.findAllSummaries(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<LoanSummaryDTO> findSummariesByUser(Integer userId, Pageable pageable) {
+        // Verify user exists
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found with ID: " + userId);
+        }
+
+        return loanRepository.findSummariesByUserId(userId, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public List<LoanSummaryDTO> findOverdueSummaries() {
+        return loanRepository.findOverdueSummaries();
+    }
+
+    /**
+     * Percorre o histórico de empréstimos do mais recente para o mais antigo, por keyset em
+     * (loanDate, id): a página 10.000 custa o mesmo que a primeira e nenhum COUNT é executado.
+     *
+     * @param cursor        token devolvido pela página anterior, ou null para a primeira
+     * @param estimateTotal se true, inclui a estimativa de linhas do PostgreSQL
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<LoanSummaryDTO> scrollHistory(String cursor, int size, boolean estimateTotal) {
+        Pageable page = PageRequest.of(0, size);
+        Slice<LoanSummaryDTO> slice;
+        if (cursor == null) {
+            slice = loanRepository.findSummariesFirst(page);
+        } else {
+            String[] keys = ContinuationToken.decode(cursor, 2);
+            slice = loanRepository.findSummariesBefore(parseDate(keys[0]), ContinuationToken.parseId(keys[1]), page);
+        }
+
+        return CursorPageDTO.of(slice,
+                loan -> ContinuationToken.encode(loan.getLoanDate(), loan.getId()),
+                estimateTotal ? tableStatistics.estimateRows("loans") : null);
+    }
+
+    private static LocalDate parseDate(String key) {
+        try {
+            return LocalDate.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new InvalidContinuationTokenException();
+        }
+    }
+
     // ==================== NOVOS MÉTODOS PARA DASHBOARD ====================
 
     /**
@@ -260,4 +350,14 @@ public class LoanService {
     public List<Object[]> getLoanStatisticsByMonth() {
         return loanRepository.getLoanStatisticsByMonth();
     }
-}
\ No newline at end of file
+
+    private static String ineligibilityReason(User user) {
+        if (user.isDeleted() || user.getStatus() != User.Status.ACTIVE) {
+            return "User is not active and cannot borrow books";
+        }
+        if (user.hasUnpaidFines()) {
+            return "User has unpaid fines. Please pay them before borrowing more books.";
+        }
+        return null;
+    }
+}
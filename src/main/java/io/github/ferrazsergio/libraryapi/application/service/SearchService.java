@@ -0,0 +1,134 @@
+package io.github.ferrazsergio.libraryapi.application.service;
+
+import io.github.ferrazsergio.libraryapi.domain.model.Author;
+import io.github.ferrazsergio.libraryapi.domain.model.Book;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.AuthorRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.BookRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.CatalogSearchRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.search.CatalogIndex;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.AuthorDTO;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.BookDTO;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.SearchResultDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class SearchService {
+
+    private static final int AUTHOR_LIMIT = 5;
+    private static final int MAX_TERMS = 8;
+
+    private final CatalogSearchRepository catalogSearchRepository;
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final CatalogIndex catalogIndex;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public SearchService(CatalogSearchRepository catalogSearchRepository,
+                         BookRepository bookRepository,
+                         AuthorRepository authorRepository,
+                         CatalogIndex catalogIndex,
+                         PlatformTransactionManager transactionManager) {
+        this.catalogSearchRepository = catalogSearchRepository;
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.catalogIndex = catalogIndex;
+        // Só a busca no banco abre transação; a resposta do índice em memória não pega conexão
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Busca livros (título, editora, descrição e autores) e autores por relevância.
+     * Cada palavra do texto é tratada como prefixo e todas precisam aparecer.
+     * Com {@code library.search.engine=memory} a busca é respondida pelo {@link CatalogIndex},
+     * exceto prefixos abertos demais para ele, que seguem para o banco.
+     *
+     * @param text texto digitado pelo usuário
+     * @param categoryId filtro opcional por categoria
+     * @param authorId filtro opcional por autor
+     * @param pageable paginação dos livros; a ordenação é sempre por relevância
+     * @return livros e autores encontrados
+     */
+    public SearchResultDTO search(String text, Integer categoryId, Integer authorId, Pageable pageable) {
+        if (catalogIndex.isReady() && catalogIndex.canAnswer(text)) {
+            return SearchResultDTO.builder()
+                    .query(text)
+                    .books(catalogIndex.searchBooks(text, categoryId, authorId, pageable))
+                    .authors(catalogIndex.searchAuthors(text, AUTHOR_LIMIT))
+                    .build();
+        }
+
+        String tsQuery = toTsQuery(text);
+        if (tsQuery == null) {
+            return SearchResultDTO.builder()
+                    .query(text)
+                    .books(Page.empty(pageable))
+                    .authors(List.of())
+                    .build();
+        }
+
+        return readOnlyTransaction.execute(status -> searchDatabase(text, tsQuery, categoryId, authorId, pageable));
+    }
+
+    private SearchResultDTO searchDatabase(String text, String tsQuery, Integer categoryId, Integer authorId,
+                                           Pageable pageable) {
+        List<Integer> bookIds = catalogSearchRepository.searchBookIds(tsQuery, categoryId, authorId,
+                pageable.getPageSize(), pageable.getOffset());
+        List<BookDTO> books = inOrder(bookIds, bookRepository.findAllById(bookIds), Book::getId).stream()
+                .map(BookDTO::fromEntity)
+                .collect(Collectors.toList());
+
+        List<Integer> authorIds = catalogSearchRepository.searchAuthorIds(tsQuery, AUTHOR_LIMIT);
+        List<AuthorDTO> authors = inOrder(authorIds, authorRepository.findAllById(authorIds), Author::getId).stream()
+                .map(AuthorDTO::fromEntity)
+                .collect(Collectors.toList());
+
+        return SearchResultDTO.builder()
+                .query(text)
+                .books(PageableExecutionUtils.getPage(books, pageable,
+                        () -> catalogSearchRepository.countBooks(tsQuery, categoryId, authorId)))
+                .authors(authors)
+                .build();
+    }
+
+    /**
+     * Converte o texto livre em uma tsquery de prefixos ({@code "george orw"} vira {@code "george:* & orw:*"}).
+     * Apenas letras e dígitos são mantidos, de modo que o resultado nunca tem sintaxe inválida.
+     *
+     * @return a tsquery, ou null se o texto não tiver nenhum termo pesquisável
+     */
+    public static String toTsQuery(String text) {
+        if (text == null) {
+            return null;
+        }
+
+        String query = Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .limit(MAX_TERMS)
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+        return query.isEmpty() ? null : query;
+    }
+
+    private static <T> List<T> inOrder(List<Integer> ids, List<T> entities, Function<T, Integer> idOf) {
+        Map<Integer, T> byId = entities.stream().collect(Collectors.toMap(idOf, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+}
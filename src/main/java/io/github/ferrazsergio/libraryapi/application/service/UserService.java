@@ -1,10 +1,15 @@
 package io.github.ferrazsergio.libraryapi.application.service;
 
+import io.github.ferrazsergio.libraryapi.application.pagination.ContinuationToken;
 import io.github.ferrazsergio.libraryapi.domain.model.User;
 import io.github.ferrazsergio.libraryapi.infrastructure.repository.LoanRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.TableStatisticsRepository;
 import io.github.ferrazsergio.libraryapi.infrastructure.repository.UserRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.storage.AvatarStore;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.CursorPageDTO;
 import io.github.ferrazsergio.libraryapi.interfaces.dto.UserDTO;
 import io.github.ferrazsergio.libraryapi.interfaces.dto.UserStatisticsDTO;
+import io.github.ferrazsergio.libraryapi.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.io.FilenameUtils;
 import org.springframework.cache.annotation.CacheEvict;
@@ -12,15 +17,12 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -34,6 +36,9 @@ public class UserService {
     private final LoanRepository loanRepository;
     private final PasswordEncoder passwordEncoder;
     private final ActivityService activityService;
+    private final TableStatisticsRepository tableStatistics;
+    private final PrincipalCache principalCache;
+    private final AvatarStore avatarStore;
 
     @Transactional(readOnly = true)
     public UserDTO findById(Integer id) {
@@ -54,6 +59,22 @@ public class UserService {
                 .map(UserDTO::fromEntity);
     }
 
+    /**
+     * Lista os usuários por keyset em id crescente, sem OFFSET nem COUNT.
+     *
+     * @param cursor        token devolvido pela página anterior, ou null para a primeira
+     * @param estimateTotal se true, inclui a estimativa de linhas do PostgreSQL
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<UserDTO> scroll(String cursor, int size, boolean estimateTotal) {
+        Integer afterId = cursor != null ? ContinuationToken.decodeId(cursor) : 0;
+        return CursorPageDTO.of(
+                userRepository.findByDeletedFalseAndIdGreaterThan(afterId, PageRequest.of(0, size, Sort.by("id")))
+                        .map(UserDTO::fromEntity),
+                user -> ContinuationToken.encode(user.getId()),
+                estimateTotal ? tableStatistics.estimateRows("users") : null);
+    }
+
     @Transactional
     @CacheEvict(value = "userStats", allEntries = true)
     public UserDTO create(UserDTO userDTO) {
@@ -117,6 +138,7 @@ public class UserService {
         user.setUpdatedAt(LocalDateTime.now());
 
         User updatedUser = userRepository.save(user);
+        principalCache.invalidate(id);
 
         activityService.logActivity(
                 "USER_UPDATED",
@@ -137,6 +159,7 @@ public class UserService {
         user.setDeleted(true);
         user.setDeletedAt(LocalDateTime.now());
         userRepository.save(user);
+        principalCache.invalidate(id);
 
         activityService.logActivity(
                 "USER_DELETED",
@@ -199,28 +222,11 @@ public class UserService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Grava o avatar no armazenamento endereçado por conteúdo e devolve a URL pública.
+     * Arquivos idênticos compartilham o mesmo nome, então a URL muda só quando a imagem muda.
+     */
     public String saveUserAvatar(User user, MultipartFile file) {
-        try {
-            Path uploadPath = Paths.get(System.getProperty("user.dir"), "uploads", "avatars");
-
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-            }
-
-            String originalFilename = file.getOriginalFilename();
-            String extension = originalFilename != null && originalFilename.contains(".")
-                    ? originalFilename.substring(originalFilename.lastIndexOf("."))
-                    : ".png";
-
-            String filename = "user_" + user.getId() + "_" + System.currentTimeMillis() + extension;
-            Path filePath = uploadPath.resolve(filename);
-
-            file.transferTo(filePath.toFile());
-
-            return "/api/v1/users/files/avatars/" + filename;
-
-        } catch (IOException e) {
-            throw new RuntimeException("Erro ao salvar avatar: " + e.getMessage(), e);
-        }
+        return AvatarStore.URL_PREFIX + avatarStore.store(file);
     }
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package io.github.ferrazsergio.libraryapi.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ActivityLogProperties.class)
+public class ActivityLogConfig {
+}
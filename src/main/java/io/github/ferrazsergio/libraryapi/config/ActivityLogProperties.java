@@ -0,0 +1,77 @@
+package io.github.ferrazsergio.libraryapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuração da gravação do log de atividades ({@code library.activities.log.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "library.activities.log")
+public class ActivityLogProperties {
+
+    /**
+     * {@code ASYNC}: atividades vão para uma fila em memória após o commit e são gravadas em lote
+     * por uma thread de fundo (podem ser perdidas se o processo morrer).
+     * {@code OUTBOX}: atividades são gravadas na mesma transação, na tabela {@code activity_outbox},
+     * e movidas para {@code activities} em lote por um relay agendado.
+     */
+    private Mode mode = Mode.ASYNC;
+
+    /**
+     * Capacidade máxima da fila em memória (modo ASYNC).
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * Número máximo de linhas por INSERT em lote.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Intervalo em que a thread de gravação verifica a fila quando está ociosa.
+     * Sob carga, cada lote é gravado assim que o anterior termina.
+     */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /**
+     * O que fazer quando a fila está cheia.
+     */
+    private OverflowPolicy overflow = OverflowPolicy.BLOCK;
+
+    /**
+     * Quanto a política BLOCK segura a thread da requisição antes de descartar a atividade.
+     */
+    private Duration offerTimeout = Duration.ofMillis(50);
+
+    /**
+     * Tempo máximo para esvaziar a fila no desligamento da aplicação.
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Intervalo entre execuções do relay do outbox (modo OUTBOX).
+     */
+    private Duration relayInterval = Duration.ofSeconds(1);
+
+    public enum Mode {
+        ASYNC, OUTBOX
+    }
+
+    public enum OverflowPolicy {
+        /**
+         * Aguarda espaço na fila por até {@code offer-timeout} e então descarta.
+         */
+        BLOCK,
+        /**
+         * Descarta imediatamente.
+         */
+        DROP,
+        /**
+         * Grava na própria thread da requisição.
+         */
+        CALLER_RUNS
+    }
+}
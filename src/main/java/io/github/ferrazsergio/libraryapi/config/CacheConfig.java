@@ -0,0 +1,102 @@
+package io.github.ferrazsergio.libraryapi.config;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.github.ferrazsergio.libraryapi.infrastructure.cache.BookCache;
+import io.github.ferrazsergio.libraryapi.infrastructure.cache.StatisticsCacheSerializer;
+import io.github.ferrazsergio.libraryapi.infrastructure.cache.TwoLevelCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(LibraryCacheProperties.class)
+public class CacheConfig {
+
+    // Contadores long junto de DTOs e listas; ver StatisticsCacheSerializer
+    private static final Set<String> STATISTICS_CACHES = Set.of(BookCache.BOOK_STATS, "loanStats", "userStats");
+
+    @Bean
+    public RedisSerializer<Object> cacheValueSerializer() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        objectMapper.activateDefaultTyping(
+                BasicPolymorphicTypeValidator.builder()
+                        .allowIfSubType("io.github.ferrazsergio.libraryapi.")
+                        .allowIfSubType("java.")
+                        .allowIfSubTypeIsArray()
+                        .build(),
+                ObjectMapper.DefaultTyping.NON_FINAL,
+                JsonTypeInfo.As.PROPERTY);
+        GenericJackson2JsonRedisSerializer.registerNullValueSerializer(objectMapper, null);
+        return new GenericJackson2JsonRedisSerializer(objectMapper);
+    }
+
+    @Bean
+    public RedisTemplate<String, Object> cacheRedisTemplate(RedisConnectionFactory connectionFactory,
+                                                            RedisSerializer<Object> cacheValueSerializer) {
+        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(StringRedisSerializer.UTF_8);
+        template.setValueSerializer(cacheValueSerializer);
+        return template;
+    }
+
+    @Bean
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                             RedisTemplate<String, Object> cacheRedisTemplate,
+                                             RedisSerializer<Object> cacheValueSerializer,
+                                             LibraryCacheProperties properties,
+                                             MeterRegistry meterRegistry) {
+        RedisCacheConfiguration defaults = RedisCacheConfiguration.defaultCacheConfig()
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(cacheValueSerializer))
+                .entryTtl(properties.getDefaults().getTtl());
+
+        RedisCacheConfiguration statistics = defaults.serializeValuesWith(RedisSerializationContext.SerializationPair
+                .fromSerializer(new StatisticsCacheSerializer(cacheValueSerializer)));
+
+        Map<String, RedisCacheConfiguration> perCache = new HashMap<>();
+        STATISTICS_CACHES.forEach(name -> perCache.put(name, statistics));
+        properties.getSpecs().forEach((name, spec) -> perCache.put(name,
+                perCache.getOrDefault(name, defaults).entryTtl(spec.getTtl())));
+
+        RedisCacheManager remoteCacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(defaults)
+                .withInitialCacheConfigurations(perCache)
+                .build();
+        remoteCacheManager.afterPropertiesSet();
+
+        return new TwoLevelCacheManager(remoteCacheManager, cacheRedisTemplate, properties, meterRegistry);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                             TwoLevelCacheManager cacheManager,
+                                                                             LibraryCacheProperties properties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(properties.getInvalidationChannel()));
+        return container;
+    }
+}
@@ -0,0 +1,53 @@
+package io.github.ferrazsergio.libraryapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuração do cache em dois níveis (Caffeine local + Redis).
+ * Cada cache pode sobrescrever TTL e tamanho em {@code library.cache.specs.<nome>.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "library.cache")
+public class LibraryCacheProperties {
+
+    /**
+     * Canal Redis usado para propagar invalidações do L1 entre os nós.
+     */
+    private String invalidationChannel = "library-api:cache-invalidation";
+
+    /**
+     * Valores usados pelos caches sem configuração própria.
+     */
+    private Spec defaults = new Spec();
+
+    private Map<String, Spec> specs = new HashMap<>();
+
+    public Spec specFor(String cacheName) {
+        return specs.getOrDefault(cacheName, defaults);
+    }
+
+    @Data
+    public static class Spec {
+
+        /**
+         * Tempo de vida da entrada no Redis (L2).
+         */
+        private Duration ttl = Duration.ofMinutes(30);
+
+        /**
+         * Tempo de vida da entrada no cache local (L1); limita a defasagem
+         * caso uma mensagem de invalidação seja perdida.
+         */
+        private Duration localTtl = Duration.ofMinutes(5);
+
+        /**
+         * Número máximo de entradas mantidas no cache local (L1).
+         */
+        private long maxSize = 1_000;
+    }
+}
@@ -0,0 +1,35 @@
+package io.github.ferrazsergio.libraryapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuração do hash de senhas ({@code library.security.password.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "library.security.password")
+public class PasswordHashingProperties {
+
+    /**
+     * Custo do BCrypt (log2 das rodadas). Senhas com custo menor são refeitas no próximo login.
+     */
+    private int bcryptStrength = 10;
+
+    /**
+     * Threads dedicadas a hash e verificação. Fica abaixo do número de CPUs para que uma onda
+     * de logins não tome os carriers que atendem o resto da API.
+     */
+    private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    /**
+     * Operações aguardando thread livre; acima disso a requisição recebe 503.
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * Tempo máximo de espera (fila + hash) antes de responder 503.
+     */
+    private Duration timeout = Duration.ofSeconds(3);
+}
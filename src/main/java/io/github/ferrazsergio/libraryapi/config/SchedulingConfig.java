@@ -0,0 +1,15 @@
+package io.github.ferrazsergio.libraryapi.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita {@code @Scheduled} e {@code @Async}. Os executores são os do Spring Boot,
+ * que passam a usar virtual threads quando {@code spring.threads.virtual.enabled=true}.
+ */
+@Configuration
+@EnableScheduling
+@EnableAsync
+public class SchedulingConfig {
+}
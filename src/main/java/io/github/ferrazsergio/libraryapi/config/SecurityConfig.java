@@ -1,8 +1,11 @@
 package io.github.ferrazsergio.libraryapi.config;
 
+import io.github.ferrazsergio.libraryapi.security.BoundedPasswordEncoder;
 import io.github.ferrazsergio.libraryapi.security.JwtAuthenticationFilter;
 import io.github.ferrazsergio.libraryapi.security.JwtTokenProvider;
+import io.github.ferrazsergio.libraryapi.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -15,9 +18,8 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -30,11 +32,24 @@ import java.util.List;
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
+@EnableConfigurationProperties(PasswordHashingProperties.class)
 @RequiredArgsConstructor
 public class SecurityConfig {
 
+    /**
+     * Rotas públicas que também dispensam o filtro JWT: nenhuma delas lê o usuário autenticado.
+     */
+    private static final String[] UNAUTHENTICATED_PATHS = {
+            "/swagger-ui/**",
+            "/api-docs/**",
+            "/actuator/**",
+            "/api/v1/users/files/avatars/**"
+    };
+
     private final JwtTokenProvider jwtTokenProvider;
+    private final PrincipalCache principalCache;
     private final UserDetailsService userDetailsService;
+    private final PasswordHashingProperties passwordHashing;
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -45,12 +60,10 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.OPTIONS,"/**").permitAll()
                         .requestMatchers("/api/v1/auth/**").permitAll()
-                        .requestMatchers("/swagger-ui/**", "/api-docs/**").permitAll()
-                        .requestMatchers("/actuator/**").permitAll()
-                        .requestMatchers("/api/v1/users/files/avatars/**").permitAll()
+                        .requestMatchers(UNAUTHENTICATED_PATHS).permitAll()
                         .anyRequest().authenticated()
                 )
-                .addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider), UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider, principalCache, UNAUTHENTICATED_PATHS), UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
@@ -60,6 +73,10 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Refaz o hash no login quando o custo configurado aumentou
+        if (userDetailsService instanceof UserDetailsPasswordService passwordService) {
+            authProvider.setUserDetailsPasswordService(passwordService);
+        }
         return authProvider;
     }
 
@@ -69,8 +86,12 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder() {
+        return new BoundedPasswordEncoder(
+                passwordHashing.getBcryptStrength(),
+                passwordHashing.getThreads(),
+                passwordHashing.getQueueCapacity(),
+                passwordHashing.getTimeout());
     }
 
     @Bean
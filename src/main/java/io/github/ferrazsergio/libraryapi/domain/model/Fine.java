@@ -19,7 +19,8 @@ import java.util.Objects;
 public class Fine {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "fines_id_seq")
+    @SequenceGenerator(name = "fines_id_seq", sequenceName = "fines_id_seq", allocationSize = 50)
     private Integer id;
 
     @OneToOne
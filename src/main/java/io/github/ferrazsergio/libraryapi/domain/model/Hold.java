@@ -0,0 +1,94 @@
+package io.github.ferrazsergio.libraryapi.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.proxy.HibernateProxy;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Reserva de um livro. Enquanto {@code WAITING} está na fila do livro; quando um exemplar é
+ * devolvido ele é separado para o primeiro da fila ({@code READY}) até {@code expiresAt}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "book_holds")
+public class Hold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "book_holds_id_seq")
+    @SequenceGenerator(name = "book_holds_id_seq", sequenceName = "book_holds_id_seq", allocationSize = 50)
+    private Integer id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "book_id", nullable = false)
+    private Book book;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private HoldStatus status;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "ready_at")
+    private LocalDateTime readyAt;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    @Column(name = "closed_at")
+    private LocalDateTime closedAt;
+
+    public boolean isOpen() {
+        return status == HoldStatus.WAITING || status == HoldStatus.READY;
+    }
+
+    public void markReady(LocalDateTime now, LocalDateTime pickupDeadline) {
+        if (status != HoldStatus.WAITING) {
+            throw new IllegalStateException("Only waiting holds can be allocated a copy");
+        }
+        status = HoldStatus.READY;
+        readyAt = now;
+        expiresAt = pickupDeadline;
+    }
+
+    public void close(HoldStatus closedStatus) {
+        if (!isOpen()) {
+            throw new RuntimeException("Hold is no longer active");
+        }
+        status = closedStatus;
+        closedAt = LocalDateTime.now();
+    }
+
+    public enum HoldStatus {
+        WAITING, READY, FULFILLED, CANCELLED, EXPIRED
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null) return false;
+        Class<?> oEffectiveClass = o instanceof HibernateProxy ? ((HibernateProxy) o).getHibernateLazyInitializer().getPersistentClass() : o.getClass();
+        Class<?> thisEffectiveClass = this instanceof HibernateProxy ? ((HibernateProxy) this).getHibernateLazyInitializer().getPersistentClass() : this.getClass();
+        if (thisEffectiveClass != oEffectiveClass) return false;
+        Hold hold = (Hold) o;
+        return getId() != null && Objects.equals(getId(), hold.getId());
+    }
+
+    @Override
+    public final int hashCode() {
+        return this instanceof HibernateProxy ? ((HibernateProxy) this).getHibernateLazyInitializer().getPersistentClass().hashCode() : getClass().hashCode();
+    }
+}
@@ -20,8 +20,12 @@ import java.util.Objects;
 @Table(name = "loans")
 public class Loan {
 
+    // Multa por dia de atraso, usada na devolução e na varredura de atrasos
+    public static final BigDecimal DAILY_FINE = new BigDecimal("0.50");
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "loans_id_seq")
+    @SequenceGenerator(name = "loans_id_seq", sequenceName = "loans_id_seq", allocationSize = 50)
     private Integer id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -55,12 +59,19 @@ public class Loan {
     private Integer renewalCount = 0;
 
     public boolean isOverdue() {
-        return status == LoanStatus.ACTIVE &&
-                LocalDate.now().isAfter(expectedReturnDate);
+        return status == LoanStatus.OVERDUE ||
+                (status == LoanStatus.ACTIVE && LocalDate.now().isAfter(expectedReturnDate));
+    }
+
+    /**
+     * Livro ainda com o usuário: empréstimo ativo ou já marcado como atrasado pela varredura.
+     */
+    public boolean isOpen() {
+        return status == LoanStatus.ACTIVE || status == LoanStatus.OVERDUE;
     }
 
     public void returnBook() {
-        if (status != LoanStatus.ACTIVE) {
+        if (!isOpen()) {
             throw new RuntimeException("This loan is not active");
         }
 
@@ -76,7 +87,7 @@ public class Loan {
 
     private void calculateFine() {
         long daysLate = java.time.temporal.ChronoUnit.DAYS.between(expectedReturnDate, returnDate);
-        BigDecimal fineAmount = BigDecimal.valueOf(daysLate * 0.50); // $0.50 per day
+        BigDecimal fineAmount = DAILY_FINE.multiply(BigDecimal.valueOf(daysLate));
 
         if (this.fine == null) {
             this.fine = new Fine();
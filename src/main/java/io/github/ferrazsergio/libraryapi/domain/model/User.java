@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.proxy.HibernateProxy;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Objects;
@@ -21,7 +22,8 @@ import java.util.Set;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id_seq")
+    @SequenceGenerator(name = "users_id_seq", sequenceName = "users_id_seq", allocationSize = 50)
     private Integer id;
 
     @Column(nullable = false)
@@ -73,6 +75,17 @@ public class User {
     @Column(name = "avatar_url")
     private String avatarUrl;
 
+    // Resumo para empréstimo mantido por triggers em fines e loans (V14); somente leitura no JPA
+    @Column(name = "unpaid_fines", insertable = false, updatable = false)
+    private BigDecimal unpaidFines;
+
+    @Column(name = "open_loans", insertable = false, updatable = false)
+    private Integer openLoans;
+
+    public boolean hasUnpaidFines() {
+        return unpaidFines != null && unpaidFines.signum() > 0;
+    }
+
     public enum Role {
         ADMIN, LIBRARIAN, READER
     }
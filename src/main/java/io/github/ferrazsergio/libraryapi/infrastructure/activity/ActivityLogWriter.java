@@ -0,0 +1,218 @@
+package io.github.ferrazsergio.libraryapi.infrastructure.activity;
+
+import io.github.ferrazsergio.libraryapi.config.ActivityLogProperties;
+import io.github.ferrazsergio.libraryapi.config.ActivityLogProperties.Mode;
+import io.github.ferrazsergio.libraryapi.domain.model.Activity;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.ActivityBatchRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.transaction.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tira a gravação de atividades do caminho da requisição.
+ * <p>
+ * No modo {@code ASYNC} a atividade entra em uma fila limitada somente após o commit da
+ * transação de negócio, e uma thread de fundo a grava em lotes. Quando a fila enche, vale a
+ * política de overflow configurada. No desligamento a fila é esvaziada antes do fechamento
+ * do pool de conexões.
+ * <p>
+ * No modo {@code OUTBOX} as atividades de uma transação são acumuladas e gravadas em um único
+ * lote na tabela {@code activity_outbox} imediatamente antes do commit; o {@link ActivityOutboxRelay}
+ * as move para {@code activities}.
+ */
+@Component
+public class ActivityLogWriter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ActivityLogWriter.class);
+
+    private static final Object OUTBOX_BUFFER_KEY = new Object();
+
+    private final ActivityLogProperties properties;
+    private final ActivityBatchRepository repository;
+    private final RecentActivityFeed recentActivityFeed;
+    private final BlockingQueue<Activity> queue;
+
+    private final Counter written;
+    private final Counter droppedOverflow;
+    private final Counter droppedError;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public ActivityLogWriter(ActivityLogProperties properties,
+                             ActivityBatchRepository repository,
+                             RecentActivityFeed recentActivityFeed,
+                             MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.repository = repository;
+        this.recentActivityFeed = recentActivityFeed;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+
+        Gauge.builder("library.activities.queue.size", queue, BlockingQueue::size)
+                .description("Activities waiting to be written")
+                .register(meterRegistry);
+        this.written = Counter.builder("library.activities.written")
+                .register(meterRegistry);
+        this.droppedOverflow = Counter.builder("library.activities.dropped")
+                .tag("reason", "overflow")
+                .register(meterRegistry);
+        this.droppedError = Counter.builder("library.activities.dropped")
+                .tag("reason", "error")
+                .register(meterRegistry);
+    }
+
+    public void submit(Activity activity) {
+        if (properties.getMode() == Mode.OUTBOX) {
+            addToOutbox(activity);
+            return;
+        }
+
+        // Atividades de transações desfeitas não devem aparecer no log
+        AfterCommit.run(() -> enqueue(activity));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void addToOutbox(Activity activity) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            repository.insertOutbox(List.of(activity));
+            return;
+        }
+
+        List<Activity> buffer = (List<Activity>) TransactionSynchronizationManager.getResource(OUTBOX_BUFFER_KEY);
+        if (buffer == null) {
+            List<Activity> pending = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(OUTBOX_BUFFER_KEY, pending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    repository.insertOutbox(pending);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(OUTBOX_BUFFER_KEY);
+                }
+            });
+            buffer = pending;
+        }
+        buffer.add(activity);
+    }
+
+    private void enqueue(Activity activity) {
+        if (!running) {
+            // Antes do start ou depois do stop não há quem consuma a fila
+            write(List.of(activity));
+            return;
+        }
+
+        boolean accepted = switch (properties.getOverflow()) {
+            case BLOCK -> offerWithTimeout(activity);
+            case DROP -> queue.offer(activity);
+            case CALLER_RUNS -> {
+                if (!queue.offer(activity)) {
+                    write(List.of(activity));
+                }
+                yield true;
+            }
+        };
+
+        if (!accepted) {
+            droppedOverflow.increment();
+            log.warn("Fila de atividades cheia, descartando: {}", activity.getDescription());
+        }
+    }
+
+    private boolean offerWithTimeout(Activity activity) {
+        try {
+            return queue.offer(activity, properties.getOfferTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void flushLoop() {
+        long pollNanos = properties.getFlushInterval().toNanos();
+
+        while (running || !queue.isEmpty()) {
+            try {
+                Activity first = queue.poll(pollNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<Activity> batch = new ArrayList<>(properties.getBatchSize());
+                batch.add(first);
+                queue.drainTo(batch, properties.getBatchSize() - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void write(List<Activity> batch) {
+        try {
+            repository.insertAll(batch);
+            written.increment(batch.size());
+            recentActivityFeed.catchUp();
+        } catch (RuntimeException e) {
+            droppedError.increment(batch.size());
+            log.error("Falha ao gravar {} atividades: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void start() {
+        if (properties.getMode() != Mode.ASYNC) {
+            return;
+        }
+        running = true;
+        flusher = Thread.ofPlatform().name("activity-log-writer").daemon().start(this::flushLoop);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (flusher == null) {
+            return;
+        }
+
+        try {
+            flusher.join(properties.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (flusher.isAlive()) {
+            log.warn("Desligando com {} atividades não gravadas", queue.size());
+            flusher.interrupt();
+        }
+        flusher = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Para depois do servidor web, para que requisições em andamento ainda encontrem a fila ativa.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.ferrazsergio.libraryapi.infrastructure.activity;
+
+import io.github.ferrazsergio.libraryapi.config.ActivityLogProperties;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.ActivityBatchRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Move as atividades de {@code activity_outbox} para {@code activities} em lotes.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "library.activities.log.mode", havingValue = "outbox")
+public class ActivityOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(ActivityOutboxRelay.class);
+
+    private final ActivityBatchRepository repository;
+    private final ActivityLogProperties properties;
+    private final RecentActivityFeed recentActivityFeed;
+
+    @Scheduled(fixedDelayString = "${library.activities.log.relay-interval:PT1S}")
+    public void relay() {
+        int batchSize = properties.getBatchSize();
+        try {
+            int moved = 0;
+            int last;
+            // Lote cheio indica que ainda há linhas pendentes
+            do {
+                last = repository.relayOutbox(batchSize);
+                moved += last;
+            } while (last == batchSize);
+            if (moved > 0) {
+                recentActivityFeed.catchUp();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Falha ao mover atividades do outbox: {}", e.getMessage());
+        }
+    }
+}
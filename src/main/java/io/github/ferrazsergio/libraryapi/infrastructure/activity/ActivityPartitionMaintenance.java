@@ -0,0 +1,143 @@
+package io.github.ferrazsergio.libraryapi.infrastructure.activity;
+
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.ActivityPartitionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.YearMonth;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Mantém as partições mensais de {@code activities}: cria as dos próximos meses e, para as
+ * que saíram do período de retenção, desanexa, exporta para {@code <archive-dir>/<partição>.csv.gz}
+ * e remove.
+ * <p>
+ * O desanexo e a exportação rodam em transações separadas para que a exportação de uma partição
+ * grande não bloqueie inserções em {@code activities}. Uma partição desanexada só é removida depois
+ * que o arquivo foi gravado; se algo falhar, ela é retomada na próxima execução.
+ */
+@Component
+public class ActivityPartitionMaintenance {
+
+    private static final Logger log = LoggerFactory.getLogger(ActivityPartitionMaintenance.class);
+
+    private final ActivityPartitionRepository partitionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean retentionEnabled;
+    private final int retentionMonths;
+    private final int premakeMonths;
+    private final Path archiveDir;
+
+    @Autowired
+    public ActivityPartitionMaintenance(ActivityPartitionRepository partitionRepository,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${library.activities.retention.enabled:true}") boolean retentionEnabled,
+                                        @Value("${library.activities.retention.months:12}") int retentionMonths,
+                                        @Value("${library.activities.partitions.premake-months:3}") int premakeMonths,
+                                        @Value("${library.activities.retention.archive-dir:archive/activities}") Path archiveDir) {
+        this.partitionRepository = partitionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionEnabled = retentionEnabled;
+        this.retentionMonths = retentionMonths;
+        this.premakeMonths = premakeMonths;
+        this.archiveDir = archiveDir;
+    }
+
+    @Scheduled(cron = "${library.activities.partitions.cron:0 30 3 * * *}")
+    public void run() {
+        try {
+            maintainPartitions(YearMonth.now());
+            if (retentionEnabled) {
+                archiveDetachedPartitions();
+            }
+        } catch (RuntimeException e) {
+            log.error("Falha na manutenção das partições de atividades: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Garante as partições dos próximos meses logo após o deploy, caso a aplicação tenha ficado parada.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        try {
+            maintainPartitions(YearMonth.now());
+        } catch (RuntimeException e) {
+            log.warn("Falha ao criar partições de atividades: {}", e.getMessage());
+        }
+    }
+
+    void maintainPartitions(YearMonth currentMonth) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!partitionRepository.tryLock()) {
+                return;
+            }
+
+            for (int i = 0; i <= premakeMonths; i++) {
+                partitionRepository.createPartition(currentMonth.plusMonths(i));
+            }
+
+            if (!retentionEnabled) {
+                return;
+            }
+            YearMonth oldestKept = currentMonth.minusMonths(retentionMonths);
+            for (String partition : partitionRepository.findAttachedPartitions()) {
+                if (ActivityPartitionRepository.partitionMonth(partition).isBefore(oldestKept)) {
+                    partitionRepository.detachPartition(partition);
+                    log.info("Partição {} desanexada de activities", partition);
+                }
+            }
+        });
+    }
+
+    void archiveDetachedPartitions() {
+        for (String partition : transactionTemplate.execute(status -> partitionRepository.findDetachedPartitions())) {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!partitionRepository.tryLock()) {
+                    return;
+                }
+                long rows = export(partition);
+                partitionRepository.dropPartition(partition);
+                log.info("Partição {} arquivada ({} atividades) e removida", partition, rows);
+            });
+        }
+    }
+
+    private long export(String partition) {
+        Path target = archiveDir.resolve(partition + ".csv.gz");
+        try {
+            Files.createDirectories(archiveDir);
+            Path temp = Files.createTempFile(archiveDir, partition, ".tmp");
+            try {
+                long rows;
+                try (Writer out = new OutputStreamWriter(
+                        new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8)) {
+                    rows = partitionRepository.exportCsv(partition, out);
+                }
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                return rows;
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to archive " + partition + " to " + target, e);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package io.github.ferrazsergio.libraryapi.infrastructure.activity;
+
+import io.github.ferrazsergio.libraryapi.domain.model.Activity;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.ActivityRepository;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.RecentActivityDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Mantém em memória as últimas atividades gravadas, em ordem de id, para que o feed
+ * recente seja servido sem acessar o banco.
+ * <p>
+ * Há um único escritor por vez (carga inicial, {@link #catchUp()} após cada lote gravado e a
+ * sondagem periódica que traz atividades de outros nós); as leituras não usam lock e descartam
+ * posições que tenham sido sobrescritas durante a leitura. Como os ids são atribuídos pelo banco
+ * e transações concorrentes podem confirmar fora de ordem, o buffer é reconstruído periodicamente.
+ */
+@Component
+public class RecentActivityFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(RecentActivityFeed.class);
+
+    private static final int CATCH_UP_PAGE_SIZE = 500;
+
+    private final ActivityRepository activityRepository;
+    private final int capacity;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile Ring ring;
+
+    @Autowired
+    public RecentActivityFeed(ActivityRepository activityRepository,
+                              @Value("${library.activities.feed.capacity:1024}") int capacity) {
+        this.activityRepository = activityRepository;
+        this.capacity = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+    }
+
+    public boolean isReady() {
+        return ring != null;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Retorna as {@code limit} atividades mais recentes, da mais nova para a mais antiga.
+     */
+    public List<RecentActivityDTO> latest(int limit) {
+        Ring current = ring;
+        long end = current.count;
+        long start = Math.max(0, end - Math.min(limit, capacity - 1));
+
+        List<RecentActivityDTO> result = new ArrayList<>((int) (end - start));
+        for (long seq = end - 1; seq >= start; seq--) {
+            RecentActivityDTO activity = current.get(seq);
+            if (activity == null) {
+                break;
+            }
+            result.add(activity);
+        }
+        return result;
+    }
+
+    /**
+     * Retorna até {@code limit} atividades com id maior que {@code afterId}, em ordem crescente,
+     * ou {@code null} se parte desse intervalo já saiu do buffer.
+     */
+    public List<RecentActivityDTO> since(long afterId, int limit) {
+        Ring current = ring;
+        if (afterId < current.floorId) {
+            return null;
+        }
+
+        long end = current.count;
+        long start = Math.max(0, end - capacity + 1);
+        List<RecentActivityDTO> newer = new ArrayList<>();
+        boolean complete = start == 0;
+        for (long seq = end - 1; seq >= start; seq--) {
+            RecentActivityDTO activity = current.get(seq);
+            if (activity == null) {
+                // Sobrescrito durante a leitura: não há como garantir que o intervalo esteja completo
+                return null;
+            }
+            if (activity.getId() <= afterId) {
+                complete = true;
+                break;
+            }
+            newer.add(activity);
+        }
+        if (!complete) {
+            return null;
+        }
+
+        Collections.reverse(newer);
+        return newer.size() > limit ? new ArrayList<>(newer.subList(0, limit)) : newer;
+    }
+
+    /**
+     * Acrescenta ao buffer as atividades gravadas depois da última conhecida (varredura pela chave primária).
+     */
+    public void catchUp() {
+        if (ring == null || !writeLock.tryLock()) {
+            // Quem estiver com o lock vai ler estas linhas também
+            return;
+        }
+        try {
+            Ring current = ring;
+            List<Activity> page;
+            do {
+                page = activityRepository.findByIdGreaterThanOrderByIdAsc(current.lastId,
+                        PageRequest.of(0, CATCH_UP_PAGE_SIZE));
+                page.forEach(activity -> current.append(toDTO(activity)));
+            } while (page.size() == CATCH_UP_PAGE_SIZE);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Recarrega o buffer a partir das atividades mais recentes (índice {@code idx_activities_timestamp}).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${library.activities.feed.resync-interval:PT5M}",
+            fixedDelayString = "${library.activities.feed.resync-interval:PT5M}")
+    public void reload() {
+        writeLock.lock();
+        try {
+            List<Activity> recent = new ArrayList<>(activityRepository.findAll(
+                    PageRequest.of(0, capacity, Sort.by(Sort.Direction.DESC, "timestamp"))).getContent());
+            recent.sort(Comparator.comparing(Activity::getId));
+
+            Ring rebuilt = new Ring(capacity);
+            if (recent.size() == capacity) {
+                // Ids menores que o mais antigo carregado podem não estar no buffer
+                rebuilt.floorId = recent.get(0).getId();
+            }
+            recent.forEach(activity -> rebuilt.append(toDTO(activity)));
+            ring = rebuilt;
+        } catch (RuntimeException e) {
+            log.warn("Falha ao carregar o feed de atividades recentes: {}", e.getMessage());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${library.activities.feed.poll-interval:PT1S}")
+    public void poll() {
+        try {
+            catchUp();
+        } catch (RuntimeException e) {
+            log.warn("Falha ao atualizar o feed de atividades recentes: {}", e.getMessage());
+        }
+    }
+
+    public static RecentActivityDTO toDTO(Activity activity) {
+        return RecentActivityDTO.builder()
+                .id(activity.getId())
+                .activityType(activity.getActivityType())
+                .description(activity.getDescription())
+                .timestamp(activity.getTimestamp())
+                .userName(activity.getUserName())
+                .bookTitle(activity.getBookTitle())
+                .build();
+    }
+
+    private static final class Ring {
+
+        private final AtomicReferenceArray<RecentActivityDTO> slots;
+        private final int mask;
+
+        // Escritos somente com o writeLock; volatile para publicar as posições aos leitores
+        private volatile long count;
+        private volatile long floorId;
+        private long lastId;
+
+        private Ring(int capacity) {
+            this.slots = new AtomicReferenceArray<>(capacity);
+            this.mask = capacity - 1;
+        }
+
+        private void append(RecentActivityDTO activity) {
+            long seq = count;
+            int index = (int) (seq & mask);
+            RecentActivityDTO evicted = slots.get(index);
+            if (evicted != null) {
+                floorId = evicted.getId();
+            }
+            slots.set(index, activity);
+            lastId = activity.getId();
+            count = seq + 1;
+        }
+
+        /**
+         * @return a atividade da posição {@code seq}, ou null se ela foi ou está prestes a ser sobrescrita
+         */
+        private RecentActivityDTO get(long seq) {
+            RecentActivityDTO activity = slots.get((int) (seq & mask));
+            return count - seq < slots.length() ? activity : null;
+        }
+    }
+}
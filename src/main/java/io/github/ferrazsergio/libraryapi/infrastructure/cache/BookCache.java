@@ -0,0 +1,126 @@
+package io.github.ferrazsergio.libraryapi.infrastructure.cache;
+
+import io.github.ferrazsergio.libraryapi.infrastructure.transaction.AfterCommit;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.BookStockDTO;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.CategoryStatisticsDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Centraliza as chaves dos caches {@code books} e {@code bookStats}.
+ * <p>
+ * Um livro é armazenado em duas entradas ligadas, {@code id:<id>} e {@code isbn:<isbn>},
+ * e uma escrita remove exatamente essas duas. As estatísticas são ajustadas por delta
+ * em vez de descartadas; alterações concorrentes em nós diferentes podem gerar uma
+ * pequena divergência, que é corrigida quando a entrada expira (TTL de {@code bookStats}).
+ * Todas as operações são aplicadas somente após o commit da transação corrente.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookCache {
+
+    public static final String BOOKS = "books";
+    public static final String BOOK_STATS = "bookStats";
+
+    static final String TOTAL_BOOKS_KEY = "totalBooks";
+    static final String STOCK_KEY = "stock";
+    static final String TOP_CATEGORIES_KEY = "mostBorrowedCategories";
+
+    /**
+     * Quantidade de categorias mantida em cache; pedidos menores usam um prefixo da lista.
+     */
+    public static final int TOP_CATEGORIES_SIZE = 20;
+
+    private final CacheManager cacheManager;
+
+    public static String idKey(Integer id) {
+        return "id:" + id;
+    }
+
+    public static String isbnKey(String isbn) {
+        return "isbn:" + isbn;
+    }
+
+    /**
+     * Remove as entradas de um livro por id e por cada ISBN informado (antigo e novo).
+     */
+    public void evictBook(Integer id, String... isbns) {
+        AfterCommit.run(() -> {
+            Cache books = cacheManager.getCache(BOOKS);
+            if (books == null) {
+                return;
+            }
+            books.evict(idKey(id));
+            for (String isbn : isbns) {
+                if (isbn != null) {
+                    books.evict(isbnKey(isbn));
+                }
+            }
+        });
+    }
+
+    public void adjustTotalBooks(long delta) {
+        if (delta == 0) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            Cache stats = cacheManager.getCache(BOOK_STATS);
+            Long current = stats != null ? stats.get(TOTAL_BOOKS_KEY, Long.class) : null;
+            if (current != null) {
+                stats.put(TOTAL_BOOKS_KEY, current + delta);
+            }
+        });
+    }
+
+    public void adjustStock(long totalDelta, long availableDelta) {
+        if (totalDelta == 0 && availableDelta == 0) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            Cache stats = cacheManager.getCache(BOOK_STATS);
+            BookStockDTO current = stats != null ? stats.get(STOCK_KEY, BookStockDTO.class) : null;
+            if (current != null) {
+                stats.put(STOCK_KEY, new BookStockDTO(
+                        current.getTotalQuantity() + totalDelta,
+                        current.getAvailableQuantity() + availableDelta));
+            }
+        });
+    }
+
+    public BookStockDTO getStock(Supplier<BookStockDTO> loader) {
+        return get(STOCK_KEY, loader);
+    }
+
+    public List<CategoryStatisticsDTO> getTopCategories(int limit, Supplier<List<CategoryStatisticsDTO>> loader) {
+        List<CategoryStatisticsDTO> top = get(TOP_CATEGORIES_KEY, () -> new ArrayList<>(loader.get()));
+        return new ArrayList<>(top.subList(0, Math.min(limit, top.size())));
+    }
+
+    /**
+     * O ranking de categorias só muda quando um livro com empréstimos troca de categoria
+     * ou é removido; nesses casos a lista é descartada e recalculada na próxima leitura.
+     */
+    public void evictTopCategories() {
+        AfterCommit.run(() -> {
+            Cache stats = cacheManager.getCache(BOOK_STATS);
+            if (stats != null) {
+                stats.evict(TOP_CATEGORIES_KEY);
+            }
+        });
+    }
+
+    private <T> T get(String key, Supplier<T> loader) {
+        Cache stats = cacheManager.getCache(BOOK_STATS);
+        if (stats == null) {
+            return loader.get();
+        }
+        return Objects.requireNonNull(stats.get(key, loader::get));
+    }
+}
@@ -0,0 +1,19 @@
+package io.github.ferrazsergio.libraryapi.infrastructure.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Mensagem publicada no Redis quando uma entrada é alterada ou removida,
+ * para que os demais nós descartem a cópia local (L1).
+ * Uma chave nula indica que o cache inteiro deve ser limpo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidationMessage {
+    private String origin;
+    private String cacheName;
+    private Object key;
+}
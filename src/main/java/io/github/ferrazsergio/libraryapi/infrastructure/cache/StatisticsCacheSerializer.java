@@ -0,0 +1,44 @@
+package io.github.ferrazsergio.libraryapi.infrastructure.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * Serializador dos caches de estatísticas ({@code bookStats}, {@code loanStats}, {@code userStats}).
+ * <p>
+ * Esses caches guardam contadores {@code long} ao lado de DTOs e listas. Na raiz do JSON um
+ * {@code Long} sai sem id de tipo e volta como {@code Integer}; dentro de {@link Entry}, cujo campo é
+ * {@code Object}, o Jackson grava o tipo de qualquer valor ({@code ["java.lang.Long", 5]}), e cada
+ * entrada volta exatamente com o tipo com que foi gravada.
+ */
+public class StatisticsCacheSerializer implements RedisSerializer<Object> {
+
+    private final RedisSerializer<Object> delegate;
+
+    public StatisticsCacheSerializer(RedisSerializer<Object> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public byte[] serialize(Object value) {
+        return delegate.serialize(new Entry(value));
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) {
+        Object entry = delegate.deserialize(bytes);
+        return entry instanceof Entry wrapped ? wrapped.getValue() : entry;
+    }
+
+    /**
+     * Envelope gravado no Redis; não é final para levar o próprio id de tipo.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        private Object value;
+    }
+}
@@ -0,0 +1,174 @@
+package io.github.ferrazsergio.libraryapi.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.ferrazsergio.libraryapi.config.LibraryCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Cache com um nível local limitado (Caffeine) na frente do Redis.
+ * Leituras consultam o L1 e, em caso de falta, o L2; escritas e remoções
+ * atualizam os dois níveis e avisam os outros nós para descartarem o L1.
+ */
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> localCache;
+    private final Cache remoteCache;
+    private final TwoLevelCacheManager cacheManager;
+
+    private final Counter localHits;
+    private final Counter remoteHits;
+    private final Counter misses;
+    private final Counter localInvalidations;
+    private final Counter remoteInvalidations;
+
+    public TwoLevelCache(String name,
+                         Cache remoteCache,
+                         LibraryCacheProperties.Spec spec,
+                         TwoLevelCacheManager cacheManager,
+                         MeterRegistry meterRegistry) {
+        super(true);
+        this.name = name;
+        this.remoteCache = remoteCache;
+        this.cacheManager = cacheManager;
+
+        this.localHits = gets(meterRegistry, "l1", "hit");
+        this.remoteHits = gets(meterRegistry, "l2", "hit");
+        this.misses = gets(meterRegistry, "l2", "miss");
+        this.localInvalidations = invalidations(meterRegistry, "local");
+        this.remoteInvalidations = invalidations(meterRegistry, "remote");
+
+        Counter evictions = Counter.builder("library.cache.evictions")
+                .description("Entries evicted from the local cache by size or expiry")
+                .tag("cache", name)
+                .tag("tier", "l1")
+                .register(meterRegistry);
+
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(spec.getMaxSize())
+                .expireAfterWrite(spec.getLocalTtl())
+                .evictionListener((key, value, cause) -> evictions.increment())
+                .build();
+
+        Gauge.builder("library.cache.size", localCache, com.github.benmanes.caffeine.cache.Cache::estimatedSize)
+                .description("Estimated number of entries in the local cache")
+                .tag("cache", name)
+                .tag("tier", "l1")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return localCache;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = localCache.getIfPresent(key);
+        if (value != null) {
+            localHits.increment();
+            return value;
+        }
+
+        ValueWrapper remoteValue = remoteCache.get(key);
+        if (remoteValue == null) {
+            misses.increment();
+            return null;
+        }
+
+        remoteHits.increment();
+        Object storeValue = toStoreValue(remoteValue.get());
+        localCache.put(key, storeValue);
+        return storeValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object storeValue = lookup(key);
+        if (storeValue != null) {
+            return (T) fromStoreValue(storeValue);
+        }
+
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remoteCache.put(key, value);
+        localCache.put(key, toStoreValue(value));
+        cacheManager.publishInvalidation(name, key);
+    }
+
+    @Override
+    public void evict(Object key) {
+        remoteCache.evict(key);
+        evictLocal(key);
+        localInvalidations.increment();
+        cacheManager.publishInvalidation(name, key);
+    }
+
+    @Override
+    public void clear() {
+        remoteCache.clear();
+        clearLocal();
+        localInvalidations.increment();
+        cacheManager.publishInvalidation(name, null);
+    }
+
+    /**
+     * Descarta a entrada apenas no L1, em resposta a uma invalidação de outro nó.
+     */
+    void evictLocal(Object key) {
+        localCache.invalidate(key);
+    }
+
+    void clearLocal() {
+        localCache.invalidateAll();
+    }
+
+    void onRemoteInvalidation(Object key) {
+        remoteInvalidations.increment();
+        if (key == null) {
+            clearLocal();
+        } else {
+            evictLocal(key);
+        }
+    }
+
+    private Counter gets(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("library.cache.gets")
+                .description("Cache lookups by tier and result")
+                .tag("cache", name)
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private Counter invalidations(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("library.cache.invalidations")
+                .description("Local cache invalidations by origin")
+                .tag("cache", name)
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+}
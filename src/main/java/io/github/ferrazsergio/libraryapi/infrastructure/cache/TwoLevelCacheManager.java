@@ -0,0 +1,101 @@
+package io.github.ferrazsergio.libraryapi.infrastructure.cache;
+
+import io.github.ferrazsergio.libraryapi.config.LibraryCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+/**
+ * {@link CacheManager} que combina um cache local por nó com o Redis compartilhado.
+ * Também escuta o canal de invalidação para descartar entradas locais
+ * alteradas por outros nós, inclusive de caches só locais registrados em
+ * {@link #registerLocalCache}.
+ */
+public class TwoLevelCacheManager implements CacheManager, MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(TwoLevelCacheManager.class);
+
+    private final RedisCacheManager remoteCacheManager;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final LibraryCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Consumer<Object>> localCaches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(RedisCacheManager remoteCacheManager,
+                                RedisTemplate<String, Object> redisTemplate,
+                                LibraryCacheProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    private TwoLevelCache createCache(String name) {
+        Cache remoteCache = remoteCacheManager.getCache(name);
+        return new TwoLevelCache(name, remoteCache, properties.specFor(name), this, meterRegistry);
+    }
+
+    /**
+     * Liga ao canal de invalidação um cache que existe só em memória, fora deste manager:
+     * {@code evictor} recebe as chaves invalidadas pelos outros nós ({@code null} = tudo).
+     * O dono do cache publica as próprias alterações com {@link #publishInvalidation}.
+     */
+    public void registerLocalCache(String cacheName, Consumer<Object> evictor) {
+        localCaches.put(cacheName, evictor);
+    }
+
+    public void publishInvalidation(String cacheName, Object key) {
+        try {
+            redisTemplate.convertAndSend(properties.getInvalidationChannel(),
+                    new CacheInvalidationMessage(nodeId, cacheName, key));
+        } catch (RuntimeException e) {
+            // O TTL do L1 limita a defasagem nos outros nós caso a publicação falhe
+            log.warn("Falha ao publicar invalidação do cache {} para a chave {}: {}", cacheName, key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (!(body instanceof CacheInvalidationMessage invalidation) || nodeId.equals(invalidation.getOrigin())) {
+            return;
+        }
+
+        TwoLevelCache cache = caches.get(invalidation.getCacheName());
+        if (cache != null) {
+            cache.onRemoteInvalidation(invalidation.getKey());
+            return;
+        }
+
+        Consumer<Object> localCache = localCaches.get(invalidation.getCacheName());
+        if (localCache != null) {
+            localCache.accept(invalidation.getKey());
+        }
+    }
+}
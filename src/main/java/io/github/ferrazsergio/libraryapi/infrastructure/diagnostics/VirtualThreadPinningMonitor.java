@@ -0,0 +1,86 @@
+package io.github.ferrazsergio.libraryapi.infrastructure.diagnostics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Registra quando uma virtual thread fica presa ao carrier (ex.: {@code synchronized}
+ * dentro do driver JDBC durante I/O), usando os eventos JFR {@code jdk.VirtualThreadPinned}.
+ * As ocorrências são expostas como métricas e logadas com o frame que causou o pinning.
+ */
+@Component
+@ConditionalOnProperty(name = "library.diagnostics.pinning.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final Duration threshold;
+    private final Counter pinnedCount;
+    private final Timer pinnedDuration;
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${library.diagnostics.pinning.threshold:PT0.02S}") Duration threshold) {
+        this.threshold = threshold;
+        this.pinnedCount = Counter.builder("library.vthreads.pinned")
+                .description("Virtual thread pinning events above the configured threshold")
+                .register(meterRegistry);
+        this.pinnedDuration = Timer.builder("library.vthreads.pinned.duration")
+                .description("Time virtual threads spent pinned to their carrier")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+        log.info("Monitorando pinning de virtual threads acima de {}", threshold);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCount.increment();
+        pinnedDuration.record(event.getDuration());
+        log.warn("Virtual thread presa ao carrier por {} ms em {}", event.getDuration().toMillis(), culprit(event));
+    }
+
+    private String culprit(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "desconhecido";
+        }
+
+        // Primeiro frame fora do JDK costuma ser o código que segurou o monitor
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        return frames.stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .filter(frame -> !frame.startsWith("java.") && !frame.startsWith("jdk."))
+                .findFirst()
+                .orElse("desconhecido");
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.ferrazsergio.libraryapi.infrastructure.hold;
+
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.HoldRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.transaction.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tamanho da fila de reservas de cada livro, mantido em memória.
+ * <p>
+ * Serve para que a devolução de um livro sem fila (o caso comum) não precise consultar
+ * {@code book_holds}. É atualizado após o commit das reservas feitas neste nó e reconstruído
+ * periodicamente; uma fila criada em outro nó só aparece na reconstrução. Nesse intervalo o
+ * exemplar devolvido volta ao estoque e a varredura de reservas o entrega ao primeiro da fila.
+ */
+@Component
+public class HoldQueueIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(HoldQueueIndex.class);
+
+    private final HoldRepository holdRepository;
+
+    private volatile Map<Integer, Integer> waiting = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public HoldQueueIndex(HoldRepository holdRepository) {
+        this.holdRepository = holdRepository;
+    }
+
+    /**
+     * {@code false} apenas quando o índice está construído e não conhece fila para o livro.
+     */
+    public boolean mayHaveWaiters(Integer bookId) {
+        return !ready || waiting.containsKey(bookId);
+    }
+
+    public int waitingCount(Integer bookId) {
+        return waiting.getOrDefault(bookId, 0);
+    }
+
+    public void enqueued(Integer bookId) {
+        AfterCommit.run(() -> waiting.merge(bookId, 1, Integer::sum));
+    }
+
+    public void dequeued(Integer bookId) {
+        AfterCommit.run(() -> waiting.computeIfPresent(bookId, (id, count) -> count > 1 ? count - 1 : null));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${library.holds.index.rebuild-interval:PT5M}",
+            fixedDelayString = "${library.holds.index.rebuild-interval:PT5M}")
+    public void rebuild() {
+        try {
+            Map<Integer, Integer> fresh = new ConcurrentHashMap<>();
+            for (Object[] row : holdRepository.countWaitingByBook()) {
+                fresh.put((Integer) row[0], ((Number) row[1]).intValue());
+            }
+            waiting = fresh;
+            ready = true;
+        } catch (RuntimeException e) {
+            log.error("Falha ao construir o índice de reservas: {}", e.getMessage());
+        }
+    }
+}
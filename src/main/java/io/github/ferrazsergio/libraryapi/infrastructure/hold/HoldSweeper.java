@@ -0,0 +1,51 @@
+package io.github.ferrazsergio.libraryapi.infrastructure.hold;
+
+import io.github.ferrazsergio.libraryapi.application.service.HoldService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Varredura periódica das reservas: expira as separadas que não foram retiradas no prazo
+ * (o exemplar segue para o próximo da fila) e separa exemplares que ficaram em estoque com
+ * fila aberta. Cada lote roda em uma transação própria; entre os nós, o advisory lock de
+ * {@code HoldRepository} deixa apenas um varrendo por vez.
+ */
+@Component
+public class HoldSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(HoldSweeper.class);
+
+    private final HoldService holdService;
+    private final int batchSize;
+
+    @Autowired
+    public HoldSweeper(HoldService holdService,
+                       @Value("${library.holds.sweep-batch-size:100}") int batchSize) {
+        this.holdService = holdService;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${library.holds.sweep-interval:PT1M}",
+            fixedDelayString = "${library.holds.sweep-interval:PT1M}")
+    public void sweep() {
+        try {
+            int expired = 0;
+            int batch;
+            do {
+                batch = holdService.expireReadyHolds(batchSize);
+                expired += batch;
+            } while (batch == batchSize);
+
+            int allocated = holdService.allocateStrandedCopies(batchSize);
+            if (expired > 0 || allocated > 0) {
+                log.info("Reservas: {} expiradas, {} exemplares separados da fila", expired, allocated);
+            }
+        } catch (RuntimeException e) {
+            log.error("Falha na varredura de reservas: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package io.github.ferrazsergio.libraryapi.infrastructure.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.ferrazsergio.libraryapi.application.exception.InvalidRequestException;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.BookDTO;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lê livros de um arquivo CSV (com cabeçalho) ou NDJSON, um registro por vez.
+ * <p>
+ * Registros em branco são ignorados e não contam na numeração, que é o que o
+ * checkpoint de uma importação usa para retomar. Um registro ilegível não interrompe
+ * a leitura: vira um {@link BookRecord} com {@code error} preenchido.
+ * No CSV as colunas são reconhecidas pelo nome ({@code publish_date} ou {@code publishDate})
+ * e {@code author_ids} separa os ids com {@code ;}.
+ */
+public class BookRecordReader implements Closeable {
+
+    public enum Format {
+        CSV, NDJSON;
+
+        public static Format parse(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidRequestException("Unknown import format: " + value);
+            }
+        }
+    }
+
+    public record BookRecord(long number, BookDTO book, String error) {
+    }
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+
+    private Map<String, Integer> columns;
+    private long number;
+
+    public BookRecordReader(InputStream in, Format format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return o próximo registro, ou null no fim do arquivo
+     */
+    public BookRecord next() throws IOException {
+        return format == Format.CSV ? nextCsv() : nextJson();
+    }
+
+    /**
+     * Descarta os primeiros {@code count} registros (já confirmados por uma execução anterior).
+     */
+    public void skip(long count) throws IOException {
+        while (number < count && next() != null) {
+            // apenas avança
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private BookRecord nextJson() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        number++;
+        try {
+            return new BookRecord(number, objectMapper.readValue(line, BookDTO.class), null);
+        } catch (JsonProcessingException e) {
+            return new BookRecord(number, null, "Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private BookRecord nextCsv() throws IOException {
+        if (columns == null) {
+            List<String> header = readCsvFields();
+            if (header == null) {
+                return null;
+            }
+            columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(normalize(header.get(i)), i);
+            }
+        }
+
+        List<String> fields;
+        do {
+            fields = readCsvFields();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isBlank());
+
+        number++;
+        try {
+            return new BookRecord(number, toBook(fields), null);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return new BookRecord(number, null, "Invalid value: " + e.getMessage());
+        }
+    }
+
+    private BookDTO toBook(List<String> fields) {
+        Set<Integer> authorIds = new LinkedHashSet<>();
+        String authors = field(fields, "authorids");
+        if (authors != null) {
+            for (String id : authors.split("[;|]")) {
+                if (!id.isBlank()) {
+                    authorIds.add(Integer.valueOf(id.trim()));
+                }
+            }
+        }
+
+        String publishDate = field(fields, "publishdate");
+        String available = field(fields, "availablequantity");
+        String total = field(fields, "totalquantity");
+        String categoryId = field(fields, "categoryid");
+        return BookDTO.builder()
+                .isbn(field(fields, "isbn"))
+                .title(field(fields, "title"))
+                .description(field(fields, "description"))
+                .publishDate(publishDate != null ? LocalDate.parse(publishDate) : null)
+                .availableQuantity(available != null ? Integer.valueOf(available) : null)
+                .totalQuantity(total != null ? Integer.valueOf(total) : null)
+                .categoryId(categoryId != null ? Integer.valueOf(categoryId) : null)
+                .authorIds(authorIds)
+                .publisher(field(fields, "publisher"))
+                .build();
+    }
+
+    private String field(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String normalize(String header) {
+        return header.trim().replace("_", "").replace("\uFEFF", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Lê um registro RFC 4180: campos entre aspas podem conter vírgulas, aspas duplicadas e quebras de linha.
+     */
+    private List<String> readCsvFields() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int following = reader.read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
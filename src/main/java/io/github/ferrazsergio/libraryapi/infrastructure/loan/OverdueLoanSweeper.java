@@ -0,0 +1,93 @@
+package io.github.ferrazsergio.libraryapi.infrastructure.loan;
+
+import io.github.ferrazsergio.libraryapi.domain.model.Loan;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.OverdueLoanRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Marca como {@code OVERDUE} os empréstimos ativos vencidos e calcula as multas dos atrasados.
+ * <p>
+ * Trabalha em blocos de {@code batch-size} empréstimos, um comando e uma transação por bloco.
+ * Todo o estado fica nas próprias linhas (status e {@code fines.accrued_on}), então uma execução
+ * interrompida é retomada pela seguinte e repetir a execução no mesmo dia não altera nada.
+ * Cada bloco adquire o advisory lock de {@link OverdueLoanRepository}; se outro nó o detém,
+ * esta execução para e deixa o trabalho para ele.
+ */
+@Component
+public class OverdueLoanSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(OverdueLoanSweeper.class);
+
+    private final OverdueLoanRepository overdueLoanRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    @Autowired
+    public OverdueLoanSweeper(OverdueLoanRepository overdueLoanRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${library.loans.overdue.batch-size:1000}") int batchSize) {
+        this.overdueLoanRepository = overdueLoanRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${library.loans.overdue.cron:0 5 * * * *}")
+    public void run() {
+        try {
+            sweep(LocalDate.now());
+        } catch (RuntimeException e) {
+            log.error("Falha na varredura de empréstimos em atraso: {}", e.getMessage());
+        }
+    }
+
+    void sweep(LocalDate today) {
+        long start = System.nanoTime();
+
+        long marked = 0;
+        Integer batch;
+        do {
+            batch = transactionTemplate.execute(status -> overdueLoanRepository.tryLock()
+                    ? overdueLoanRepository.markOverdue(today, batchSize)
+                    : null);
+            if (batch == null) {
+                return;
+            }
+            marked += batch;
+        } while (batch == batchSize);
+
+        long accrued = 0;
+        int afterId = 0;
+        List<Integer> loanIds;
+        do {
+            int after = afterId;
+            loanIds = transactionTemplate.execute(status -> {
+                if (!overdueLoanRepository.tryLock()) {
+                    return null;
+                }
+                List<Integer> ids = overdueLoanRepository.findLoansToAccrue(today, after, batchSize);
+                overdueLoanRepository.accrueFines(ids, today, Loan.DAILY_FINE);
+                return ids;
+            });
+            if (loanIds == null) {
+                return;
+            }
+            accrued += loanIds.size();
+            afterId = loanIds.isEmpty() ? afterId : loanIds.get(loanIds.size() - 1);
+        } while (loanIds.size() == batchSize);
+
+        if (marked > 0 || accrued > 0) {
+            log.info("Empréstimos em atraso: {} marcados, {} multas calculadas em {} ms",
+                    marked, accrued, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+}
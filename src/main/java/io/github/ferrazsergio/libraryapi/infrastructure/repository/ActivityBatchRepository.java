@@ -0,0 +1,76 @@
+package io.github.ferrazsergio.libraryapi.infrastructure.repository;
+
+import io.github.ferrazsergio.libraryapi.domain.model.Activity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Gravação em lote de atividades via JDBC. A coluna IDENTITY de {@code activities}
+ * impede o batching do Hibernate, então os INSERTs são montados aqui; com
+ * {@code reWriteBatchedInserts=true} o driver os envia como um único INSERT multi-linha.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ActivityBatchRepository {
+
+    private static final String COLUMNS = "activity_type, description, timestamp, user_name, book_title";
+
+    private static final String INSERT_ACTIVITIES_SQL =
+            "INSERT INTO activities (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?)";
+
+    private static final String INSERT_OUTBOX_SQL =
+            "INSERT INTO activity_outbox (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?)";
+
+    // SKIP LOCKED permite que vários nós executem o relay sem mover a mesma linha duas vezes
+    private static final String RELAY_OUTBOX_SQL = """
+            WITH moved AS (
+                DELETE FROM activity_outbox
+                 WHERE id IN (SELECT id FROM activity_outbox ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED)
+                RETURNING %1$s
+            )
+            INSERT INTO activities (%1$s) SELECT %1$s FROM moved ORDER BY timestamp
+            """.formatted(COLUMNS);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public void insertAll(List<Activity> activities) {
+        insert(INSERT_ACTIVITIES_SQL, activities);
+    }
+
+    /**
+     * Participa da transação corrente, de modo que as atividades só existem se a operação de negócio confirmar.
+     */
+    @Transactional
+    public void insertOutbox(List<Activity> activities) {
+        insert(INSERT_OUTBOX_SQL, activities);
+    }
+
+    /**
+     * Move até {@code limit} linhas do outbox para {@code activities}.
+     *
+     * @return quantidade de atividades movidas
+     */
+    @Transactional
+    public int relayOutbox(int limit) {
+        return jdbcTemplate.update(RELAY_OUTBOX_SQL, limit);
+    }
+
+    private void insert(String sql, List<Activity> activities) {
+        if (activities.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(sql, activities, activities.size(), (ps, activity) -> {
+            ps.setString(1, activity.getActivityType());
+            ps.setString(2, activity.getDescription());
+            ps.setTimestamp(3, Timestamp.valueOf(activity.getTimestamp()));
+            ps.setString(4, activity.getUserName());
+            ps.setString(5, activity.getBookTitle());
+        });
+    }
+}
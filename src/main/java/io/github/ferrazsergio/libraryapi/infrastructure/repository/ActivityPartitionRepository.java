@@ -0,0 +1,148 @@
+package io.github.ferrazsergio.libraryapi.infrastructure.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * DDL e exportação das partições mensais de {@code activities} (V7).
+ * Os métodos devem ser chamados dentro de uma transação.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ActivityPartitionRepository {
+
+    /**
+     * Chave do advisory lock que garante uma única manutenção por vez entre os nós.
+     */
+    private static final long MAINTENANCE_LOCK_KEY = 0x4C49425241525902L;
+
+    private static final String PARTITION_PREFIX = "activities_p";
+    private static final Pattern PARTITION_NAME = Pattern.compile("activities_p\\d{6}");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final int EXPORT_FETCH_SIZE = 1_000;
+
+    private static final String ATTACHED_PARTITIONS_SQL = """
+            SELECT c.relname
+              FROM pg_inherits i
+              JOIN pg_class c ON c.oid = i.inhrelid
+              JOIN pg_class p ON p.oid = i.inhparent
+             WHERE p.relname = 'activities'
+               AND c.relname ~ '^activities_p[0-9]{6}$'
+             ORDER BY c.relname
+            """;
+
+    private static final String DETACHED_PARTITIONS_SQL = """
+            SELECT c.relname
+              FROM pg_class c
+             WHERE c.relkind = 'r'
+               AND c.relnamespace = current_schema()::regnamespace
+               AND c.relname ~ '^activities_p[0-9]{6}$'
+               AND NOT EXISTS (SELECT 1 FROM pg_inherits i WHERE i.inhrelid = c.oid)
+             ORDER BY c.relname
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(SUFFIX);
+    }
+
+    public static YearMonth partitionMonth(String partitionName) {
+        return YearMonth.parse(partitionName.substring(PARTITION_PREFIX.length()), SUFFIX);
+    }
+
+    public boolean tryLock() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, MAINTENANCE_LOCK_KEY));
+    }
+
+    public void createPartition(YearMonth month) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS %s PARTITION OF activities FOR VALUES FROM ('%s') TO ('%s')"
+                .formatted(partitionName(month), month.atDay(1), month.plusMonths(1).atDay(1)));
+    }
+
+    public List<String> findAttachedPartitions() {
+        return jdbcTemplate.queryForList(ATTACHED_PARTITIONS_SQL, String.class);
+    }
+
+    public List<String> findDetachedPartitions() {
+        return jdbcTemplate.queryForList(DETACHED_PARTITIONS_SQL, String.class);
+    }
+
+    public void detachPartition(String partition) {
+        jdbcTemplate.execute("ALTER TABLE activities DETACH PARTITION " + checked(partition));
+    }
+
+    public void dropPartition(String partition) {
+        jdbcTemplate.execute("DROP TABLE " + checked(partition));
+    }
+
+    /**
+     * Escreve a partição em CSV (com cabeçalho) lendo-a em blocos por cursor, sem carregá-la em memória.
+     *
+     * @return quantidade de linhas exportadas
+     */
+    public long exportCsv(String partition, Writer out) {
+        String sql = "SELECT id, activity_type, description, timestamp, user_name, book_title FROM "
+                + checked(partition) + " ORDER BY id";
+        AtomicLong rows = new AtomicLong();
+
+        write(out, "id,activity_type,description,timestamp,user_name,book_title\n");
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setFetchSize(EXPORT_FETCH_SIZE);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            write(out, csvLine(rs));
+            rows.incrementAndGet();
+        });
+        return rows.get();
+    }
+
+    private String csvLine(ResultSet rs) throws SQLException {
+        return rs.getLong("id") + ","
+                + csv(rs.getString("activity_type")) + ","
+                + csv(rs.getString("description")) + ","
+                + rs.getTimestamp("timestamp").toLocalDateTime() + ","
+                + csv(rs.getString("user_name")) + ","
+                + csv(rs.getString("book_title")) + "\n";
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private static void write(Writer out, String text) {
+        try {
+            out.write(text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Nomes de tabela não podem ser parâmetros de bind
+    private static String checked(String partition) {
+        if (!PARTITION_NAME.matcher(partition).matches()) {
+            throw new IllegalArgumentException("Invalid activities partition: " + partition);
+        }
+        return partition;
+    }
+}
@@ -1,9 +1,29 @@
 package io.github.ferrazsergio.libraryapi.infrastructure.repository;
 
 import io.github.ferrazsergio.libraryapi.domain.model.Activity;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.RecentActivityDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
 public interface ActivityRepository extends JpaRepository<Activity, Long> {
+
+    List<Activity> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // Exportação: lida por cursor (fetch size) dentro de uma transação somente leitura
+    @Query("SELECT new io.github.ferrazsergio.libraryapi.interfaces.dto.RecentActivityDTO(" +
+            "a.id, a.activityType, a.description, a.timestamp, a.userName, a.bookTitle) FROM Activity a ORDER BY a.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<RecentActivityDTO> streamForExport();
 }
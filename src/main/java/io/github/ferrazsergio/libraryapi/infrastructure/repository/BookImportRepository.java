@@ -0,0 +1,175 @@
+package io.github.ferrazsergio.libraryapi.infrastructure.repository;
+
+import io.github.ferrazsergio.libraryapi.interfaces.dto.BookDTO;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.BookImportJobDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Acesso JDBC da importação em massa: jobs, erros por registro e inserção dos livros em lote.
+ * Os métodos participam da transação do chamador (um bloco de registros por transação).
+ */
+@Repository
+@RequiredArgsConstructor
+public class BookImportRepository {
+
+    private static final String INSERT_BOOK_SQL = """
+            INSERT INTO books (id, isbn, title, description, publish_date, available_quantity,
+                               total_quantity, publisher, category_id, is_deleted)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, FALSE)
+            """;
+
+    private static final String INSERT_BOOK_AUTHOR_SQL = "INSERT INTO book_author (book_id, author_id) VALUES (?, ?)";
+
+    private static final String INSERT_ERROR_SQL =
+            "INSERT INTO book_import_errors (job_id, record, isbn, message) VALUES (?, ?, ?, ?)";
+
+    // INCREMENT BY de books_id_seq (V11)
+    private static final int BOOK_ID_BLOCK = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void createJob(UUID id, String format) {
+        jdbcTemplate.update("INSERT INTO book_import_jobs (id, status, format) VALUES (?, 'RUNNING', ?)", id, format);
+    }
+
+    public Optional<BookImportJobDTO> findJob(UUID id) {
+        return jdbcTemplate.query("SELECT * FROM book_import_jobs WHERE id = ?", this::mapJob, id)
+                .stream()
+                .findFirst();
+    }
+
+    public List<BookImportJobDTO.RowError> findErrors(UUID jobId, int limit) {
+        return jdbcTemplate.query(
+                "SELECT record, isbn, message FROM book_import_errors WHERE job_id = ? ORDER BY record LIMIT ?",
+                (rs, rowNum) -> new BookImportJobDTO.RowError(rs.getLong("record"), rs.getString("isbn"), rs.getString("message")),
+                jobId, limit);
+    }
+
+    /**
+     * Avança o checkpoint somente se ninguém mais o avançou desde {@code expectedProcessed};
+     * duas execuções do mesmo job não conseguem confirmar o mesmo bloco.
+     *
+     * @return false se o checkpoint já não era {@code expectedProcessed}
+     */
+    public boolean checkpoint(UUID jobId, long expectedProcessed, long processed, long imported, long rejected) {
+        return jdbcTemplate.update("""
+                UPDATE book_import_jobs
+                   SET records_processed = ?, imported = imported + ?, rejected = rejected + ?,
+                       status = 'RUNNING', message = NULL, updated_at = CURRENT_TIMESTAMP
+                 WHERE id = ? AND records_processed = ?
+                """, processed, imported, rejected, jobId, expectedProcessed) == 1;
+    }
+
+    public void finish(UUID jobId, String status, String message) {
+        jdbcTemplate.update(
+                "UPDATE book_import_jobs SET status = ?, message = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?",
+                status, message, jobId);
+    }
+
+    /**
+     * ISBNs já cadastrados (inclusive livros removidos, pois a coluna é única), em uma consulta.
+     */
+    public Set<String> findExistingIsbns(Collection<String> isbns) {
+        if (isbns.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT isbn FROM books WHERE isbn = ANY (?)", String.class, (Object) isbns.toArray(String[]::new)));
+    }
+
+    /**
+     * Reserva {@code count} ids da sequência de {@code books} em uma única ida ao banco,
+     * para que livros e vínculos com autores possam ser inseridos em lote. Cada nextval
+     * devolve o início de um bloco de {@link #BOOK_ID_BLOCK} ids (pooled-lo, como o Hibernate).
+     */
+    public List<Integer> nextBookIds(int count) {
+        if (count == 0) {
+            return List.of();
+        }
+        return jdbcTemplate.queryForList("""
+                SELECT block.lo + offsets.n
+                  FROM (SELECT nextval(pg_get_serial_sequence('books', 'id'))::int AS lo
+                          FROM generate_series(1, ?)) block
+                 CROSS JOIN generate_series(0, ? - 1) AS offsets(n)
+                 ORDER BY 1
+                 LIMIT ?
+                """, Integer.class, (count + BOOK_ID_BLOCK - 1) / BOOK_ID_BLOCK, BOOK_ID_BLOCK, count);
+    }
+
+    /**
+     * Insere os livros (com {@code id} já atribuído) e seus autores em lotes JDBC.
+     */
+    public void insertBooks(List<BookDTO> books) {
+        if (books.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_BOOK_SQL, books, books.size(), (ps, book) -> {
+            ps.setInt(1, book.getId());
+            ps.setString(2, book.getIsbn());
+            ps.setString(3, book.getTitle());
+            ps.setString(4, book.getDescription());
+            ps.setDate(5, book.getPublishDate() != null ? Date.valueOf(book.getPublishDate()) : null);
+            ps.setInt(6, book.getAvailableQuantity());
+            ps.setInt(7, book.getTotalQuantity());
+            ps.setString(8, book.getPublisher());
+            if (book.getCategoryId() != null) {
+                ps.setInt(9, book.getCategoryId());
+            } else {
+                ps.setNull(9, Types.INTEGER);
+            }
+        });
+
+        List<int[]> links = new ArrayList<>();
+        for (BookDTO book : books) {
+            if (book.getAuthorIds() != null) {
+                book.getAuthorIds().forEach(authorId -> links.add(new int[]{book.getId(), authorId}));
+            }
+        }
+        if (!links.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_BOOK_AUTHOR_SQL, links, links.size(), (ps, link) -> {
+                ps.setInt(1, link[0]);
+                ps.setInt(2, link[1]);
+            });
+        }
+    }
+
+    public void insertErrors(UUID jobId, List<BookImportJobDTO.RowError> errors) {
+        if (errors.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_ERROR_SQL, errors, errors.size(), (ps, error) -> {
+            ps.setObject(1, jobId);
+            ps.setLong(2, error.getRecord());
+            ps.setString(3, error.getIsbn());
+            ps.setString(4, error.getMessage());
+        });
+    }
+
+    private BookImportJobDTO mapJob(ResultSet rs, int rowNum) throws SQLException {
+        return BookImportJobDTO.builder()
+                .id(rs.getObject("id", UUID.class))
+                .status(rs.getString("status"))
+                .format(rs.getString("format"))
+                .recordsProcessed(rs.getLong("records_processed"))
+                .imported(rs.getLong("imported"))
+                .rejected(rs.getLong("rejected"))
+                .message(rs.getString("message"))
+                .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                .updatedAt(rs.getTimestamp("updated_at").toLocalDateTime())
+                .build();
+    }
+}
@@ -1,29 +1,42 @@
 package io.github.ferrazsergio.libraryapi.infrastructure.repository;
 
 import io.github.ferrazsergio.libraryapi.domain.model.Book;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.BookExportDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookRepository extends JpaRepository<Book, Integer> {
 
     Optional<Book> findByIsbn(String isbn);
 
+    // Listagens carregam a categoria no mesmo SELECT; os autores vêm em lote (@BatchSize em Book.authors)
+    @EntityGraph(attributePaths = "category")
     Page<Book> findByTitleContainingIgnoreCaseAndDeletedFalse(String title, Pageable pageable);
 
+    @EntityGraph(attributePaths = "category")
     @Query("SELECT b FROM Book b JOIN b.authors a WHERE a.id = :authorId AND b.deleted = false")
     Page<Book> findByAuthorId(@Param("authorId") Integer authorId, Pageable pageable);
 
+    @EntityGraph(attributePaths = "category")
     @Query("SELECT b FROM Book b JOIN b.category c WHERE c.id = :categoryId AND b.deleted = false")
     Page<Book> findByCategoryId(@Param("categoryId") Integer categoryId, Pageable pageable);
 
+    @EntityGraph(attributePaths = "category")
     @Query("SELECT b FROM Book b WHERE b.deleted = false")
     Page<Book> findAllNotDeleted(Pageable pageable);
 
@@ -35,6 +48,10 @@ public interface BookRepository extends JpaRepository<Book, Integer> {
     """)
     List<Book> findMostBorrowedBooks(Pageable pageable);
 
+    @Override
+    @EntityGraph(attributePaths = "category")
+    List<Book> findAllById(Iterable<Integer> ids);
+
     long countByDeletedFalse();
 
     @Query("SELECT SUM(b.totalQuantity) FROM Book b WHERE b.deleted = false")
@@ -43,8 +60,44 @@ public interface BookRepository extends JpaRepository<Book, Integer> {
     @Query("SELECT SUM(b.availableQuantity) FROM Book b WHERE b.deleted = false")
     long sumAvailableQuantity();
 
+    // Estoque de empréstimo: UPDATE condicional e atômico, sem ler-modificar-gravar a entidade.
+    // Retorna 0 quando não há exemplar disponível (ou quando já está no total, na devolução).
+    @Modifying
+    @Query("UPDATE Book b SET b.availableQuantity = b.availableQuantity - 1 " +
+            "WHERE b.id = :id AND b.availableQuantity > 0 AND b.deleted = false")
+    int decrementAvailableQuantity(@Param("id") Integer id);
+
+    @Modifying
+    @Query("UPDATE Book b SET b.availableQuantity = b.availableQuantity + 1 " +
+            "WHERE b.id = :id AND b.availableQuantity < b.totalQuantity")
+    int incrementAvailableQuantity(@Param("id") Integer id);
+
+    // Lê a coluna direto do banco (a entidade no contexto de persistência pode estar defasada)
+    @Query("SELECT b.availableQuantity FROM Book b WHERE b.id = :id")
+    int findAvailableQuantity(@Param("id") Integer id);
+
+    @EntityGraph(attributePaths = "category")
     Page<Book> findByDeletedFalseOrderByIdDesc(Pageable pageable);
 
+    @EntityGraph(attributePaths = "category")
+    List<Book> findByDeletedFalseAndIdGreaterThanOrderByIdAsc(Integer id, Pageable pageable);
+
+    // Paginação por keyset (id); Slice dispensa o COUNT
+    @EntityGraph(attributePaths = "category")
+    Slice<Book> findByDeletedFalseAndIdGreaterThan(Integer id, Pageable pageable);
+
     @Query("SELECT b.category, COUNT(l) as loanCount FROM Loan l JOIN l.book b WHERE b.deleted = false GROUP BY b.category ORDER BY loanCount DESC")
     List<Object[]> findMostBorrowedCategories(Pageable pageable);
-}
\ No newline at end of file
+
+    // Exportação: lida por cursor (fetch size) dentro de uma transação somente leitura
+    @Query("SELECT new io.github.ferrazsergio.libraryapi.interfaces.dto.BookExportDTO(" +
+            "b.id, b.isbn, b.title, b.publisher, b.publishDate, b.availableQuantity, b.totalQuantity, c.name, " +
+            "listagg(a.name, '; ') WITHIN GROUP (ORDER BY a.name)) " +
+            "FROM Book b LEFT JOIN b.category c LEFT JOIN b.authors a " +
+            "WHERE b.deleted = false GROUP BY b.id, c.name ORDER BY b.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<BookExportDTO> streamForExport();
+}
@@ -0,0 +1,126 @@
+package io.github.ferrazsergio.libraryapi.infrastructure.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Consultas de texto completo sobre as colunas {@code search_vector} (V15, configuração {@code catalog},
+ * sem acentos). Um livro é encontrado pelo título, editora ou descrição, ou pelo nome de um de seus
+ * autores; correspondências no autor valem um pouco menos que no próprio livro.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CatalogSearchRepository {
+
+    // Cada ramo ordena e corta nas primeiras (offset + limit) linhas antes da junção, então o
+    // agrupamento final só vê poucas linhas, mesmo quando um prefixo curto casa com boa parte
+    // do acervo. O ramo de autores agrupa por livro antes do corte: um livro com dois autores
+    // encontrados não pode ocupar duas vagas e empurrar outro para fora.
+    private static final String SEARCH_BOOKS_SQL = """
+            WITH q AS (SELECT to_tsquery('catalog', ?) AS query),
+            book_hits AS (
+                SELECT b.id, ts_rank_cd(b.search_vector, q.query) AS rank
+                  FROM books b, q
+                 WHERE b.search_vector @@ q.query AND b.is_deleted = FALSE%1$s
+                 ORDER BY rank DESC, b.id
+                 LIMIT ?
+            ),
+            author_hits AS (
+                SELECT ba.book_id AS id, MAX(ts_rank_cd(a.search_vector, q.query)) * 0.8 AS rank
+                  FROM authors a
+                  JOIN book_author ba ON ba.author_id = a.id
+                  JOIN books b ON b.id = ba.book_id, q
+                 WHERE a.search_vector @@ q.query AND b.is_deleted = FALSE%1$s
+                 GROUP BY ba.book_id
+                 ORDER BY rank DESC, ba.book_id
+                 LIMIT ?
+            )
+            SELECT id FROM (SELECT * FROM book_hits UNION ALL SELECT * FROM author_hits) hits
+             GROUP BY id
+             ORDER BY MAX(rank) DESC, id
+             LIMIT ? OFFSET ?
+            """;
+
+    private static final String COUNT_BOOKS_SQL = """
+            WITH q AS (SELECT to_tsquery('catalog', ?) AS query)
+            SELECT COUNT(*) FROM (
+                SELECT b.id
+                  FROM books b, q
+                 WHERE b.search_vector @@ q.query AND b.is_deleted = FALSE%1$s
+                UNION
+                SELECT ba.book_id
+                  FROM authors a
+                  JOIN book_author ba ON ba.author_id = a.id
+                  JOIN books b ON b.id = ba.book_id, q
+                 WHERE a.search_vector @@ q.query AND b.is_deleted = FALSE%1$s
+            ) hits
+            """;
+
+    private static final String CATEGORY_FILTER = " AND b.category_id = ?";
+    private static final String AUTHOR_FILTER =
+            " AND EXISTS (SELECT 1 FROM book_author fa WHERE fa.book_id = b.id AND fa.author_id = ?)";
+
+    private static final String SEARCH_AUTHORS_SQL = """
+            SELECT a.id
+              FROM authors a, to_tsquery('catalog', ?) query
+             WHERE a.search_vector @@ query
+             ORDER BY ts_rank_cd(a.search_vector, query) DESC, a.id
+             LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param categoryId filtro opcional por categoria
+     * @param authorId filtro opcional por autor
+     * @return ids dos livros em ordem de relevância
+     */
+    public List<Integer> searchBookIds(String tsQuery, Integer categoryId, Integer authorId, int limit, long offset) {
+        long branchLimit = offset + limit;
+        List<Object> args = new ArrayList<>();
+        args.add(tsQuery);
+        addFilterArgs(args, categoryId, authorId);
+        args.add(branchLimit);
+        addFilterArgs(args, categoryId, authorId);
+        args.add(branchLimit);
+        args.add(limit);
+        args.add(offset);
+        return jdbcTemplate.queryForList(SEARCH_BOOKS_SQL.formatted(filters(categoryId, authorId)),
+                Integer.class, args.toArray());
+    }
+
+    public long countBooks(String tsQuery, Integer categoryId, Integer authorId) {
+        List<Object> args = new ArrayList<>();
+        args.add(tsQuery);
+        addFilterArgs(args, categoryId, authorId);
+        addFilterArgs(args, categoryId, authorId);
+        Long count = jdbcTemplate.queryForObject(COUNT_BOOKS_SQL.formatted(filters(categoryId, authorId)),
+                Long.class, args.toArray());
+        return count != null ? count : 0;
+    }
+
+    /**
+     * @return ids dos autores em ordem de relevância
+     */
+    public List<Integer> searchAuthorIds(String tsQuery, int limit) {
+        return jdbcTemplate.queryForList(SEARCH_AUTHORS_SQL, Integer.class, tsQuery, limit);
+    }
+
+    private static String filters(Integer categoryId, Integer authorId) {
+        return (categoryId != null ? CATEGORY_FILTER : "") + (authorId != null ? AUTHOR_FILTER : "");
+    }
+
+    // Os filtros aparecem nos dois ramos, então seus parâmetros são repetidos por ramo
+    private static void addFilterArgs(List<Object> args, Integer categoryId, Integer authorId) {
+        if (categoryId != null) {
+            args.add(categoryId);
+        }
+        if (authorId != null) {
+            args.add(authorId);
+        }
+    }
+}
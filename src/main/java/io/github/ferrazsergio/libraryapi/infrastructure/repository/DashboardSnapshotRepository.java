@@ -0,0 +1,108 @@
+package io.github.ferrazsergio.libraryapi.infrastructure.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.CategoryStatisticsDTO;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.DashboardDataDTO;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.RecentActivityDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Acesso à view materializada {@code dashboard_summary} (V5).
+ */
+@Repository
+@RequiredArgsConstructor
+public class DashboardSnapshotRepository {
+
+    /**
+     * Chave do advisory lock que garante um único refresh por vez entre os nós.
+     */
+    private static final long REFRESH_LOCK_KEY = 0x4C49425241525901L;
+
+    private static final String LOAD_SQL = """
+            SELECT d.total_books, d.total_loans, d.active_loans, d.overdue_loans, d.total_users,
+                   d.top_categories, d.refreshed_at,
+                   (SELECT COALESCE(json_agg(json_build_object(
+                               'id', a.id,
+                               'activityType', a.activity_type,
+                               'description', a.description,
+                               'timestamp', a.timestamp,
+                               'userName', a.user_name,
+                               'bookTitle', a.book_title) ORDER BY a.timestamp DESC), '[]'::json)
+                      FROM (SELECT * FROM activities ORDER BY timestamp DESC LIMIT ?) a) AS recent_activities
+              FROM dashboard_summary d
+            """;
+
+    private static final TypeReference<List<CategoryStatisticsDTO>> CATEGORY_LIST = new TypeReference<>() {
+    };
+    private static final TypeReference<List<RecentActivityDTO>> ACTIVITY_LIST = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Recalcula a view, a menos que outro nó esteja fazendo o mesmo ou
+     * que ela tenha sido recalculada há menos de {@code minAge}.
+     *
+     * @return true se este nó executou o refresh
+     */
+    @Transactional
+    public boolean refresh(Duration minAge) {
+        Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, REFRESH_LOCK_KEY);
+        if (!Boolean.TRUE.equals(locked)) {
+            return false;
+        }
+
+        Boolean recent = jdbcTemplate.queryForObject(
+                "SELECT refreshed_at > NOW() - make_interval(secs => ?) FROM dashboard_summary",
+                Boolean.class, (double) minAge.toMillis() / 1000);
+        if (Boolean.TRUE.equals(recent)) {
+            return false;
+        }
+
+        jdbcTemplate.execute("REFRESH MATERIALIZED VIEW CONCURRENTLY dashboard_summary");
+        return true;
+    }
+
+    /**
+     * Lê os contadores, o ranking de categorias e as atividades recentes em uma única consulta.
+     */
+    @Transactional(readOnly = true)
+    public DashboardDataDTO load(int categoryLimit, int activityLimit) {
+        return jdbcTemplate.queryForObject(LOAD_SQL, (rs, rowNum) -> mapRow(rs, categoryLimit), activityLimit);
+    }
+
+    private DashboardDataDTO mapRow(ResultSet rs, int categoryLimit) throws SQLException {
+        List<CategoryStatisticsDTO> categories = readJson(rs.getString("top_categories"), CATEGORY_LIST);
+
+        return DashboardDataDTO.builder()
+                .totalBooks(rs.getLong("total_books"))
+                .totalLoans(rs.getLong("total_loans"))
+                .activeLoans(rs.getLong("active_loans"))
+                .overdueLoans(rs.getLong("overdue_loans"))
+                .totalUsers(rs.getLong("total_users"))
+                .mostBorrowedCategories(new ArrayList<>(categories.subList(0, Math.min(categoryLimit, categories.size()))))
+                .recentActivities(readJson(rs.getString("recent_activities"), ACTIVITY_LIST))
+                .generatedAt(rs.getTimestamp("refreshed_at").toLocalDateTime())
+                .build();
+    }
+
+    private <T> T readJson(String json, TypeReference<T> type) throws SQLException {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new SQLException("Invalid dashboard snapshot payload", e);
+        }
+    }
+}
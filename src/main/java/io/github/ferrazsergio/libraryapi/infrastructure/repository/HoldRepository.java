@@ -0,0 +1,81 @@
+package io.github.ferrazsergio.libraryapi.infrastructure.repository;
+
+import io.github.ferrazsergio.libraryapi.domain.model.Hold;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface HoldRepository extends JpaRepository<Hold, Integer> {
+
+    /**
+     * Chave do advisory lock que garante uma única varredura de reservas por vez entre os nós.
+     */
+    long SWEEP_LOCK_KEY = 0x4C49425241525903L;
+
+    // Primeiro da fila; SKIP LOCKED deixa devoluções simultâneas do mesmo livro pegarem os seguintes
+    @Query(value = "SELECT * FROM book_holds WHERE book_id = :bookId AND status = 'WAITING' " +
+            "ORDER BY created_at, id LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<Hold> lockNextWaiting(@Param("bookId") Integer bookId);
+
+    @EntityGraph(attributePaths = {"book", "user"})
+    @Query("SELECT h FROM Hold h WHERE h.id = :id")
+    Optional<Hold> findWithDetailsById(@Param("id") Integer id);
+
+    // Verificação de dono para @PreAuthorize: só a PK, sem carregar Hold nem User
+    @Query("SELECT COUNT(h) > 0 FROM Hold h WHERE h.id = :id AND h.user.id = :userId")
+    boolean isOwnedBy(@Param("id") Integer id, @Param("userId") Integer userId);
+
+    @Query("SELECT COUNT(h) > 0 FROM Hold h WHERE h.id = :id AND h.user.email = :email")
+    boolean isOwnedByEmail(@Param("id") Integer id, @Param("email") String email);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM Hold h WHERE h.id = :id")
+    Optional<Hold> lockById(@Param("id") Integer id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM Hold h WHERE h.book.id = :bookId AND h.user.id = :userId AND h.status = 'READY'")
+    Optional<Hold> lockReady(@Param("bookId") Integer bookId, @Param("userId") Integer userId);
+
+    @Query("SELECT COUNT(h) > 0 FROM Hold h WHERE h.book.id = :bookId AND h.user.id = :userId " +
+            "AND h.status IN ('WAITING', 'READY')")
+    boolean existsOpen(@Param("bookId") Integer bookId, @Param("userId") Integer userId);
+
+    @Query("SELECT COUNT(h) FROM Hold h WHERE h.book.id = :bookId AND h.status = 'WAITING' " +
+            "AND (h.createdAt < :createdAt OR (h.createdAt = :createdAt AND h.id < :id))")
+    long countWaitingAhead(@Param("bookId") Integer bookId,
+                           @Param("createdAt") LocalDateTime createdAt,
+                           @Param("id") Integer id);
+
+    @Query("SELECT h FROM Hold h JOIN FETCH h.book WHERE h.user.id = :userId ORDER BY h.createdAt DESC, h.id DESC")
+    List<Hold> findByUserId(@Param("userId") Integer userId);
+
+    @Query("SELECT h FROM Hold h JOIN FETCH h.user WHERE h.book.id = :bookId AND h.status IN ('WAITING', 'READY') " +
+            "ORDER BY h.createdAt, h.id")
+    List<Hold> findOpenByBookId(@Param("bookId") Integer bookId);
+
+    // Tamanho da fila por livro, para reconstruir HoldQueueIndex
+    @Query("SELECT h.book.id, COUNT(h) FROM Hold h WHERE h.status = 'WAITING' GROUP BY h.book.id")
+    List<Object[]> countWaitingByBook();
+
+    @Query(value = "SELECT * FROM book_holds WHERE status = 'READY' AND expires_at < :now " +
+            "ORDER BY expires_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Hold> lockExpiredReady(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // Livros com fila e exemplar em estoque (fila criada enquanto uma devolução era confirmada em outro nó)
+    @Query(value = "SELECT DISTINCT h.book_id FROM book_holds h JOIN books b ON b.id = h.book_id " +
+            "WHERE h.status = 'WAITING' AND b.available_quantity > 0 AND b.is_deleted = false LIMIT :limit",
+            nativeQuery = true)
+    List<Integer> findBooksWithStrandedCopies(@Param("limit") int limit);
+
+    @Query(value = "SELECT pg_try_advisory_xact_lock(" + SWEEP_LOCK_KEY + ")", nativeQuery = true)
+    boolean tryLockSweep();
+}
@@ -1,30 +1,97 @@
 package io.github.ferrazsergio.libraryapi.infrastructure.repository;
 
 import io.github.ferrazsergio.libraryapi.domain.model.Loan;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.LoanSummaryDTO;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface LoanRepository extends JpaRepository<Loan, Integer> {
 
+    String SUMMARY_SELECT = "SELECT new io.github.ferrazsergio.libraryapi.interfaces.dto.LoanSummaryDTO(" +
+            "l.id, u.id, u.name, b.id, b.title, l.loanDate, l.expectedReturnDate, l.returnDate, l.status, f.amount) " +
+            "FROM Loan l JOIN l.user u JOIN l.book b LEFT JOIN l.fine f ";
+
+    // Empréstimo com tudo que LoanDTO lê (usuário, livro, categoria, autores, multa) numa consulta
+    @EntityGraph(attributePaths = {"user", "book", "book.category", "book.authors", "fine"})
+    @Query("SELECT l FROM Loan l WHERE l.id = :id")
+    Optional<Loan> findWithDetailsById(@Param("id") Integer id);
+
+    // Devoluções simultâneas do mesmo empréstimo esperam aqui; a segunda já o vê fechado
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM Loan l WHERE l.id = :id")
+    Optional<Loan> lockById(@Param("id") Integer id);
+
+    // Verificação de dono para @PreAuthorize: só a PK, sem carregar Loan nem User
+    @Query("SELECT COUNT(l) > 0 FROM Loan l WHERE l.id = :id AND l.user.id = :userId")
+    boolean isOwnedBy(@Param("id") Integer id, @Param("userId") Integer userId);
+
+    @Query("SELECT COUNT(l) > 0 FROM Loan l WHERE l.id = :id AND l.user.email = :email")
+    boolean isOwnedByEmail(@Param("id") Integer id, @Param("email") String email);
+
     @Query("SELECT l FROM Loan l WHERE l.user.id = :userId")
     Page<Loan> findByUserId(@Param("userId") Integer userId, Pageable pageable);
 
+    // Listagens resumidas: uma única consulta por página, sem carregar as entidades associadas
+    @Query(value = SUMMARY_SELECT,
+            countQuery = "SELECT COUNT(l) FROM Loan l")
+    Page<LoanSummaryDTO> findAllSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE u.id = :userId",
+            countQuery = "SELECT COUNT(l) FROM Loan l WHERE l.user.id = :userId")
+    Page<LoanSummaryDTO> findSummariesByUserId(@Param("userId") Integer userId, Pageable pageable);
+
+    // OVERDUE é marcado pela varredura; ACTIVE vencido cobre o intervalo até a próxima execução
+    @Query(SUMMARY_SELECT + "WHERE l.status IN ('ACTIVE', 'OVERDUE') AND l.expectedReturnDate < CURRENT_DATE")
+    List<LoanSummaryDTO> findOverdueSummaries();
+
+    // Histórico por keyset em (loanDate, id) decrescente, servido por idx_loans_loan_date_id (V9)
+    @Query(SUMMARY_SELECT + "ORDER BY l.loanDate DESC, l.id DESC")
+    Slice<LoanSummaryDTO> findSummariesFirst(Pageable pageable);
+
+    // "loanDate <= :loanDate" limita a faixa do índice; o OR desempata pelo id dentro do mesmo dia
+    @Query(SUMMARY_SELECT + "WHERE l.loanDate <= :loanDate AND (l.loanDate < :loanDate OR l.id < :id) " +
+            "ORDER BY l.loanDate DESC, l.id DESC")
+    Slice<LoanSummaryDTO> findSummariesBefore(@Param("loanDate") LocalDate loanDate,
+                                              @Param("id") Integer id,
+                                              Pageable pageable);
+
+    // Exportação: lida por cursor (fetch size) dentro de uma transação somente leitura
+    @Query(SUMMARY_SELECT + "ORDER BY l.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<LoanSummaryDTO> streamSummaries();
+
     @Query("SELECT l FROM Loan l WHERE l.book.id = :bookId")
     Page<Loan> findByBookId(@Param("bookId") Integer bookId, Pageable pageable);
 
-    @Query("SELECT l FROM Loan l WHERE l.status = 'ACTIVE' AND l.expectedReturnDate < CURRENT_DATE")
+    @Query("SELECT l FROM Loan l WHERE l.status IN ('ACTIVE', 'OVERDUE') AND l.expectedReturnDate < CURRENT_DATE")
     List<Loan> findAllOverdueLoans();
 
-    @Query("SELECT COUNT(l) FROM Loan l WHERE l.status = 'ACTIVE' AND l.book.id = :bookId")
+    @Query("SELECT COUNT(l) FROM Loan l WHERE l.status IN ('ACTIVE', 'OVERDUE') AND l.book.id = :bookId")
     long countActiveLoansForBook(@Param("bookId") Integer bookId);
 
+    @Query("SELECT COUNT(l) FROM Loan l WHERE l.book.id = :bookId")
+    long countByBookId(@Param("bookId") Integer bookId);
+
     @Query("SELECT COUNT(l) FROM Loan l WHERE l.status = 'OVERDUE'")
     long countOverdueLoans();
 
@@ -0,0 +1,125 @@
+package io.github.ferrazsergio.libraryapi.infrastructure.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Atualizações em lote da varredura de atrasos. Cada método altera um bloco de empréstimos
+ * com um único comando e deve ser chamado dentro de uma transação.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OverdueLoanRepository {
+
+    /**
+     * Chave do advisory lock que garante uma única varredura por vez entre os nós.
+     */
+    private static final long SWEEP_LOCK_KEY = 0x4C49425241525904L;
+
+    // INCREMENT BY de fines_id_seq (V11)
+    private static final int FINE_ID_BLOCK = 50;
+
+    // Lido por idx_loans_active_due (V13). O NOT EXISTS evita violar unique_active_loan
+    // (user_id, book_id, status) quando o usuário já tem outro empréstimo atrasado do mesmo livro
+    private static final String MARK_OVERDUE_SQL = """
+            WITH due AS (
+                SELECT l.id
+                  FROM loans l
+                 WHERE l.status = 'ACTIVE' AND l.expected_return_date < ?
+                   AND NOT EXISTS (SELECT 1 FROM loans o
+                                    WHERE o.user_id = l.user_id AND o.book_id = l.book_id AND o.status = 'OVERDUE')
+                 ORDER BY l.expected_return_date, l.id
+                 LIMIT ?
+                   FOR UPDATE SKIP LOCKED
+            )
+            UPDATE loans
+               SET status = 'OVERDUE', last_updated = CURRENT_TIMESTAMP
+              FROM due
+             WHERE loans.id = due.id
+            """;
+
+    private static final String LOANS_TO_ACCRUE_SQL = """
+            SELECT l.id
+              FROM loans l
+              LEFT JOIN fines f ON f.loan_id = l.id
+             WHERE l.status = 'OVERDUE' AND l.id > ?
+               AND (f.id IS NULL OR (f.paid = FALSE AND (f.accrued_on IS NULL OR f.accrued_on < ?)))
+             ORDER BY l.id
+             LIMIT ?
+               FOR UPDATE OF l SKIP LOCKED
+            """;
+
+    private static final String UPDATE_FINES_SQL = """
+            UPDATE fines f
+               SET amount = (?::date - l.expected_return_date) * ?,
+                   description = 'Overdue fine: ' || (?::date - l.expected_return_date) || ' days overdue',
+                   accrued_on = ?
+              FROM loans l
+             WHERE f.loan_id = l.id AND l.id = ANY (?) AND f.paid = FALSE
+            """;
+
+    // Ids em blocos de FINE_ID_BLOCK por nextval (pooled-lo, como o Hibernate), um bloco a cada 50 multas
+    private static final String INSERT_FINES_SQL = """
+            WITH pending AS (
+                SELECT l.id, l.expected_return_date, row_number() OVER (ORDER BY l.id) - 1 AS n
+                  FROM loans l
+                 WHERE l.id = ANY (?) AND NOT EXISTS (SELECT 1 FROM fines f WHERE f.loan_id = l.id)
+            ), blocks AS (
+                SELECT b, nextval(pg_get_serial_sequence('fines', 'id'))::int AS lo
+                  FROM generate_series(0, (SELECT (COUNT(*) + ? - 1) / ? - 1 FROM pending)::int) AS b
+            )
+            INSERT INTO fines (id, loan_id, amount, paid, description, accrued_on)
+            SELECT blocks.lo + (pending.n % ?)::int, pending.id,
+                   (?::date - pending.expected_return_date) * ?, FALSE,
+                   'Overdue fine: ' || (?::date - pending.expected_return_date) || ' days overdue', ?
+              FROM pending
+              JOIN blocks ON blocks.b = pending.n / ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public boolean tryLock() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, SWEEP_LOCK_KEY));
+    }
+
+    /**
+     * Passa para OVERDUE até {@code limit} empréstimos ativos vencidos antes de {@code today}.
+     *
+     * @return quantidade de empréstimos alterados
+     */
+    public int markOverdue(LocalDate today, int limit) {
+        return jdbcTemplate.update(MARK_OVERDUE_SQL, Date.valueOf(today), limit);
+    }
+
+    /**
+     * Empréstimos em atraso, com id maior que {@code afterId}, cuja multa ainda não foi
+     * calculada em {@code today}. As linhas ficam bloqueadas até o fim da transação.
+     */
+    public List<Integer> findLoansToAccrue(LocalDate today, int afterId, int limit) {
+        return jdbcTemplate.queryForList(LOANS_TO_ACCRUE_SQL, Integer.class, afterId, Date.valueOf(today), limit);
+    }
+
+    /**
+     * Recalcula as multas em aberto dos empréstimos e cria as que faltam, em dois comandos.
+     *
+     * @return quantidade de multas criadas ou atualizadas
+     */
+    public int accrueFines(List<Integer> loanIds, LocalDate today, BigDecimal dailyFine) {
+        if (loanIds.isEmpty()) {
+            return 0;
+        }
+        Date day = Date.valueOf(today);
+        Integer[] ids = loanIds.toArray(Integer[]::new);
+        int updated = jdbcTemplate.update(UPDATE_FINES_SQL, day, dailyFine, day, day, ids);
+        int inserted = jdbcTemplate.update(INSERT_FINES_SQL, ids, FINE_ID_BLOCK, FINE_ID_BLOCK, FINE_ID_BLOCK,
+                day, dailyFine, day, day, FINE_ID_BLOCK);
+        return updated + inserted;
+    }
+}
@@ -0,0 +1,28 @@
+package io.github.ferrazsergio.libraryapi.infrastructure.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Leitura das estatísticas do planner, usada no lugar de {@code COUNT(*)} em listagens grandes.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TableStatisticsRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Número aproximado de linhas da tabela segundo o último ANALYZE/autovacuum ({@code pg_class.reltuples}).
+     * Custo constante, independente do tamanho da tabela; retorna 0 se ela ainda não foi analisada.
+     */
+    public long estimateRows(String table) {
+        List<Long> rows = jdbcTemplate.queryForList(
+                "SELECT GREATEST(reltuples, 0)::bigint FROM pg_class WHERE oid = to_regclass(?)",
+                Long.class, table);
+        return rows.isEmpty() || rows.get(0) == null ? 0 : rows.get(0);
+    }
+}
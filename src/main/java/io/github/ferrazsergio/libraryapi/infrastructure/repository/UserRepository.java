@@ -2,26 +2,40 @@ package io.github.ferrazsergio.libraryapi.infrastructure.repository;
 
 
 import io.github.ferrazsergio.libraryapi.domain.model.User;
+import io.github.ferrazsergio.libraryapi.security.AuthenticatedUser;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Integer> {
 
     Optional<User> findByEmail(String email);
 
+    // Só o necessário para o principal do token; não carrega a entidade
+    @Query("""
+        SELECT new io.github.ferrazsergio.libraryapi.security.AuthenticatedUser(u.id, u.email, u.role, u.status)
+        FROM User u
+        WHERE u.id = :id AND u.deleted = false
+    """)
+    Optional<AuthenticatedUser> findPrincipalById(@Param("id") Integer id);
+
     @Query("""
         SELECT u FROM User u
         JOIN Loan l ON l.user.id = u.id
-        WHERE l.status = 'ACTIVE' AND l.expectedReturnDate < CURRENT_DATE
+        WHERE l.status IN ('ACTIVE', 'OVERDUE') AND l.expectedReturnDate < CURRENT_DATE
         GROUP BY u.id
     """)
     List<User> findUsersWithOverdueLoans();
@@ -29,6 +43,17 @@ public interface UserRepository extends JpaRepository<User, Integer> {
 
     Page<User> findByDeletedFalse(Pageable pageable);
 
+    // Paginação por keyset (id); Slice dispensa o COUNT
+    Slice<User> findByDeletedFalseAndIdGreaterThan(Integer id, Pageable pageable);
+
+    // Exportação: lida por cursor (fetch size); quem consome deve desanexar cada entidade
+    @Query("SELECT u FROM User u WHERE u.deleted = false ORDER BY u.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<User> streamAllNotDeleted();
+
     long countByDeletedFalse();
 
     long countByCreatedAtAfterAndDeletedFalse(LocalDateTime date);
@@ -0,0 +1,321 @@
+package io.github.ferrazsergio.libraryapi.infrastructure.search;
+
+import io.github.ferrazsergio.libraryapi.domain.model.Author;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.AuthorRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.BookRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.transaction.AfterCommit;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.AuthorDTO;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.BookDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Índice de busca do catálogo mantido em memória ({@code library.search.engine=memory}).
+ * <p>
+ * Construído na inicialização a partir do banco e atualizado após o commit de cada escrita em
+ * livros e autores; a partir daí as buscas não acessam o banco. Indexa os mesmos campos da busca no
+ * banco e, como a configuração {@code catalog} (V15), normaliza os termos sem acentos
+ * ("Ficção Científica" → "ficcao", "cientifica"); cada palavra da busca casa por prefixo.
+ * Os filtros de categoria e autor são listas do próprio índice, com prefixo reservado.
+ * <p>
+ * Nomes de autores copiados nos livros só são atualizados quando o livro é gravado novamente
+ * ou na reconstrução periódica.
+ */
+@Component
+public class CatalogIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogIndex.class);
+
+    // O caractere nulo nunca aparece em um termo normalizado
+    private static final String CATEGORY_FILTER = "\u0000category:";
+    private static final String AUTHOR_FILTER = "\u0000author:";
+
+    private static final int MAX_TERMS = 8;
+    // Prefixos mais abertos que isso ("a", "th") ficam com o banco; ver canAnswer
+    private static final int MAX_PREFIX_EXPANSIONS = 256;
+    private static final int BUILD_PAGE_SIZE = 1_000;
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+
+    private final Object writeLock = new Object();
+    private volatile Indexes current = new Indexes();
+    private volatile boolean ready;
+
+    // Escritas confirmadas durante uma reconstrução, reaplicadas no novo índice antes da troca
+    private List<Consumer<Indexes>> pendingDuringRebuild;
+
+    private record Indexes(InvertedIndex<BookDTO> books, InvertedIndex<AuthorDTO> authors) {
+        private Indexes() {
+            this(new InvertedIndex<>(), new InvertedIndex<>());
+        }
+    }
+
+    @Autowired
+    public CatalogIndex(BookRepository bookRepository,
+                        AuthorRepository authorRepository,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${library.search.engine:database}") String engine) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = "memory".equalsIgnoreCase(engine);
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Quebra o texto em termos sem acento e em minúsculas.
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}+", "")
+                .toLowerCase(Locale.ROOT);
+        return Arrays.stream(folded.split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * Se o índice responde {@code text} por inteiro. Um prefixo curto abre milhares de termos;
+     * acima de {@code MAX_PREFIX_EXPANSIONS} a união sairia cara e a busca deve ir ao banco, em vez
+     * de devolver só parte dos resultados com um total errado.
+     */
+    public boolean canAnswer(String text) {
+        Indexes indexes = current;
+        return queryTokens(text).stream().noneMatch(token ->
+                indexes.books().expandsBeyond(token, MAX_PREFIX_EXPANSIONS)
+                        || indexes.authors().expandsBeyond(token, MAX_PREFIX_EXPANSIONS));
+    }
+
+    /**
+     * Busca livros cujos termos começam com cada palavra de {@code text}, ordenados pela
+     * quantidade de palavras encontradas no título.
+     */
+    public Page<BookDTO> searchBooks(String text, Integer categoryId, Integer authorId, Pageable pageable) {
+        List<String> tokens = queryTokens(text);
+        if (tokens.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        InvertedIndex<BookDTO> books = current.books();
+        int[] ids = match(books, tokens);
+        if (categoryId != null) {
+            ids = InvertedIndex.intersect(ids, books.exact(CATEGORY_FILTER + categoryId));
+        }
+        if (authorId != null) {
+            ids = InvertedIndex.intersect(ids, books.exact(AUTHOR_FILTER + authorId));
+        }
+
+        List<BookDTO> page = rank(books, ids, tokens).stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .map(books::get)
+                .filter(document -> document != null)
+                .map(InvertedIndex.Document::value)
+                .toList();
+        return new PageImpl<>(page, pageable, ids.length);
+    }
+
+    public List<AuthorDTO> searchAuthors(String text, int limit) {
+        List<String> tokens = queryTokens(text);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        InvertedIndex<AuthorDTO> authors = current.authors();
+        return rank(authors, match(authors, tokens), tokens).stream()
+                .limit(limit)
+                .map(authors::get)
+                .filter(document -> document != null)
+                .map(InvertedIndex.Document::value)
+                .toList();
+    }
+
+    public void index(BookDTO book) {
+        if (book.getId() != null) {
+            apply(indexes -> putBook(indexes, book));
+        }
+    }
+
+    /**
+     * Empréstimos e devoluções só mudam a disponibilidade; os termos do livro são mantidos.
+     */
+    public void updateAvailability(Integer bookId, int availableQuantity) {
+        apply(indexes -> {
+            InvertedIndex.Document<BookDTO> document = indexes.books().get(bookId);
+            if (document != null) {
+                BookDTO updated = document.value().toBuilder().availableQuantity(availableQuantity).build();
+                indexes.books().put(bookId, updated, document.terms(), document.primaryTerms());
+            }
+        });
+    }
+
+    public void removeBook(Integer bookId) {
+        apply(indexes -> indexes.books().remove(bookId));
+    }
+
+    public void index(AuthorDTO author) {
+        if (author.getId() != null) {
+            apply(indexes -> putAuthor(indexes, author));
+        }
+    }
+
+    public void removeAuthor(Integer authorId) {
+        apply(indexes -> indexes.authors().remove(authorId));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${library.search.memory.rebuild-interval:PT1H}",
+            fixedDelayString = "${library.search.memory.rebuild-interval:PT1H}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (writeLock) {
+            if (pendingDuringRebuild != null) {
+                return;
+            }
+            pendingDuringRebuild = new ArrayList<>();
+        }
+
+        try {
+            long start = System.nanoTime();
+            Indexes fresh = build();
+            synchronized (writeLock) {
+                pendingDuringRebuild.forEach(operation -> operation.accept(fresh));
+                current = fresh;
+                ready = true;
+            }
+            log.info("Índice do catálogo construído: {} livros, {} autores em {} ms",
+                    fresh.books().size(), fresh.authors().size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Falha ao construir o índice do catálogo: {}", e.getMessage());
+        } finally {
+            synchronized (writeLock) {
+                pendingDuringRebuild = null;
+            }
+        }
+    }
+
+    private Indexes build() {
+        Indexes fresh = new Indexes();
+
+        int lastId = 0;
+        List<BookDTO> page;
+        do {
+            int after = lastId;
+            page = readOnlyTransaction.execute(status -> bookRepository
+                    .findByDeletedFalseAndIdGreaterThanOrderByIdAsc(after, PageRequest.of(0, BUILD_PAGE_SIZE))
+                    .stream()
+                    .map(BookDTO::fromEntity)
+                    .toList());
+            page.forEach(book -> putBook(fresh, book));
+            lastId = page.isEmpty() ? lastId : page.get(page.size() - 1).getId();
+        } while (page.size() == BUILD_PAGE_SIZE);
+
+        Page<Author> authors;
+        int pageNumber = 0;
+        do {
+            authors = authorRepository.findAll(PageRequest.of(pageNumber++, BUILD_PAGE_SIZE, Sort.by("id")));
+            authors.forEach(author -> putAuthor(fresh, AuthorDTO.fromEntity(author)));
+        } while (authors.hasNext());
+
+        return fresh;
+    }
+
+    private void apply(Consumer<Indexes> operation) {
+        if (!enabled) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            synchronized (writeLock) {
+                operation.accept(current);
+                if (pendingDuringRebuild != null) {
+                    pendingDuringRebuild.add(operation);
+                }
+            }
+        });
+    }
+
+    private static void putBook(Indexes indexes, BookDTO book) {
+        Set<String> primary = new HashSet<>(tokenize(book.getTitle()));
+        Set<String> terms = new HashSet<>(primary);
+        // Mesmos campos do search_vector do banco (V15): título, editora, descrição e autores
+        terms.addAll(tokenize(book.getPublisher()));
+        terms.addAll(tokenize(book.getDescription()));
+        if (book.getCategoryId() != null) {
+            terms.add(CATEGORY_FILTER + book.getCategoryId());
+        }
+        if (book.getAuthors() != null) {
+            book.getAuthors().forEach(author -> {
+                terms.addAll(tokenize(author.getName()));
+                terms.add(AUTHOR_FILTER + author.getId());
+            });
+        }
+        indexes.books().put(book.getId(), book, terms, primary);
+    }
+
+    private static void putAuthor(Indexes indexes, AuthorDTO author) {
+        Set<String> terms = new HashSet<>(tokenize(author.getName()));
+        indexes.authors().put(author.getId(), author, terms, terms);
+    }
+
+    private static List<String> queryTokens(String text) {
+        return tokenize(text).stream().limit(MAX_TERMS).toList();
+    }
+
+    private static int[] match(InvertedIndex<?> index, List<String> tokens) {
+        int[] ids = null;
+        for (String token : tokens) {
+            int[] matches = index.prefix(token);
+            ids = ids == null ? matches : InvertedIndex.intersect(ids, matches);
+            if (ids.length == 0) {
+                break;
+            }
+        }
+        return ids;
+    }
+
+    private static List<Integer> rank(InvertedIndex<?> index, int[] ids, List<String> tokens) {
+        int[] scores = IntStream.of(ids).map(id -> index.primaryMatches(id, tokens)).toArray();
+        return IntStream.range(0, ids.length)
+                .boxed()
+                .sorted(Comparator.<Integer>comparingInt(i -> -scores[i]).thenComparingInt(i -> ids[i]))
+                .map(i -> ids[i])
+                .toList();
+    }
+}
@@ -0,0 +1,183 @@
+package io.github.ferrazsergio.libraryapi.infrastructure.search;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Índice invertido termo → lista ordenada de ids ({@code int[]}).
+ * <p>
+ * As listas nunca são alteradas depois de publicadas: cada escrita cria uma nova cópia, de modo
+ * que as leituras não usam lock. As escritas são serializadas; durante a atualização de um documento
+ * uma consulta concorrente pode vê-lo com parte dos termos antigos e parte dos novos.
+ */
+final class InvertedIndex<T> {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final ConcurrentSkipListMap<String, int[]> postings = new ConcurrentSkipListMap<>();
+    private final Map<Integer, Document<T>> documents = new ConcurrentHashMap<>();
+
+    /**
+     * @param terms todos os termos pesquisáveis do documento
+     * @param primaryTerms termos que valem mais na ordenação (ex.: título)
+     */
+    record Document<T>(T value, Set<String> terms, Set<String> primaryTerms) {
+    }
+
+    synchronized void put(int id, T value, Set<String> terms, Set<String> primaryTerms) {
+        Document<T> previous = documents.put(id, new Document<>(value, Set.copyOf(terms), Set.copyOf(primaryTerms)));
+        if (previous != null) {
+            previous.terms().stream()
+                    .filter(term -> !terms.contains(term))
+                    .forEach(term -> removePosting(term, id));
+        }
+        terms.forEach(term -> addPosting(term, id));
+    }
+
+    synchronized void remove(int id) {
+        Document<T> previous = documents.remove(id);
+        if (previous != null) {
+            previous.terms().forEach(term -> removePosting(term, id));
+        }
+    }
+
+    Document<T> get(int id) {
+        return documents.get(id);
+    }
+
+    int size() {
+        return documents.size();
+    }
+
+    int[] exact(String term) {
+        return postings.getOrDefault(term, EMPTY);
+    }
+
+    /**
+     * União das listas de todos os termos que começam com {@code prefix}.
+     */
+    int[] prefix(String prefix) {
+        int[] result = EMPTY;
+        for (int[] ids : termsStartingWith(prefix).values()) {
+            result = union(result, ids);
+        }
+        return result;
+    }
+
+    /**
+     * Se mais de {@code maxExpansions} termos começam com {@code prefix}; para sem percorrer o resto.
+     */
+    boolean expandsBeyond(String prefix, int maxExpansions) {
+        Iterator<String> terms = termsStartingWith(prefix).keySet().iterator();
+        for (int i = 0; i <= maxExpansions; i++) {
+            if (!terms.hasNext()) {
+                return false;
+            }
+            terms.next();
+        }
+        return true;
+    }
+
+    private NavigableMap<String, int[]> termsStartingWith(String prefix) {
+        return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    /**
+     * Quantidade de tokens que casam (por prefixo) com os termos principais do documento.
+     */
+    int primaryMatches(int id, List<String> tokens) {
+        Document<T> document = documents.get(id);
+        if (document == null) {
+            return 0;
+        }
+        return (int) tokens.stream()
+                .filter(token -> document.primaryTerms().stream().anyMatch(term -> term.startsWith(token)))
+                .count();
+    }
+
+    private void addPosting(String term, int id) {
+        postings.compute(term, (key, ids) -> {
+            if (ids == null) {
+                return new int[]{id};
+            }
+            int position = Arrays.binarySearch(ids, id);
+            if (position >= 0) {
+                return ids;
+            }
+            int insertAt = -position - 1;
+            int[] updated = new int[ids.length + 1];
+            System.arraycopy(ids, 0, updated, 0, insertAt);
+            updated[insertAt] = id;
+            System.arraycopy(ids, insertAt, updated, insertAt + 1, ids.length - insertAt);
+            return updated;
+        });
+    }
+
+    private void removePosting(String term, int id) {
+        postings.computeIfPresent(term, (key, ids) -> {
+            int position = Arrays.binarySearch(ids, id);
+            if (position < 0) {
+                return ids;
+            }
+            if (ids.length == 1) {
+                return null;
+            }
+            int[] updated = new int[ids.length - 1];
+            System.arraycopy(ids, 0, updated, 0, position);
+            System.arraycopy(ids, position + 1, updated, position, ids.length - position - 1);
+            return updated;
+        });
+    }
+
+    static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+
+    static int[] union(int[] a, int[] b) {
+        if (a.length == 0) {
+            return b;
+        }
+        if (b.length == 0) {
+            return a;
+        }
+        int[] result = new int[a.length + b.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                result[n++] = a[i++];
+            } else if (a[i] > b[j]) {
+                result[n++] = b[j++];
+            } else {
+                result[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        while (i < a.length) {
+            result[n++] = a[i++];
+        }
+        while (j < b.length) {
+            result[n++] = b[j++];
+        }
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+}
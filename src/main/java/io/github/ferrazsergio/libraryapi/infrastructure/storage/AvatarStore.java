@@ -0,0 +1,144 @@
+package io.github.ferrazsergio.libraryapi.infrastructure.storage;
+
+import io.github.ferrazsergio.libraryapi.application.exception.InvalidRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Avatares endereçados pelo conteúdo: o arquivo se chama {@code <sha256>.<ext>}.
+ * <p>
+ * O mesmo arquivo enviado por vários usuários é gravado uma vez, e como o nome muda junto com o
+ * conteúdo a URL pode ser cacheada como imutável. O hash do nome é o ETag, então servir um avatar
+ * não lê o arquivo para validar cache. Arquivos antigos ({@code user_<id>_<timestamp>.<ext>})
+ * continuam sendo servidos com ETag fraco de tamanho e data.
+ */
+@Component
+public class AvatarStore {
+
+    public static final String URL_PREFIX = "/api/v1/users/files/avatars/";
+
+    private static final Pattern CONTENT_ADDRESSED = Pattern.compile("[0-9a-f]{64}\\.(png|jpg|gif|webp)");
+    private static final Pattern SAFE_NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9_.-]{0,127}");
+
+    private final Path root;
+
+    public AvatarStore(@Value("${library.avatars.dir:${user.dir}/uploads/avatars}") Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Grava o avatar e devolve o nome do arquivo. Só aceita PNG, JPEG, GIF e WebP, identificados
+     * pelo conteúdo e não pela extensão enviada.
+     */
+    public String store(MultipartFile file) {
+        try {
+            Files.createDirectories(root);
+            Path temp = Files.createTempFile(root, "upload-", ".tmp");
+            try {
+                MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+                try (InputStream in = new DigestInputStream(file.getInputStream(), sha256)) {
+                    Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+                }
+
+                String filename = HexFormat.of().formatHex(sha256.digest()) + "." + imageExtension(temp);
+                Path target = root.resolve(filename);
+                if (Files.exists(target)) {
+                    return filename;
+                }
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                return filename;
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao salvar avatar: " + e.getMessage(), e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public Optional<StoredFile> find(String filename) {
+        if (!SAFE_NAME.matcher(filename).matches()) {
+            return Optional.empty();
+        }
+        Path path = root.resolve(filename).normalize();
+        if (!path.getParent().equals(root)) {
+            return Optional.empty();
+        }
+
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+        if (!attributes.isRegularFile()) {
+            return Optional.empty();
+        }
+
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        String contentType = MediaTypeFactory.getMediaType(filename).orElse(MediaType.IMAGE_PNG).toString();
+
+        if (CONTENT_ADDRESSED.matcher(filename).matches()) {
+            String hash = filename.substring(0, filename.indexOf('.'));
+            return Optional.of(new StoredFile(path, contentType, size, lastModified, "\"" + hash + "\"", true));
+        }
+        String weakEtag = "W/\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+        return Optional.of(new StoredFile(path, contentType, size, lastModified, weakEtag, false));
+    }
+
+    private static String imageExtension(Path file) throws IOException {
+        byte[] header = new byte[12];
+        int read;
+        try (InputStream in = Files.newInputStream(file)) {
+            read = in.readNBytes(header, 0, header.length);
+        }
+        header = Arrays.copyOf(header, read);
+
+        if (startsWith(header, 0x89, 'P', 'N', 'G')) {
+            return "png";
+        }
+        if (startsWith(header, 0xFF, 0xD8, 0xFF)) {
+            return "jpg";
+        }
+        if (startsWith(header, 'G', 'I', 'F', '8')) {
+            return "gif";
+        }
+        if (startsWith(header, 'R', 'I', 'F', 'F') && header.length >= 12
+                && header[8] == 'W' && header[9] == 'E' && header[10] == 'B' && header[11] == 'P') {
+            return "webp";
+        }
+        throw new InvalidRequestException("Avatar must be a PNG, JPEG, GIF or WebP image");
+    }
+
+    private static boolean startsWith(byte[] data, int... prefix) {
+        if (data.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if ((data[i] & 0xFF) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,130 @@
+package io.github.ferrazsergio.libraryapi.infrastructure.storage;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Envia um {@link StoredFile} com validação de cache (ETag/Last-Modified → 304) e um único
+ * intervalo ({@code Range} → 206).
+ * <p>
+ * No Tomcat o corpo vai por sendfile: o conector copia do arquivo para o socket depois que o
+ * handler retorna, sem passar pelo heap. Fora dele (ou com sendfile desligado) usa
+ * {@link FileChannel#transferTo}.
+ */
+@Component
+public class FileSender {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+    private static final CacheControl REVALIDATE = CacheControl.maxAge(Duration.ofDays(1)).cachePublic();
+
+    public void send(StoredFile file, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+                (file.immutable() ? IMMUTABLE : REVALIDATE).getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        // Define ETag/Last-Modified e responde 304 quando o cliente já tem esta versão
+        if (new ServletWebRequest(request, response).checkNotModified(file.etag(), file.lastModified())) {
+            return;
+        }
+
+        long length = file.size();
+        long start = 0;
+        long end = length - 1;
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && length > 0 && rangeApplies(file, request)) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+
+            // Vários intervalos (multipart/byteranges) não compensam para avatares: vai o arquivo inteiro
+            if (ranges.size() == 1) {
+                try {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                } catch (IllegalArgumentException e) {
+                    start = length;
+                }
+                // HttpRange não valida início além do fim do arquivo (bytes=20-30 num arquivo de 10)
+                if (start >= length || start > end) {
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentType(file.contentType());
+        response.setContentLengthLong(count);
+
+        if ("HEAD".equals(request.getMethod()) || count <= 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    /**
+     * {@code If-Range} com outro validador significa que a cópia parcial do cliente é de outra
+     * versão: o intervalo é ignorado e vai o arquivo inteiro.
+     */
+    private static boolean rangeApplies(StoredFile file, HttpServletRequest request) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // Comparação forte: ETag fraco nunca satisfaz If-Range
+            return !file.etag().startsWith("W/") && ifRange.equals(file.etag());
+        }
+        try {
+            long date = request.getDateHeader(HttpHeaders.IF_RANGE);
+            return date != -1 && file.lastModified() / 1000 == date / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
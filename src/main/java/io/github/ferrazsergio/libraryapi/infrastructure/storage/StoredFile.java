@@ -0,0 +1,13 @@
+package io.github.ferrazsergio.libraryapi.infrastructure.storage;
+
+import java.nio.file.Path;
+
+/**
+ * Arquivo pronto para ser servido: caminho, metadados HTTP e se o conteúdo nunca muda.
+ *
+ * @param etag      ETag já entre aspas (forte ou {@code W/} fraco)
+ * @param immutable nome derivado do conteúdo; pode ser cacheado para sempre
+ */
+public record StoredFile(Path path, String contentType, long size, long lastModified,
+                         String etag, boolean immutable) {
+}
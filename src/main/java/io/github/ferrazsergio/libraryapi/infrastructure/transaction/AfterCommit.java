@@ -0,0 +1,27 @@
+package io.github.ferrazsergio.libraryapi.infrastructure.transaction;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Adia efeitos em memória (caches, índices, filas) até o commit da transação corrente, para que
+ * uma escrita desfeita não deixe rastro. Fora de transação a ação roda na hora.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package io.github.ferrazsergio.libraryapi.interfaces.controller;
 
+import io.github.ferrazsergio.libraryapi.application.service.BookImportService;
 import io.github.ferrazsergio.libraryapi.application.service.BookService;
+import io.github.ferrazsergio.libraryapi.infrastructure.importer.BookRecordReader;
 import io.github.ferrazsergio.libraryapi.interfaces.dto.BookDTO;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.BookImportJobDTO;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.CursorPageDTO;
 import io.github.ferrazsergio.libraryapi.interfaces.dto.swagger.ApiErrorResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -24,7 +28,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/v1/books")
@@ -35,6 +41,7 @@ import java.util.List;
 public class BookController {
 
     private final BookService bookService;
+    private final BookImportService bookImportService;
 
     @GetMapping
     @Operation(
@@ -64,6 +71,38 @@ public class BookController {
         return ResponseEntity.ok(bookService.findAll(pageable));
     }
 
+    @GetMapping("/scroll")
+    @Operation(
+            summary = "Scroll books with a continuation token",
+            description = "Keyset-paginated listing ordered by id. Pass the returned nextCursor as 'cursor' " +
+                    "to fetch the next page; every page costs the same and no total count is computed. " +
+                    "Set estimateTotal=true to include the planner's row estimate.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Page of books retrieved successfully",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = CursorPageDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid continuation token",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ApiErrorResponse.class)
+                            )
+                    )
+            }
+    )
+    public ResponseEntity<CursorPageDTO<BookDTO>> scrollBooks(
+            @Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-100)", example = "20") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Include an estimated total") @RequestParam(defaultValue = "false") boolean estimateTotal) {
+        return ResponseEntity.ok(bookService.scroll(cursor, Math.min(Math.max(size, 1), 100), estimateTotal));
+    }
+
     @GetMapping("/{id}")
     @Operation(
             summary = "Get book by ID",
@@ -234,6 +273,76 @@ public class BookController {
         return new ResponseEntity<>(bookService.create(bookDTO), HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson", MediaType.TEXT_PLAIN_VALUE,
+            MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
+    @Operation(
+            summary = "Bulk import books",
+            description = "Imports books from a CSV file (header row: isbn,title,description,publish_date," +
+                    "available_quantity,total_quantity,category_id,author_ids,publisher; author ids separated by ';') " +
+                    "or NDJSON (one book object per line). Invalid rows are reported per record and do not stop the " +
+                    "import. Progress is committed every chunk; if the import is interrupted, send the same file " +
+                    "again with jobId to resume after the last committed record.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Import finished (check status and errors)",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = BookImportJobDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Unknown format",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ApiErrorResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Forbidden - Only ADMIN and LIBRARIAN roles can import books",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ApiErrorResponse.class)
+                            )
+                    )
+            }
+    )
+    public ResponseEntity<BookImportJobDTO> importBooks(
+            @Parameter(description = "csv or ndjson", example = "csv")
+            @RequestParam(defaultValue = "csv") String format,
+            @Parameter(description = "Job to resume; omit to start a new import")
+            @RequestParam(required = false) UUID jobId,
+            InputStream body) {
+        return ResponseEntity.ok(bookImportService.importBooks(body, BookRecordReader.Format.parse(format), jobId));
+    }
+
+    @GetMapping("/import/{jobId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
+    @Operation(
+            summary = "Get bulk import status",
+            description = "Returns the progress counters of an import job and its first rejected records",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Import job status",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = BookImportJobDTO.class)
+                            )
+                    )
+            }
+    )
+    public ResponseEntity<BookImportJobDTO> getImportJob(
+            @Parameter(description = "ID of the import job", required = true)
+            @PathVariable UUID jobId,
+            @Parameter(description = "Maximum number of row errors to return (1-1000)", example = "100")
+            @RequestParam(defaultValue = "100") int errors) {
+        return ResponseEntity.ok(bookImportService.getJob(jobId, Math.min(Math.max(errors, 1), 1000)));
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
     @Operation(
@@ -1,13 +1,16 @@
 package io.github.ferrazsergio.libraryapi.interfaces.controller;
 
 
+import io.github.ferrazsergio.libraryapi.application.service.ActivityService;
 import io.github.ferrazsergio.libraryapi.application.service.DashboardService;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.ActivityFeedDTO;
 import io.github.ferrazsergio.libraryapi.interfaces.dto.DashboardDataDTO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -16,10 +19,12 @@ import org.springframework.web.bind.annotation.RestController;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final ActivityService activityService;
 
     @Autowired
-    public DashboardController(DashboardService dashboardService) {
+    public DashboardController(DashboardService dashboardService, ActivityService activityService) {
         this.dashboardService = dashboardService;
+        this.activityService = activityService;
     }
 
     @GetMapping
@@ -27,4 +32,12 @@ public class DashboardController {
         DashboardDataDTO data = dashboardService.getDashboardData();
         return ResponseEntity.ok(data);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/activities")
+    public ResponseEntity<ActivityFeedDTO> getActivitiesSince(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "20") int limit) {
+        ActivityFeedDTO feed = activityService.getActivitiesSince(after, Math.min(Math.max(limit, 1), 100));
+        return ResponseEntity.ok(feed);
+    }
+}
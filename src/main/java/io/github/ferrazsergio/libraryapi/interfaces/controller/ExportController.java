@@ -0,0 +1,90 @@
+package io.github.ferrazsergio.libraryapi.interfaces.controller;
+
+import io.github.ferrazsergio.libraryapi.application.service.ExportService;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.swagger.ApiErrorResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/v1/export")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:3000")
+@Tag(name = "Export", description = "Streaming bulk export of catalog, loans, users and activities")
+@SecurityRequirement(name = "bearerAuth")
+public class ExportController {
+
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    private final ExportService exportService;
+
+    @GetMapping("/{dataset}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
+    @Operation(
+            summary = "Export a whole dataset",
+            description = "Streams every row of books, loans, users or activities as NDJSON (one object per line) " +
+                    "or CSV with a header row. The response is written while the database cursor is read, so " +
+                    "memory use does not grow with the dataset. With gzip=true the file is served compressed " +
+                    "as application/gzip.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Export stream"),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Unknown dataset or format",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ApiErrorResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Forbidden - Only ADMIN and LIBRARIAN roles can export data",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ApiErrorResponse.class)
+                            )
+                    )
+            }
+    )
+    public ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "books, loans, users or activities", required = true, example = "books")
+            @PathVariable String dataset,
+            @Parameter(description = "ndjson or csv", example = "ndjson")
+            @RequestParam(defaultValue = "ndjson") String format,
+            @Parameter(description = "Compress the file with gzip")
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportService.Dataset target = ExportService.Dataset.parse(dataset);
+        ExportService.Format outputFormat = ExportService.Format.parse(format);
+
+        String filename = target.name().toLowerCase(Locale.ROOT) + "." + outputFormat.getExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+                exportService.export(target, outputFormat, compressed);
+                compressed.finish();
+            } else {
+                exportService.export(target, outputFormat, out);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(gzip ? GZIP : MediaType.parseMediaType(outputFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
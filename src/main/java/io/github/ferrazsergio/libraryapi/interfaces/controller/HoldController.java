@@ -0,0 +1,201 @@
+package io.github.ferrazsergio.libraryapi.interfaces.controller;
+
+import io.github.ferrazsergio.libraryapi.application.service.HoldService;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.HoldDTO;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.swagger.ApiErrorResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/holds")
+@RequiredArgsConstructor
+@Tag(name = "Holds", description = "Reservation queue for books with no copy available")
+@SecurityRequirement(name = "bearerAuth")
+@CrossOrigin(origins = "http://localhost:3000")
+public class HoldController {
+
+    private final HoldService holdService;
+
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN') or @userSecurityService.isSameUser(#holdDTO.userId, authentication)")
+    @Operation(
+            summary = "Place a hold on a book",
+            description = "Adds the user to the book's FIFO hold queue. When a copy is returned it is set aside for the " +
+                    "first user in the queue (status READY) until expiresAt; the loan for that user then uses the reserved copy. " +
+                    "If a copy is already in stock it is reserved immediately.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "201",
+                            description = "Hold placed",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = HoldDTO.class),
+                                    examples = @ExampleObject(value = "{\"id\": 1, \"userId\": 1, \"bookId\": 1, \"bookTitle\": \"1984\", \"status\": \"WAITING\", \"createdAt\": \"2025-09-10T19:12:55\", \"position\": 3}")
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid input data or user already has an active hold for this book",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ApiErrorResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Forbidden - Readers can only place holds for themselves",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ApiErrorResponse.class)
+                            )
+                    )
+            }
+    )
+    public ResponseEntity<HoldDTO> placeHold(
+            @Parameter(
+                    description = "Hold details",
+                    required = true,
+                    schema = @Schema(implementation = HoldDTO.class),
+                    examples = @ExampleObject(value = "{\"userId\": 1, \"bookId\": 1}")
+            )
+            @Valid @RequestBody HoldDTO holdDTO) {
+        return new ResponseEntity<>(holdService.placeHold(holdDTO.getBookId(), holdDTO.getUserId()), HttpStatus.CREATED);
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN') or @holdSecurityService.isHoldOwner(#id, authentication)")
+    @Operation(
+            summary = "Get hold by ID",
+            description = "Retrieves a hold with its queue position (WAITING) or pickup deadline (READY).",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Hold retrieved successfully",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = HoldDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Hold not found",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ApiErrorResponse.class)
+                            )
+                    )
+            }
+    )
+    public ResponseEntity<HoldDTO> getHoldById(
+            @Parameter(description = "ID of the hold", required = true, example = "1")
+            @PathVariable Integer id) {
+        return ResponseEntity.ok(holdService.findById(id));
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN') or @holdSecurityService.isHoldOwner(#id, authentication)")
+    @Operation(
+            summary = "Cancel a hold",
+            description = "Leaves the queue. Cancelling a READY hold passes the reserved copy to the next user in the queue, " +
+                    "or returns it to stock.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Hold cancelled",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = HoldDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Hold not found",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ApiErrorResponse.class)
+                            )
+                    )
+            }
+    )
+    public ResponseEntity<HoldDTO> cancelHold(
+            @Parameter(description = "ID of the hold to cancel", required = true, example = "1")
+            @PathVariable Integer id) {
+        return ResponseEntity.ok(holdService.cancelHold(id));
+    }
+
+    @GetMapping("/user/{userId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN') or @userSecurityService.isSameUser(#userId, authentication)")
+    @Operation(
+            summary = "List holds by user",
+            description = "Retrieves all holds of a user, newest first.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Holds retrieved successfully",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    array = @ArraySchema(schema = @Schema(implementation = HoldDTO.class))
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Forbidden - You don't have permission to access this user's holds",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ApiErrorResponse.class)
+                            )
+                    )
+            }
+    )
+    public ResponseEntity<List<HoldDTO>> getHoldsByUser(
+            @Parameter(description = "ID of the user", required = true, example = "1")
+            @PathVariable Integer userId) {
+        return ResponseEntity.ok(holdService.findByUser(userId));
+    }
+
+    @GetMapping("/book/{bookId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
+    @Operation(
+            summary = "Show the hold queue of a book",
+            description = "Open holds of a book: reserved copies awaiting pickup first, then the waiting queue in order.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Hold queue retrieved successfully",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    array = @ArraySchema(schema = @Schema(implementation = HoldDTO.class))
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Forbidden - Only ADMIN and LIBRARIAN roles can access this endpoint",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ApiErrorResponse.class)
+                            )
+                    )
+            }
+    )
+    public ResponseEntity<List<HoldDTO>> getHoldQueue(
+            @Parameter(description = "ID of the book", required = true, example = "1")
+            @PathVariable Integer bookId) {
+        return ResponseEntity.ok(holdService.findQueue(bookId));
+    }
+}
@@ -1,7 +1,10 @@
 package io.github.ferrazsergio.libraryapi.interfaces.controller;
 
 import io.github.ferrazsergio.libraryapi.application.service.LoanService;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.CursorPageDTO;
 import io.github.ferrazsergio.libraryapi.interfaces.dto.LoanDTO;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.LoanEligibilityDTO;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.LoanSummaryDTO;
 import io.github.ferrazsergio.libraryapi.interfaces.dto.swagger.ApiErrorResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -33,13 +36,16 @@ import java.util.List;
 @CrossOrigin(origins = "http://localhost:3000")
 public class LoanController {
 
+    // "summary" devolve LoanSummaryDTO (ids, título, usuário, datas, status e multa); qualquer outro valor, o LoanDTO completo
+    private static final String SUMMARY_VIEW = "summary";
+
     private final LoanService loanService;
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
     @Operation(
             summary = "List all loans with pagination",
-            description = "Retrieves a paginated list of all book loans. Only accessible to administrators and librarians.",
+            description = "Retrieves a paginated list of all book loans. Only accessible to administrators and librarians. Use view=summary for a compact row without the nested user and book.",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
@@ -67,11 +73,57 @@ public class LoanController {
                     )
             }
     )
-    public ResponseEntity<Page<LoanDTO>> getAllLoans(
+    public ResponseEntity<Page<?>> getAllLoans(
+            @Parameter(description = "Response shape: 'summary' for a compact row, 'full' for the nested loan", example = "summary")
+            @RequestParam(defaultValue = "full") String view,
             @ParameterObject Pageable pageable) {
+        if (isSummary(view)) {
+            return ResponseEntity.ok(loanService.findAllSummaries(pageable));
+        }
         return ResponseEntity.ok(loanService.findAll(pageable));
     }
 
+    @GetMapping("/scroll")
+    @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
+    @Operation(
+            summary = "Scroll the loan history with a continuation token",
+            description = "Keyset-paginated listing ordered by loan date and id, newest first. Pass the returned nextCursor as 'cursor' " +
+                    "to fetch the next page; every page costs the same and no total count is computed. " +
+                    "Set estimateTotal=true to include the planner's row estimate.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Page of loan summaries retrieved successfully",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = CursorPageDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid continuation token",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ApiErrorResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Forbidden - Only ADMIN and LIBRARIAN roles can access this endpoint",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ApiErrorResponse.class)
+                            )
+                    )
+            }
+    )
+    public ResponseEntity<CursorPageDTO<LoanSummaryDTO>> scrollLoans(
+            @Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-100)", example = "20") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Include an estimated total") @RequestParam(defaultValue = "false") boolean estimateTotal) {
+        return ResponseEntity.ok(loanService.scrollHistory(cursor, Math.min(Math.max(size, 1), 100), estimateTotal));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN') or @loanSecurityService.isLoanOwner(#id, authentication)")
     @Operation(
@@ -126,7 +178,7 @@ public class LoanController {
     @Operation(
             summary = "Get loans by user ID",
             description = "Retrieves a paginated list of all loans for a specific user. Accessible to administrators, " +
-                    "librarians, and the user themselves.",
+                    "librarians, and the user themselves. Use view=summary for a compact row without the nested user and book.",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
@@ -162,13 +214,58 @@ public class LoanController {
                     )
             }
     )
-    public ResponseEntity<Page<LoanDTO>> getLoansByUser(
+    public ResponseEntity<Page<?>> getLoansByUser(
             @Parameter(description = "ID of the user whose loans to retrieve", required = true, example = "1")
             @PathVariable Integer userId,
+            @Parameter(description = "Response shape: 'summary' for a compact row, 'full' for the nested loan", example = "summary")
+            @RequestParam(defaultValue = "full") String view,
             @ParameterObject Pageable pageable) {
+        if (isSummary(view)) {
+            return ResponseEntity.ok(loanService.findSummariesByUser(userId, pageable));
+        }
         return ResponseEntity.ok(loanService.findByUser(userId, pageable));
     }
 
+    @GetMapping("/user/{userId}/eligibility")
+    @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN') or @userSecurityService.isSameUser(#userId, authentication)")
+    @Operation(
+            summary = "Check whether a user can borrow books",
+            description = "Returns the checkout summary kept on the user record: unpaid fine total, open loan count and status, " +
+                    "with the reason a new loan would be refused.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Eligibility retrieved successfully",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = LoanEligibilityDTO.class),
+                                    examples = @ExampleObject(value = "{\"userId\": 1, \"status\": \"ACTIVE\", \"unpaidFines\": 2.50, \"openLoans\": 1, \"eligible\": false, \"reason\": \"User has unpaid fines. Please pay them before borrowing more books.\"}")
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "User not found",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ApiErrorResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Forbidden - You don't have permission to access this user's data",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ApiErrorResponse.class)
+                            )
+                    )
+            }
+    )
+    public ResponseEntity<LoanEligibilityDTO> getEligibility(
+            @Parameter(description = "ID of the user", required = true, example = "1")
+            @PathVariable Integer userId) {
+        return ResponseEntity.ok(loanService.getEligibility(userId));
+    }
+
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
     @Operation(
@@ -348,7 +445,7 @@ public class LoanController {
     @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
     @Operation(
             summary = "Get all overdue loans",
-            description = "Retrieves a list of all loans that are past their due date. Only accessible to administrators and librarians.",
+            description = "Retrieves a list of all loans that are past their due date. Only accessible to administrators and librarians. Use view=summary for a compact row without the nested user and book.",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
@@ -376,7 +473,16 @@ public class LoanController {
                     )
             }
     )
-    public ResponseEntity<List<LoanDTO>> getOverdueLoans() {
+    public ResponseEntity<List<?>> getOverdueLoans(
+            @Parameter(description = "Response shape: 'summary' for a compact row, 'full' for the nested loan", example = "summary")
+            @RequestParam(defaultValue = "full") String view) {
+        if (isSummary(view)) {
+            return ResponseEntity.ok(loanService.findOverdueSummaries());
+        }
         return ResponseEntity.ok(loanService.findOverdueLoans());
     }
+
+    private static boolean isSummary(String view) {
+        return SUMMARY_VIEW.equalsIgnoreCase(view);
+    }
 }
\ No newline at end of file
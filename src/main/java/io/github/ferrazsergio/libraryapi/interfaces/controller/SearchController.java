@@ -0,0 +1,64 @@
+package io.github.ferrazsergio.libraryapi.interfaces.controller;
+
+import io.github.ferrazsergio.libraryapi.application.service.SearchService;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.SearchResultDTO;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.swagger.ApiErrorResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/search")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:3000")
+@Tag(name = "Search", description = "Full-text search across the catalog")
+@SecurityRequirement(name = "bearerAuth")
+public class SearchController {
+
+    private final SearchService searchService;
+
+    @GetMapping
+    @Operation(
+            summary = "Search the catalog",
+            description = "Searches books by title, publisher, description and author names, and authors by name. "
+                    + "Every word is matched as a prefix and results are ordered by relevance.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Search results",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = SearchResultDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ApiErrorResponse.class)
+                            )
+                    )
+            }
+    )
+    public ResponseEntity<SearchResultDTO> search(
+            @Parameter(description = "Text to search for", required = true, example = "orwell 1984")
+            @RequestParam String q,
+            @Parameter(description = "Only books in this category", example = "1")
+            @RequestParam(required = false) Integer categoryId,
+            @Parameter(description = "Only books by this author", example = "1")
+            @RequestParam(required = false) Integer authorId,
+            @ParameterObject Pageable pageable) {
+        return ResponseEntity.ok(searchService.search(q, categoryId, authorId, pageable));
+    }
+}
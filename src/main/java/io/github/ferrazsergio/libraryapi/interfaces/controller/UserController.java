@@ -3,21 +3,25 @@ package io.github.ferrazsergio.libraryapi.interfaces.controller;
 import io.github.ferrazsergio.libraryapi.application.service.UserService;
 import io.github.ferrazsergio.libraryapi.domain.model.User;
 import io.github.ferrazsergio.libraryapi.infrastructure.repository.UserRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.storage.AvatarStore;
+import io.github.ferrazsergio.libraryapi.infrastructure.storage.FileSender;
+import io.github.ferrazsergio.libraryapi.infrastructure.storage.StoredFile;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.CursorPageDTO;
 import io.github.ferrazsergio.libraryapi.interfaces.dto.UserDTO;
+import io.github.ferrazsergio.libraryapi.security.AuthenticatedUser;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/v1/users")
@@ -27,9 +31,16 @@ public class UserController {
 
     private final UserRepository userRepository;
     private final UserService userService;
+    private final AvatarStore avatarStore;
+    private final FileSender fileSender;
 
     @GetMapping("/me")
     public ResponseEntity<UserDTO> getMe(Authentication authentication) {
+        Integer id = AuthenticatedUser.idOf(authentication);
+        if (id != null) {
+            return ResponseEntity.ok(userService.findById(id));
+        }
+
         String email = authentication.getName();
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
@@ -45,6 +56,15 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    // Listagem por keyset (id), sem OFFSET nem COUNT; "nextCursor" vai como "cursor" na próxima chamada
+    @GetMapping("/scroll")
+    @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
+    public ResponseEntity<CursorPageDTO<UserDTO>> scrollUsers(@RequestParam(required = false) String cursor,
+                                                             @RequestParam(defaultValue = "20") int size,
+                                                             @RequestParam(defaultValue = "false") boolean estimateTotal) {
+        return ResponseEntity.ok(userService.scroll(cursor, Math.min(Math.max(size, 1), 100), estimateTotal));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<UserDTO> getUserById(@PathVariable Integer id) {
         User user = userRepository.findById(id)
@@ -100,33 +120,21 @@ public class UserController {
             userRepository.save(user);
 
             return ResponseEntity.ok(UserDTO.fromEntity(user));
-        } catch (Exception e) {
+        } catch (UncheckedIOException e) {
             throw new RuntimeException("Erro ao fazer upload do avatar: " + e.getMessage(), e);
         }
     }
 
+    // Arquivo enviado pelo FileSender (ETag, 304, Range, sendfile); público, fora do filtro JWT
     @GetMapping("/files/avatars/{filename:.+}")
-    public ResponseEntity<Resource> getAvatarFile(@PathVariable String filename) {
-        try {
-            Path uploadPath = Paths.get(System.getProperty("user.dir"), "uploads", "avatars");
-            Path filePath = uploadPath.resolve(filename);
-
-            if (!Files.exists(filePath)) {
-                return ResponseEntity.notFound().build();
-            }
-
-            Resource resource = new UrlResource(filePath.toUri());
-
-            if (!resource.exists() || !resource.isReadable()) {
-                return ResponseEntity.notFound().build();
-            }
-
-            return ResponseEntity.ok()
-                    .contentType(MediaType.IMAGE_PNG)
-                    .body(resource);
-
-        } catch (Exception e) {
-            return ResponseEntity.notFound().build();
+    public void getAvatarFile(@PathVariable String filename,
+                              HttpServletRequest request,
+                              HttpServletResponse response) throws IOException {
+        Optional<StoredFile> avatar = avatarStore.find(filename);
+        if (avatar.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
         }
+        fileSender.send(avatar.get(), request, response);
     }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package io.github.ferrazsergio.libraryapi.interfaces.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityFeedDTO {
+    private List<RecentActivityDTO> activities;
+    private long cursor; // id da última atividade retornada; usar como "after" na próxima chamada
+}
@@ -0,0 +1,27 @@
+package io.github.ferrazsergio.libraryapi.interfaces.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Linha da exportação do acervo; autores e categoria já vêm achatados pela consulta.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookExportDTO {
+    private Integer id;
+    private String isbn;
+    private String title;
+    private String publisher;
+    private LocalDate publishDate;
+    private Integer availableQuantity;
+    private Integer totalQuantity;
+    private String category;
+    private String authors; // nomes separados por "; "
+}
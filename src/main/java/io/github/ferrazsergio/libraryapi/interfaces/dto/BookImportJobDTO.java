@@ -0,0 +1,37 @@
+package io.github.ferrazsergio.libraryapi.interfaces.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookImportJobDTO {
+    private UUID id;
+    private String status; // RUNNING, COMPLETED ou FAILED
+    private String format;
+    private long recordsProcessed; // checkpoint; reenviar o arquivo com ?jobId= continua a partir daqui
+    private long imported;
+    private long rejected;
+    private String message;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private List<RowError> errors;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long record;
+        private String isbn;
+        private String message;
+    }
+}
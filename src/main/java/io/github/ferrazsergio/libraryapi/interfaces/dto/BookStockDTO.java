@@ -0,0 +1,15 @@
+package io.github.ferrazsergio.libraryapi.interfaces.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookStockDTO {
+    private long totalQuantity;
+    private long availableQuantity;
+}
@@ -0,0 +1,38 @@
+package io.github.ferrazsergio.libraryapi.interfaces.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de uma listagem por keyset. Não há total exato: {@code estimatedTotal} só é
+ * preenchido quando solicitado e vem das estatísticas do PostgreSQL.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor; // enviar como "cursor" na próxima chamada; null na última página
+    private Long estimatedTotal;
+
+    public static <T> CursorPageDTO<T> of(Slice<T> slice, Function<T, String> cursorOf, Long estimatedTotal) {
+        List<T> content = slice.getContent();
+        boolean hasNext = slice.hasNext() && !content.isEmpty();
+        return CursorPageDTO.<T>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? cursorOf.apply(content.get(content.size() - 1)) : null)
+                .estimatedTotal(estimatedTotal)
+                .build();
+    }
+}
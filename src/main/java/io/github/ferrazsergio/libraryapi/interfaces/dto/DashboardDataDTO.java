@@ -1,5 +1,6 @@
 package io.github.ferrazsergio.libraryapi.interfaces.dto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,4 +19,7 @@ public class DashboardDataDTO {
     private long totalUsers;
     private List<CategoryStatisticsDTO> mostBorrowedCategories;
     private List<RecentActivityDTO> recentActivities;
+    private LocalDateTime generatedAt; // momento em que os contadores foram calculados
+    private boolean degraded; // true quando alguma seção não respondeu a tempo
+    private List<String> unavailableSections;
 }
\ No newline at end of file
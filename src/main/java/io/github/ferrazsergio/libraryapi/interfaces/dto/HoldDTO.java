@@ -0,0 +1,53 @@
+package io.github.ferrazsergio.libraryapi.interfaces.dto;
+
+import io.github.ferrazsergio.libraryapi.domain.model.Hold;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HoldDTO {
+
+    private Integer id;
+
+    @NotNull(message = "User ID is required")
+    private Integer userId;
+
+    @NotNull(message = "Book ID is required")
+    private Integer bookId;
+
+    private String bookTitle;
+
+    private String userName;
+
+    private String status;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime readyAt;
+
+    // Prazo para retirar o exemplar separado (status READY)
+    private LocalDateTime expiresAt;
+
+    // Posição na fila, a partir de 1 (apenas para status WAITING)
+    private Integer position;
+
+    public static HoldDTO fromEntity(Hold hold) {
+        return HoldDTO.builder()
+                .id(hold.getId())
+                .userId(hold.getUser().getId())
+                .bookId(hold.getBook().getId())
+                .status(hold.getStatus().name())
+                .createdAt(hold.getCreatedAt())
+                .readyAt(hold.getReadyAt())
+                .expiresAt(hold.getExpiresAt())
+                .build();
+    }
+}
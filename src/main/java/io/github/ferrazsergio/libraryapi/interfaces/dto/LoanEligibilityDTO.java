@@ -0,0 +1,29 @@
+package io.github.ferrazsergio.libraryapi.interfaces.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoanEligibilityDTO {
+
+    private Integer userId;
+
+    private String status;
+
+    private BigDecimal unpaidFines;
+
+    // Empréstimos ainda não devolvidos (ACTIVE ou OVERDUE)
+    private Integer openLoans;
+
+    private boolean eligible;
+
+    // Motivo da recusa quando eligible = false
+    private String reason;
+}
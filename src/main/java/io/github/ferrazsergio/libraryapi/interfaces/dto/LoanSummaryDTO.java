@@ -0,0 +1,40 @@
+package io.github.ferrazsergio.libraryapi.interfaces.dto;
+
+import io.github.ferrazsergio.libraryapi.domain.model.Loan;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Versão compacta de {@link LoanDTO} para listagens ({@code ?view=summary}).
+ * É montada diretamente pela consulta JPQL, sem carregar usuário, livro, autores e categoria.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoanSummaryDTO {
+
+    private Integer id;
+    private Integer userId;
+    private String userName;
+    private Integer bookId;
+    private String bookTitle;
+    private LocalDate loanDate;
+    private LocalDate expectedReturnDate;
+    private LocalDate returnDate;
+    private String status;
+    private BigDecimal fineAmount;
+
+    // Usado pelas expressões "SELECT new" de LoanRepository
+    public LoanSummaryDTO(Integer id, Integer userId, String userName, Integer bookId, String bookTitle,
+                          LocalDate loanDate, LocalDate expectedReturnDate, LocalDate returnDate,
+                          Loan.LoanStatus status, BigDecimal fineAmount) {
+        this(id, userId, userName, bookId, bookTitle, loanDate, expectedReturnDate, returnDate,
+                status != null ? status.name() : null, fineAmount);
+    }
+}
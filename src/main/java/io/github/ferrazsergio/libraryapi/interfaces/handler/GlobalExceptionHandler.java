@@ -1,8 +1,12 @@
 package io.github.ferrazsergio.libraryapi.interfaces.handler;
 
+import io.github.ferrazsergio.libraryapi.application.exception.InvalidRequestException;
+import io.github.ferrazsergio.libraryapi.security.PasswordHashingUnavailableException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authorization.AuthorizationDeniedException;
@@ -55,6 +59,29 @@ public class GlobalExceptionHandler {
         return errors;
     }
 
+    /**
+     * Captura parâmetros inválidos enviados pelo cliente, como um token de continuação
+     * adulterado, e retorna um status 400 Bad Request.
+     */
+    @ExceptionHandler(InvalidRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleInvalidRequestException(InvalidRequestException ex) {
+        log.warn("Parâmetro inválido: {}", ex.getMessage());
+        return Map.of("error", "Invalid request", "message", ex.getMessage());
+    }
+
+    /**
+     * Captura a saturação do executor de hash de senhas (login/cadastro em massa)
+     * e retorna um status 503 Service Unavailable com Retry-After.
+     */
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ResponseEntity<Map<String, String>> handlePasswordHashingUnavailable(PasswordHashingUnavailableException ex) {
+        log.warn("Hash de senha indisponível: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", "Service temporarily unavailable", "message", ex.getMessage()));
+    }
+
     /**
      * Captura qualquer outra exceção não tratada e retorna um status
      * 500 Internal Server Error para proteger a aplicação.
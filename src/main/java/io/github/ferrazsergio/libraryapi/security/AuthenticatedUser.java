@@ -0,0 +1,30 @@
+package io.github.ferrazsergio.libraryapi.security;
+
+import io.github.ferrazsergio.libraryapi.domain.model.User;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.Authentication;
+
+import java.io.Serializable;
+
+/**
+ * Usuário autenticado por JWT. {@link #getName()} continua sendo o e-mail, então quem usa
+ * {@code authentication.getName()} não muda; quem precisa do id não consulta o banco.
+ */
+public record AuthenticatedUser(Integer id, String email, User.Role role, User.Status status)
+        implements AuthenticatedPrincipal, Serializable {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    /**
+     * Id do usuário autenticado, ou {@code null} para tokens emitidos sem o claim {@code uid}.
+     */
+    public static Integer idOf(Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.id();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,143 @@
+package io.github.ferrazsergio.libraryapi.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * BCrypt executado num pool próprio, pequeno e com fila limitada.
+ * <p>
+ * Cada hash consome dezenas de milissegundos de CPU. Na thread da requisição, uma onda de logins
+ * ocupa o pool do Tomcat (ou, com o perfil {@code vthreads}, todos os carriers das threads
+ * virtuais) e as leituras do catálogo esperam atrás dela. Aqui o hash roda em {@code threads}
+ * threads de plataforma; com a fila cheia ou passado o {@code timeout} a
+ * requisição falha com {@link PasswordHashingUnavailableException} (503) em vez de enfileirar
+ * sem limite.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, MeterBinder, DisposableBean {
+
+    private final BCryptPasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+
+    private volatile Timer encodeTimer;
+    private volatile Timer matchesTimer;
+    private volatile Counter saturatedRejections;
+    private volatile Counter timeoutRejections;
+
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, Duration timeout) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.timeout = timeout;
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("password-hash-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> timed(encodeTimer, () -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> timed(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * Só compara o custo gravado no hash com o configurado; não passa pelo executor.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        encodeTimer = hashTimer(registry, "encode");
+        matchesTimer = hashTimer(registry, "matches");
+        saturatedRejections = rejections(registry, "saturated");
+        timeoutRejections = rejections(registry, "timeout");
+
+        Gauge.builder("library.password.queue", executor, pool -> pool.getQueue().size())
+                .description("Password hashing operations waiting for a thread")
+                .register(registry);
+        Gauge.builder("library.password.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing operations running")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            increment(saturatedRejections);
+            throw new PasswordHashingUnavailableException("Password hashing queue is full");
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Tira da fila se ainda não começou; um hash em andamento termina e é descartado
+            future.cancel(true);
+            increment(timeoutRejections);
+            throw new PasswordHashingUnavailableException("Password hashing timed out");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException("Interrupted while waiting for password hashing");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static <T> T timed(Timer timer, Callable<T> hash) throws Exception {
+        return timer != null ? timer.recordCallable(hash) : hash.call();
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    private static Timer hashTimer(MeterRegistry registry, String operation) {
+        return Timer.builder("library.password.hash")
+                .description("Time spent hashing or verifying a password, excluding queue wait")
+                .tag("operation", operation)
+                .register(registry);
+    }
+
+    private static Counter rejections(MeterRegistry registry, String reason) {
+        return Counter.builder("library.password.rejected")
+                .description("Password hashing requests shed with 503")
+                .tag("reason", reason)
+                .register(registry);
+    }
+}
@@ -5,6 +5,7 @@ import io.github.ferrazsergio.libraryapi.infrastructure.repository.UserRepositor
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -15,7 +16,7 @@ import java.util.List;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -25,13 +26,32 @@ public class CustomUserDetailsService implements UserDetailsService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
+        return toUserDetails(user);
+    }
+
+    /**
+     * Grava o hash refeito no login com o custo atual do BCrypt.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails details, String newPassword) {
+        User user = userRepository.findByEmail(details.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + details.getUsername()));
+
+        user.setPassword(newPassword);
+        return toUserDetails(userRepository.save(user));
+    }
+
+    private UserDetails toUserDetails(User user) {
         List<SimpleGrantedAuthority> authorities = Collections.singletonList(
                 new SimpleGrantedAuthority("ROLE_" + user.getRole().name())
         );
 
-        return new org.springframework.security.core.userdetails.User(
+        return new LibraryUserDetails(
+                user.getId(),
                 user.getEmail(),
                 user.getPassword(),
+                user.getStatus(),
                 authorities
         );
     }
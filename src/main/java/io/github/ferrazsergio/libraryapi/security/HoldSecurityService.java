@@ -0,0 +1,29 @@
+package io.github.ferrazsergio.libraryapi.security;
+
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.HoldRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class HoldSecurityService {
+
+    private final HoldRepository holdRepository;
+
+    @Transactional(readOnly = true)
+    public boolean isHoldOwner(Integer holdId, Authentication authentication) {
+        if (authentication == null) {
+            return false;
+        }
+
+        Integer callerId = AuthenticatedUser.idOf(authentication);
+        if (callerId != null) {
+            return holdRepository.isOwnedBy(holdId, callerId);
+        }
+
+        // Token sem id (emitido antes do claim uid)
+        return holdRepository.isOwnedByEmail(holdId, authentication.getName());
+    }
+}
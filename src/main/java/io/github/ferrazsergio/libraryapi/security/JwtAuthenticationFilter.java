@@ -4,19 +4,40 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final PrincipalCache principalCache;
+    private final RequestMatcher skippedPaths;
 
-    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider) {
+    /**
+     * @param skippedPaths rotas públicas que nunca olham o token (actuator, swagger, avatares)
+     */
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider,
+                                   PrincipalCache principalCache,
+                                   String... skippedPaths) {
         this.jwtTokenProvider = jwtTokenProvider;
+        this.principalCache = principalCache;
+        this.skippedPaths = skippedPaths.length == 0
+                ? request -> false
+                : new OrRequestMatcher(Arrays.stream(skippedPaths)
+                        .<RequestMatcher>map(AntPathRequestMatcher::new)
+                        .toList());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return skippedPaths.matches(request);
     }
 
     @Override
@@ -27,9 +48,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = resolveToken(request);
 
-        if (token != null && jwtTokenProvider.validateToken(token)) {
-            Authentication auth = jwtTokenProvider.getAuthentication(token);
-            SecurityContextHolder.getContext().setAuthentication(auth);
+        if (token != null) {
+            jwtTokenProvider.authenticate(token)
+                    .flatMap(principalCache::refresh)
+                    .ifPresent(auth -> SecurityContextHolder.getContext().setAuthentication(auth));
         }
 
         filterChain.doFilter(request, response);
@@ -44,4 +66,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         return null;
     }
-}
\ No newline at end of file
+}
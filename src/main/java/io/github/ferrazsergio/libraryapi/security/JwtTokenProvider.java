@@ -1,35 +1,70 @@
 package io.github.ferrazsergio.libraryapi.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.github.ferrazsergio.libraryapi.domain.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+/**
+ * Emissão e verificação dos tokens JWT.
+ * <p>
+ * O parser é imutável e thread-safe, então é montado uma única vez. Tokens já verificados ficam
+ * num cache limitado (chave = SHA-256 do token) até o {@code exp}; o token repetido a cada
+ * requisição do mesmo cliente não refaz o HMAC nem o parse dos papéis. Token inválido nunca entra
+ * no cache.
+ * <p>
+ * Tokens emitidos no login levam também id ({@code uid}) e status do usuário; o principal vira um
+ * {@link AuthenticatedUser} e as verificações de dono comparam ids sem consultar o banco.
+ */
 @Component
 public class JwtTokenProvider {
 
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String STATUS_CLAIM = "status";
+
     private final SecretKey secretKey;
     private final long validityInMilliseconds;
+    private final JwtParser parser;
+    private final Cache<String, VerifiedToken> verifiedTokens;
 
     public JwtTokenProvider(
             @Value("${jwt.secret}") String secret,
-            @Value("${jwt.expiration}") long validityInMilliseconds) {
+            @Value("${jwt.expiration}") long validityInMilliseconds,
+            @Value("${jwt.cache.max-size:10000}") long cacheMaxSize) {
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.validityInMilliseconds = validityInMilliseconds;
+        this.parser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new UntilTokenExpires())
+                .build();
     }
 
     public String createToken(Authentication authentication) {
@@ -44,37 +79,55 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date validity = new Date(now.getTime() + validityInMilliseconds);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .subject(username)
-                .claim("roles", roles)
+                .claim("roles", roles);
+
+        if (userDetails instanceof LibraryUserDetails libraryUser) {
+            builder.claim(USER_ID_CLAIM, libraryUser.getId())
+                    .claim(STATUS_CLAIM, libraryUser.getStatus().name());
+        }
+
+        return builder
                 .issuedAt(now)
                 .expiration(validity)
                 .signWith(secretKey)
                 .compact();
     }
 
-    public Authentication getAuthentication(String token) {
-        Claims claims = getClaims(token);
-        String username = claims.getSubject();
+    /**
+     * Verifica o token e monta a autenticação com um único parse.
+     *
+     * @return vazio se o token for inválido ou estiver expirado
+     */
+    public Optional<Authentication> authenticate(String token) {
+        String digest = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null && cached.expiresAtMillis() > System.currentTimeMillis()) {
+            return Optional.of(cached.authentication());
+        }
 
-        Collection<? extends GrantedAuthority> authorities = Arrays.stream(
-                        claims.get("roles", String.class).split(","))
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toList());
+        Claims claims;
+        try {
+            claims = getClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
 
-        return new UsernamePasswordAuthenticationToken(username, "", authorities);
+        Authentication authentication = toAuthentication(claims);
+        if (claims.getExpiration() != null) {
+            verifiedTokens.put(digest, new VerifiedToken(authentication, claims.getExpiration().getTime()));
+        }
+        return Optional.of(authentication);
+    }
+
+    public Authentication getAuthentication(String token) {
+        return authenticate(token)
+                .orElseThrow(() -> new JwtException("Invalid JWT token"));
     }
 
     public boolean validateToken(String token) {
-        try {
-            Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        return authenticate(token).isPresent();
     }
 
     public String getUsername(String token) {
@@ -82,10 +135,75 @@ public class JwtTokenProvider {
     }
 
     private Claims getClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    private Authentication toAuthentication(Claims claims) {
+        String roles = claims.get("roles", String.class);
+        List<GrantedAuthority> authorities = roles == null || roles.isEmpty()
+                ? List.of()
+                : List.copyOf(AuthorityUtils.commaSeparatedStringToAuthorityList(roles));
+
+        Integer userId = claims.get(USER_ID_CLAIM, Integer.class);
+        if (userId == null) {
+            return new UsernamePasswordAuthenticationToken(claims.getSubject(), "", authorities);
+        }
+
+        String status = claims.get(STATUS_CLAIM, String.class);
+        AuthenticatedUser principal = new AuthenticatedUser(
+                userId,
+                claims.getSubject(),
+                roleOf(authorities),
+                status != null ? User.Status.valueOf(status) : null);
+        return new UsernamePasswordAuthenticationToken(principal, "", authorities);
+    }
+
+    private static User.Role roleOf(List<GrantedAuthority> authorities) {
+        for (GrantedAuthority authority : authorities) {
+            String name = authority.getAuthority();
+            if (name.startsWith("ROLE_")) {
+                try {
+                    return User.Role.valueOf(name.substring("ROLE_".length()));
+                } catch (IllegalArgumentException ignored) {
+                    // papel desconhecido: segue para o próximo
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * O token inteiro como chave manteria cada JWT (centenas de bytes) vivo no heap.
+     */
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record VerifiedToken(Authentication authentication, long expiresAtMillis) {
+    }
+
+    private static class UntilTokenExpires implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long remainingMillis = value.expiresAtMillis() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
-}
\ No newline at end of file
+}
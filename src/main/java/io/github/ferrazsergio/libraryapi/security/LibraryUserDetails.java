@@ -0,0 +1,33 @@
+package io.github.ferrazsergio.libraryapi.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * {@link User} com o id e o status do usuário, gravados no token emitido no login.
+ */
+public class LibraryUserDetails extends User {
+
+    private final Integer id;
+    private final io.github.ferrazsergio.libraryapi.domain.model.User.Status status;
+
+    public LibraryUserDetails(Integer id,
+                              String email,
+                              String password,
+                              io.github.ferrazsergio.libraryapi.domain.model.User.Status status,
+                              Collection<? extends GrantedAuthority> authorities) {
+        super(email, password, authorities);
+        this.id = id;
+        this.status = status;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public io.github.ferrazsergio.libraryapi.domain.model.User.Status getStatus() {
+        return status;
+    }
+}
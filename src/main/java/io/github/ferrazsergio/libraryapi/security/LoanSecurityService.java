@@ -18,10 +18,12 @@ public class LoanSecurityService {
             return false;
         }
 
-        String email = authentication.getName();
+        Integer callerId = AuthenticatedUser.idOf(authentication);
+        if (callerId != null) {
+            return loanRepository.isOwnedBy(loanId, callerId);
+        }
 
-        return loanRepository.findById(loanId)
-                .map(loan -> loan.getUser().getEmail().equals(email))
-                .orElse(false);
+        // Token sem id (emitido antes do claim uid)
+        return loanRepository.isOwnedByEmail(loanId, authentication.getName());
     }
 }
\ No newline at end of file
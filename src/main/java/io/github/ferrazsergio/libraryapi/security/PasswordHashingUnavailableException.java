@@ -0,0 +1,11 @@
+package io.github.ferrazsergio.libraryapi.security;
+
+/**
+ * O executor de hash de senhas está saturado; a requisição deve ser repetida mais tarde (503).
+ */
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+    public PasswordHashingUnavailableException(String message) {
+        super(message);
+    }
+}
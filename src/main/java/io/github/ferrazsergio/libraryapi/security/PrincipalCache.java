@@ -0,0 +1,86 @@
+package io.github.ferrazsergio.libraryapi.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.ferrazsergio.libraryapi.domain.model.User;
+import io.github.ferrazsergio.libraryapi.infrastructure.cache.TwoLevelCacheManager;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.UserRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.transaction.AfterCommit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Estado atual de cada usuário autenticado, por id.
+ * <p>
+ * O token guarda id, papel e status do momento do login e vale por um dia; este cache faz
+ * alteração de papel, desativação ou exclusão valer já na requisição seguinte, sem ler
+ * {@code users} a cada requisição. {@code UserService} invalida a entrada após o commit de {@code update}/{@code delete},
+ * e a invalidação vai para os outros nós pelo canal do {@link TwoLevelCacheManager}; o TTL só
+ * limita a defasagem se uma mensagem se perder. Usuário excluído ou {@code INACTIVE} fica em cache
+ * como ausente e o token deixa de autenticar.
+ */
+@Component
+public class PrincipalCache {
+
+    static final String CACHE_NAME = "principals";
+
+    private final UserRepository userRepository;
+    private final TwoLevelCacheManager cacheManager;
+    private final Cache<Integer, Optional<Authentication>> principals;
+
+    public PrincipalCache(UserRepository userRepository,
+                          TwoLevelCacheManager cacheManager,
+                          @Value("${library.security.principal-cache.max-size:10000}") long maxSize,
+                          @Value("${library.security.principal-cache.ttl:PT10M}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.cacheManager = cacheManager;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        cacheManager.registerLocalCache(CACHE_NAME, this::onRemoteInvalidation);
+    }
+
+    /**
+     * Troca a autenticação montada do token pela do estado atual do usuário.
+     * Tokens sem id (emitidos antes do claim {@code uid}) seguem como estão.
+     *
+     * @return vazio se o usuário não existe mais ou foi desativado
+     */
+    public Optional<Authentication> refresh(Authentication fromToken) {
+        Integer id = AuthenticatedUser.idOf(fromToken);
+        if (id == null) {
+            return Optional.of(fromToken);
+        }
+        return principals.get(id, this::load);
+    }
+
+    public void invalidate(Integer userId) {
+        AfterCommit.run(() -> {
+            principals.invalidate(userId);
+            cacheManager.publishInvalidation(CACHE_NAME, userId);
+        });
+    }
+
+    private void onRemoteInvalidation(Object key) {
+        if (key instanceof Number userId) {
+            principals.invalidate(userId.intValue());
+        } else {
+            principals.invalidateAll();
+        }
+    }
+
+    private Optional<Authentication> load(Integer id) {
+        return userRepository.findPrincipalById(id)
+                .filter(user -> user.status() == User.Status.ACTIVE)
+                .map(user -> new UsernamePasswordAuthenticationToken(user, "",
+                        List.of(new SimpleGrantedAuthority("ROLE_" + user.role().name()))));
+    }
+}
@@ -4,7 +4,6 @@ import io.github.ferrazsergio.libraryapi.infrastructure.repository.UserRepositor
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -12,12 +11,17 @@ public class UserSecurityService {
 
     private final UserRepository userRepository;
 
-    @Transactional(readOnly = true)
     public boolean isSameUser(Integer userId, Authentication authentication) {
         if (authentication == null) {
             return false;
         }
 
+        Integer callerId = AuthenticatedUser.idOf(authentication);
+        if (callerId != null) {
+            return callerId.equals(userId);
+        }
+
+        // Token sem id (emitido antes do claim uid); só aqui há leitura, na transação do próprio findById
         String email = authentication.getName();
 
         return userRepository.findById(userId)
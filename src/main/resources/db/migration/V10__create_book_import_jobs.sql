@@ -0,0 +1,22 @@
+-- Importação em massa do acervo (POST /api/v1/books/import).
+-- records_processed é o checkpoint: registros já confirmados (importados ou rejeitados);
+-- uma nova chamada com o mesmo job continua a partir dele.
+CREATE TABLE book_import_jobs (
+    id                UUID PRIMARY KEY,
+    status            VARCHAR(20) NOT NULL,
+    format            VARCHAR(10) NOT NULL,
+    records_processed BIGINT      NOT NULL DEFAULT 0,
+    imported          BIGINT      NOT NULL DEFAULT 0,
+    rejected          BIGINT      NOT NULL DEFAULT 0,
+    message           TEXT,
+    created_at        TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at        TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE book_import_errors (
+    job_id  UUID   NOT NULL REFERENCES book_import_jobs (id) ON DELETE CASCADE,
+    record  BIGINT NOT NULL,
+    isbn    VARCHAR(255),
+    message TEXT   NOT NULL,
+    PRIMARY KEY (job_id, record)
+);
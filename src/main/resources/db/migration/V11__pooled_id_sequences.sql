@@ -0,0 +1,11 @@
+-- Ids das entidades JPA passam a vir das sequências das colunas SERIAL em blocos de 50
+-- (otimizador pooled-lo): o Hibernate reserva um bloco por nextval e consegue agrupar os INSERTs em lote.
+-- O DEFAULT nextval(...) das colunas continua valendo para INSERTs feitos direto em SQL;
+-- cada um deles consome um bloco inteiro, sem colidir com os ids reservados pela aplicação.
+-- activities continua com incremento 1: ela é gravada em lote via JDBC (ActivityBatchRepository).
+ALTER SEQUENCE categories_id_seq INCREMENT BY 50;
+ALTER SEQUENCE authors_id_seq INCREMENT BY 50;
+ALTER SEQUENCE books_id_seq INCREMENT BY 50;
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE loans_id_seq INCREMENT BY 50;
+ALTER SEQUENCE fines_id_seq INCREMENT BY 50;
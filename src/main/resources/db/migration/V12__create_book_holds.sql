@@ -0,0 +1,25 @@
+-- Fila de reservas por livro. A ordem da fila é (created_at, id): com ids por sequência
+-- pooled-lo (V11) o id sozinho não reflete a ordem de chegada entre instâncias.
+CREATE TABLE book_holds (
+                            id SERIAL PRIMARY KEY,
+                            book_id INTEGER NOT NULL REFERENCES books(id),
+                            user_id INTEGER NOT NULL REFERENCES users(id),
+                            status VARCHAR(20) NOT NULL DEFAULT 'WAITING',
+                            created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                            ready_at TIMESTAMP,
+                            expires_at TIMESTAMP,
+                            closed_at TIMESTAMP
+);
+
+ALTER SEQUENCE book_holds_id_seq INCREMENT BY 50;
+
+-- Próximo da fila de um livro
+CREATE INDEX idx_book_holds_queue ON book_holds(book_id, created_at, id) WHERE status = 'WAITING';
+
+-- Reservas separadas com prazo de retirada vencido
+CREATE INDEX idx_book_holds_pickup ON book_holds(expires_at) WHERE status = 'READY';
+
+CREATE INDEX idx_book_holds_user ON book_holds(user_id);
+
+-- No máximo uma reserva em aberto por usuário e livro
+CREATE UNIQUE INDEX uq_book_holds_open ON book_holds(book_id, user_id) WHERE status IN ('WAITING', 'READY');
@@ -0,0 +1,11 @@
+-- Varredura de empréstimos em atraso (OverdueLoanSweeper).
+
+-- Candidatos a atraso. Parcial para que o histórico de devolvidos, que também tem
+-- expected_return_date no passado, fique fora da varredura (idx_loans_expected_return o percorreria)
+CREATE INDEX idx_loans_active_due ON loans(expected_return_date, id) WHERE status = 'ACTIVE';
+
+-- Empréstimos em atraso, percorridos por id no cálculo das multas
+CREATE INDEX idx_loans_overdue ON loans(id) WHERE status = 'OVERDUE';
+
+-- Dia até o qual a multa de um empréstimo em atraso já foi calculada; torna o cálculo idempotente
+ALTER TABLE fines ADD COLUMN accrued_on DATE;
@@ -0,0 +1,81 @@
+-- Resumo de elegibilidade para empréstimo na própria linha do usuário: o empréstimo decide com
+-- a leitura do usuário por id, sem somar multas de fines -> loans a cada checkout.
+-- Os contadores são mantidos por triggers, então valem para qualquer escrita (JPA, varredura de
+-- atrasos em lote, SQL manual).
+ALTER TABLE users ADD COLUMN unpaid_fines NUMERIC(10, 2) NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN open_loans INTEGER NOT NULL DEFAULT 0;
+
+UPDATE users u
+   SET unpaid_fines = COALESCE((SELECT SUM(f.amount)
+                                  FROM fines f JOIN loans l ON l.id = f.loan_id
+                                 WHERE l.user_id = u.id AND f.paid = FALSE), 0),
+       open_loans = (SELECT COUNT(*) FROM loans l WHERE l.user_id = u.id AND l.status IN ('ACTIVE', 'OVERDUE'));
+
+-- Empréstimos em aberto (ACTIVE ou OVERDUE) por usuário
+CREATE FUNCTION loans_track_open_loans() RETURNS trigger AS $$
+DECLARE
+    was_open INTEGER := 0;
+    is_open INTEGER := 0;
+BEGIN
+    IF TG_OP <> 'INSERT' AND OLD.status IN ('ACTIVE', 'OVERDUE') THEN
+        was_open := 1;
+    END IF;
+    IF TG_OP <> 'DELETE' AND NEW.status IN ('ACTIVE', 'OVERDUE') THEN
+        is_open := 1;
+    END IF;
+
+    IF TG_OP = 'UPDATE' AND OLD.user_id = NEW.user_id THEN
+        IF is_open <> was_open THEN
+            UPDATE users SET open_loans = open_loans + is_open - was_open WHERE id = NEW.user_id;
+        END IF;
+    ELSE
+        IF was_open = 1 THEN
+            UPDATE users SET open_loans = open_loans - 1 WHERE id = OLD.user_id;
+        END IF;
+        IF is_open = 1 THEN
+            UPDATE users SET open_loans = open_loans + 1 WHERE id = NEW.user_id;
+        END IF;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER loans_open_loans
+    AFTER INSERT OR UPDATE OF status, user_id OR DELETE ON loans
+    FOR EACH ROW EXECUTE FUNCTION loans_track_open_loans();
+
+-- Soma das multas não pagas por usuário
+CREATE FUNCTION fines_track_unpaid() RETURNS trigger AS $$
+DECLARE
+    old_due NUMERIC(10, 2) := 0;
+    new_due NUMERIC(10, 2) := 0;
+BEGIN
+    IF TG_OP <> 'INSERT' AND NOT OLD.paid THEN
+        old_due := OLD.amount;
+    END IF;
+    IF TG_OP <> 'DELETE' AND NOT NEW.paid THEN
+        new_due := NEW.amount;
+    END IF;
+
+    IF TG_OP = 'UPDATE' AND OLD.loan_id = NEW.loan_id THEN
+        IF new_due <> old_due THEN
+            UPDATE users SET unpaid_fines = unpaid_fines + new_due - old_due
+             WHERE id = (SELECT user_id FROM loans WHERE id = NEW.loan_id);
+        END IF;
+    ELSE
+        IF old_due <> 0 THEN
+            UPDATE users SET unpaid_fines = unpaid_fines - old_due
+             WHERE id = (SELECT user_id FROM loans WHERE id = OLD.loan_id);
+        END IF;
+        IF new_due <> 0 THEN
+            UPDATE users SET unpaid_fines = unpaid_fines + new_due
+             WHERE id = (SELECT user_id FROM loans WHERE id = NEW.loan_id);
+        END IF;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER fines_unpaid_total
+    AFTER INSERT OR UPDATE OF amount, paid, loan_id OR DELETE ON fines
+    FOR EACH ROW EXECUTE FUNCTION fines_track_unpaid();
@@ -0,0 +1,25 @@
+-- Busca textual sem acentos: "ficcao" encontra "Ficção", como no índice em memória (CatalogIndex).
+-- A configuração 'catalog' é a 'simple' com unaccent antes do dicionário; to_tsvector(regconfig, text)
+-- continua imutável, então pode ser usada nas colunas geradas. Palavras só com ASCII não passam
+-- pelo unaccent.
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+CREATE TEXT SEARCH CONFIGURATION catalog (COPY = simple);
+ALTER TEXT SEARCH CONFIGURATION catalog
+    ALTER MAPPING FOR word, hword, hword_part WITH unaccent, simple;
+
+-- Colunas geradas não aceitam troca de expressão; recriar também recria os índices GIN
+ALTER TABLE books DROP COLUMN search_vector;
+ALTER TABLE books ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('catalog', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('catalog', coalesce(publisher, '')), 'C') ||
+    setweight(to_tsvector('catalog', coalesce(description, '')), 'D')
+) STORED;
+
+ALTER TABLE authors DROP COLUMN search_vector;
+ALTER TABLE authors ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    to_tsvector('catalog', coalesce(name, ''))
+) STORED;
+
+CREATE INDEX idx_books_search ON books USING gin(search_vector);
+CREATE INDEX idx_authors_search ON authors USING gin(search_vector);
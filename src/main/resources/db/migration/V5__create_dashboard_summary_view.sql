@@ -0,0 +1,22 @@
+-- Single-row summary used by the dashboard snapshot.
+-- Refreshed by the application (REFRESH MATERIALIZED VIEW CONCURRENTLY), which needs the unique index.
+CREATE MATERIALIZED VIEW dashboard_summary AS
+SELECT 1 AS id,
+       (SELECT COUNT(*) FROM books WHERE is_deleted = FALSE) AS total_books,
+       (SELECT COUNT(*) FROM loans) AS total_loans,
+       (SELECT COUNT(*) FROM loans WHERE status = 'ACTIVE') AS active_loans,
+       (SELECT COUNT(*) FROM loans WHERE status = 'OVERDUE') AS overdue_loans,
+       (SELECT COUNT(*) FROM users WHERE deleted = FALSE) AS total_users,
+       (SELECT COALESCE(jsonb_agg(jsonb_build_object('category', ranking.name, 'count', ranking.loan_count)
+                                  ORDER BY ranking.loan_count DESC), '[]'::jsonb)
+          FROM (SELECT c.name, COUNT(l.id) AS loan_count
+                  FROM loans l
+                  JOIN books b ON b.id = l.book_id
+                  JOIN categories c ON c.id = b.category_id
+                 WHERE b.is_deleted = FALSE
+                 GROUP BY c.id, c.name
+                 ORDER BY loan_count DESC
+                 LIMIT 20) ranking) AS top_categories,
+       NOW() AS refreshed_at;
+
+CREATE UNIQUE INDEX idx_dashboard_summary_id ON dashboard_summary(id);
@@ -0,0 +1,10 @@
+-- Atividades gravadas na mesma transação da operação de negócio (library.activities.log.mode=OUTBOX).
+-- Um relay move as linhas em lote para a tabela activities.
+CREATE TABLE activity_outbox (
+                                 id BIGSERIAL PRIMARY KEY,
+                                 activity_type VARCHAR(50) NOT NULL,
+                                 description VARCHAR(500) NOT NULL,
+                                 timestamp TIMESTAMP NOT NULL DEFAULT NOW(),
+                                 user_name VARCHAR(255),
+                                 book_title VARCHAR(255)
+);
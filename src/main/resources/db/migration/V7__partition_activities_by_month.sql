@@ -0,0 +1,42 @@
+-- Converte activities em tabela particionada por mês (coluna timestamp).
+-- Novas partições são criadas antecipadamente pela aplicação (ActivityPartitionMaintenance),
+-- que também desanexa, exporta e remove as partições fora do período de retenção.
+ALTER TABLE activities RENAME TO activities_legacy;
+ALTER INDEX idx_activities_timestamp RENAME TO idx_activities_legacy_timestamp;
+
+-- A chave primária de uma tabela particionada precisa conter a chave de partição
+CREATE TABLE activities (
+                            id BIGINT NOT NULL DEFAULT nextval('activities_id_seq'),
+                            activity_type VARCHAR(50) NOT NULL,
+                            description VARCHAR(500) NOT NULL,
+                            timestamp TIMESTAMP NOT NULL DEFAULT NOW(),
+                            user_name VARCHAR(255),
+                            book_title VARCHAR(255),
+                            PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+ALTER TABLE activities_legacy ALTER COLUMN id DROP DEFAULT;
+ALTER SEQUENCE activities_id_seq OWNED BY activities.id;
+
+CREATE INDEX idx_activities_timestamp ON activities(timestamp);
+
+-- Recebe linhas fora das partições mensais (ex.: relógio adiantado); deve permanecer vazia
+CREATE TABLE activities_default PARTITION OF activities DEFAULT;
+
+DO $$
+DECLARE
+    month_start DATE;
+    last_month DATE := date_trunc('month', NOW()) + INTERVAL '3 months';
+BEGIN
+    SELECT date_trunc('month', COALESCE(MIN(timestamp), NOW())) INTO month_start FROM activities_legacy;
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE activities_p%s PARTITION OF activities FOR VALUES FROM (%L) TO (%L)',
+                       to_char(month_start, 'YYYYMM'), month_start, month_start + INTERVAL '1 month');
+        month_start := month_start + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+INSERT INTO activities (id, activity_type, description, timestamp, user_name, book_title)
+SELECT id, activity_type, description, timestamp, user_name, book_title FROM activities_legacy;
+
+DROP TABLE activities_legacy;
@@ -0,0 +1,20 @@
+-- Busca textual do catálogo (/api/v1/search).
+-- Configuração 'simple' (sem stemming) porque o acervo mistura idiomas; a aplicação usa busca por prefixo.
+ALTER TABLE books ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(publisher, '')), 'C') ||
+    setweight(to_tsvector('simple', coalesce(description, '')), 'D')
+) STORED;
+
+ALTER TABLE authors ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    to_tsvector('simple', coalesce(name, ''))
+) STORED;
+
+CREATE INDEX idx_books_search ON books USING gin(search_vector);
+CREATE INDEX idx_authors_search ON authors USING gin(search_vector);
+CREATE INDEX idx_book_author_author ON book_author(author_id);
+
+-- Índices trigram para as buscas por trecho (upper(col) LIKE upper(?)) geradas pelo Spring Data
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX idx_books_title_trgm ON books USING gin(upper(title) gin_trgm_ops);
+CREATE INDEX idx_authors_name_trgm ON authors USING gin(upper(name) gin_trgm_ops);
@@ -0,0 +1,2 @@
+-- Paginação por keyset do histórico de empréstimos: (loan_date, id) decrescente
+CREATE INDEX idx_loans_loan_date_id ON loans (loan_date DESC, id DESC);
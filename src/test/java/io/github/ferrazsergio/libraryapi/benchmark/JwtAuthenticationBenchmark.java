@@ -0,0 +1,100 @@
+package io.github.ferrazsergio.libraryapi.benchmark;
+
+import io.github.ferrazsergio.libraryapi.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Custo de autenticação por requisição no {@code JwtAuthenticationFilter}.
+ * <ul>
+ *   <li>{@code doubleParse}: caminho antigo, dois parsers novos e duas verificações HMAC;</li>
+ *   <li>{@code singleParse}: parser compartilhado, uma verificação (primeira vez que o token aparece);</li>
+ *   <li>{@code cachedToken}: token já verificado, só o SHA-256 e a consulta ao cache.</li>
+ * </ul>
+ * Executar com {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=io.github.ferrazsergio.libraryapi.benchmark.JwtAuthenticationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class JwtAuthenticationBenchmark {
+
+    private static final String SECRET = "f7b0c3a5d9e2814c6b9a0f2e7d4a8c1e3b5f0d6a9c7b4e2d8a1f3b6e9d7c2a5f8";
+
+    private SecretKey secretKey;
+    private JwtParser parser;
+    private JwtTokenProvider provider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        secretKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(secretKey).build();
+        provider = new JwtTokenProvider(SECRET, 86_400_000L, 10_000);
+
+        User user = new User("reader@library.com", "", List.of(new SimpleGrantedAuthority("ROLE_READER")));
+        token = provider.createToken(new UsernamePasswordAuthenticationToken(user, "", user.getAuthorities()));
+        provider.authenticate(token);
+    }
+
+    @Benchmark
+    public Authentication doubleParse() {
+        Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token);
+        Claims claims = Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload();
+
+        List<GrantedAuthority> authorities = Arrays.stream(claims.get("roles", String.class).split(","))
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+        return new UsernamePasswordAuthenticationToken(claims.getSubject(), "", authorities);
+    }
+
+    @Benchmark
+    public Authentication singleParse() {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        return new UsernamePasswordAuthenticationToken(claims.getSubject(), "",
+                AuthorityUtils.commaSeparatedStringToAuthorityList(claims.get("roles", String.class)));
+    }
+
+    @Benchmark
+    public Authentication cachedToken() {
+        return provider.authenticate(token).orElseThrow();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthenticationBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
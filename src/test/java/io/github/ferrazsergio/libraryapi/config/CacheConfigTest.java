@@ -0,0 +1,74 @@
+package io.github.ferrazsergio.libraryapi.config;
+
+import io.github.ferrazsergio.libraryapi.infrastructure.cache.CacheInvalidationMessage;
+import io.github.ferrazsergio.libraryapi.infrastructure.cache.StatisticsCacheSerializer;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.BookDTO;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.BookStockDTO;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.CategoryStatisticsDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CacheConfigTest {
+
+    private final RedisSerializer<Object> serializer = new CacheConfig().cacheValueSerializer();
+    private final RedisSerializer<Object> statisticsSerializer = new StatisticsCacheSerializer(serializer);
+
+    @Test
+    void statisticsShouldKeepTheStoredNumericType() {
+        // Act & Assert
+        assertEquals(5L, statisticsSerializer.deserialize(statisticsSerializer.serialize(5L)));
+        assertEquals(5, statisticsSerializer.deserialize(statisticsSerializer.serialize(5)));
+        assertEquals(87.5, statisticsSerializer.deserialize(statisticsSerializer.serialize(87.5)));
+        assertEquals(new BookStockDTO(10, 4),
+                statisticsSerializer.deserialize(statisticsSerializer.serialize(new BookStockDTO(10, 4))));
+    }
+
+    @Test
+    void rootIntegerShouldNotBeRewritten() {
+        // Act
+        Object result = serializer.deserialize(serializer.serialize(5));
+
+        // Assert
+        assertEquals(5, result);
+    }
+
+    @Test
+    void dtoShouldRoundTripWithoutTypeIdsOnFinalFields() {
+        // Arrange
+        BookDTO book = BookDTO.builder().id(1).title("1984").publishDate(LocalDate.of(1949, 6, 8)).build();
+
+        // Act
+        byte[] json = serializer.serialize(book);
+
+        // Assert
+        assertEquals(book, serializer.deserialize(json));
+        assertTrue(new String(json, StandardCharsets.UTF_8).contains("\"publishDate\":\"1949-06-08\""));
+    }
+
+    @Test
+    void listsShouldKeepElementTypes() {
+        // Arrange
+        List<CategoryStatisticsDTO> top = new ArrayList<>(List.of(new CategoryStatisticsDTO("Romance", 3L)));
+
+        // Act & Assert
+        assertEquals(top, serializer.deserialize(serializer.serialize(top)));
+        assertEquals(new BookStockDTO(10, 4),
+                serializer.deserialize(serializer.serialize(new BookStockDTO(10, 4))));
+    }
+
+    @Test
+    void invalidationMessageShouldKeepIntegerKeys() {
+        // Act
+        Object result = serializer.deserialize(serializer.serialize(new CacheInvalidationMessage("node", "authors", 7)));
+
+        // Assert
+        assertEquals(new CacheInvalidationMessage("node", "authors", 7), result);
+    }
+}
@@ -0,0 +1,115 @@
+package io.github.ferrazsergio.libraryapi.infrastructure.activity;
+
+import io.github.ferrazsergio.libraryapi.config.ActivityLogProperties;
+import io.github.ferrazsergio.libraryapi.domain.model.Activity;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.ActivityBatchRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ActivityLogWriterTest {
+
+    @Mock
+    private ActivityBatchRepository repository;
+
+    @Mock
+    private RecentActivityFeed recentActivityFeed;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ActivityLogProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new ActivityLogProperties();
+    }
+
+    @Test
+    void stopShouldFlushQueuedActivitiesInBatches() {
+        // Arrange
+        properties.setBatchSize(2);
+        ActivityLogWriter writer = new ActivityLogWriter(properties, repository, recentActivityFeed, meterRegistry);
+        writer.start();
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            writer.submit(activity("Livro " + i));
+        }
+        writer.stop();
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Activity>> batches = ArgumentCaptor.forClass(List.class);
+        verify(repository, atLeastOnce()).insertAll(batches.capture());
+        assertTrue(batches.getAllValues().stream().allMatch(batch -> batch.size() <= 2));
+        assertEquals(5, batches.getAllValues().stream().mapToInt(List::size).sum());
+        assertEquals(5.0, meterRegistry.get("library.activities.written").counter().count());
+    }
+
+    @Test
+    void submitShouldDropWhenQueueIsFullAndPolicyIsDrop() throws InterruptedException {
+        // Arrange
+        properties.setQueueCapacity(1);
+        properties.setOverflow(ActivityLogProperties.OverflowPolicy.DROP);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(repository).insertAll(anyList());
+
+        ActivityLogWriter writer = new ActivityLogWriter(properties, repository, recentActivityFeed, meterRegistry);
+        writer.start();
+
+        // Act
+        writer.submit(activity("Em gravação"));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        writer.submit(activity("Na fila"));
+        writer.submit(activity("Descartada"));
+        release.countDown();
+        writer.stop();
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("library.activities.dropped").tag("reason", "overflow").counter().count());
+        verify(repository, times(2)).insertAll(anyList());
+    }
+
+    @Test
+    void submitShouldWriteToOutboxInOutboxMode() {
+        // Arrange
+        properties.setMode(ActivityLogProperties.Mode.OUTBOX);
+        ActivityLogWriter writer = new ActivityLogWriter(properties, repository, recentActivityFeed, meterRegistry);
+        writer.start();
+        Activity activity = activity("1984");
+
+        // Act
+        writer.submit(activity);
+
+        // Assert
+        verify(repository).insertOutbox(List.of(activity));
+        verify(repository, never()).insertAll(anyList());
+        assertFalse(writer.isRunning());
+    }
+
+    private Activity activity(String bookTitle) {
+        Activity activity = new Activity();
+        activity.setActivityType("BOOK_CREATED");
+        activity.setDescription("Livro criado: " + bookTitle);
+        activity.setBookTitle(bookTitle);
+        return activity;
+    }
+}
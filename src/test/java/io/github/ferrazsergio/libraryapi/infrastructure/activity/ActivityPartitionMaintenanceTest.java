@@ -0,0 +1,111 @@
+package io.github.ferrazsergio.libraryapi.infrastructure.activity;
+
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.ActivityPartitionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ActivityPartitionMaintenanceTest {
+
+    @Mock
+    private ActivityPartitionRepository partitionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path archiveDir;
+
+    @Test
+    void maintainPartitionsShouldCreateUpcomingMonthsAndDetachExpiredOnes() {
+        // Arrange
+        ActivityPartitionMaintenance maintenance = maintenance();
+        when(partitionRepository.tryLock()).thenReturn(true);
+        when(partitionRepository.findAttachedPartitions())
+                .thenReturn(List.of("activities_p202409", "activities_p202410", "activities_p202510"));
+
+        // Act
+        maintenance.maintainPartitions(YearMonth.of(2025, 10));
+
+        // Assert
+        verify(partitionRepository).createPartition(YearMonth.of(2025, 10));
+        verify(partitionRepository).createPartition(YearMonth.of(2026, 1));
+        verify(partitionRepository, times(4)).createPartition(any(YearMonth.class));
+        verify(partitionRepository).detachPartition("activities_p202409");
+        verify(partitionRepository, times(1)).detachPartition(anyString());
+    }
+
+    @Test
+    void maintainPartitionsShouldSkipWhenAnotherNodeHoldsTheLock() {
+        // Arrange
+        ActivityPartitionMaintenance maintenance = maintenance();
+        when(partitionRepository.tryLock()).thenReturn(false);
+
+        // Act
+        maintenance.maintainPartitions(YearMonth.of(2025, 10));
+
+        // Assert
+        verify(partitionRepository, never()).createPartition(any(YearMonth.class));
+        verify(partitionRepository, never()).detachPartition(anyString());
+    }
+
+    @Test
+    void archiveShouldWriteCompressedFileBeforeDroppingPartition() throws Exception {
+        // Arrange
+        ActivityPartitionMaintenance maintenance = maintenance();
+        when(partitionRepository.tryLock()).thenReturn(true);
+        when(partitionRepository.findDetachedPartitions()).thenReturn(List.of("activities_p202409"));
+        when(partitionRepository.exportCsv(eq("activities_p202409"), any(Writer.class))).thenAnswer(invocation -> {
+            invocation.getArgument(1, Writer.class).write("id,activity_type\n1,\"LOAN\"\n");
+            return 1L;
+        });
+
+        // Act
+        maintenance.archiveDetachedPartitions();
+
+        // Assert
+        Path archive = archiveDir.resolve("activities_p202409.csv.gz");
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(archive))) {
+            assertEquals("id,activity_type\n1,\"LOAN\"\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        verify(partitionRepository).dropPartition("activities_p202409");
+    }
+
+    @Test
+    void archiveShouldKeepPartitionWhenExportFails() {
+        // Arrange
+        ActivityPartitionMaintenance maintenance = maintenance();
+        when(partitionRepository.tryLock()).thenReturn(true);
+        when(partitionRepository.findDetachedPartitions()).thenReturn(List.of("activities_p202409"));
+        when(partitionRepository.exportCsv(eq("activities_p202409"), any(Writer.class)))
+                .thenThrow(new IllegalStateException("connection lost"));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, maintenance::archiveDetachedPartitions);
+        verify(partitionRepository, never()).dropPartition(anyString());
+        assertFalse(Files.exists(archiveDir.resolve("activities_p202409.csv.gz")));
+    }
+
+    private ActivityPartitionMaintenance maintenance() {
+        return new ActivityPartitionMaintenance(partitionRepository, transactionManager, true, 12, 3, archiveDir);
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.ferrazsergio.libraryapi.infrastructure.activity;
+
+import io.github.ferrazsergio.libraryapi.domain.model.Activity;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.ActivityRepository;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.RecentActivityDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RecentActivityFeedTest {
+
+    @Mock
+    private ActivityRepository activityRepository;
+
+    @Test
+    void latestShouldReturnNewestFirstWithoutQueryingDatabase() {
+        // Arrange
+        RecentActivityFeed feed = new RecentActivityFeed(activityRepository, 8);
+        when(activityRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(activities(3, 2, 1)));
+        feed.reload();
+
+        // Act
+        List<RecentActivityDTO> latest = feed.latest(2);
+
+        // Assert
+        assertEquals(List.of(3L, 2L), ids(latest));
+        verify(activityRepository, times(1)).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void catchUpShouldAppendActivitiesAfterLastKnownId() {
+        // Arrange
+        RecentActivityFeed feed = new RecentActivityFeed(activityRepository, 8);
+        when(activityRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(activities(2, 1)));
+        when(activityRepository.findByIdGreaterThanOrderByIdAsc(eq(2L), any(Pageable.class)))
+                .thenReturn(activities(3, 4));
+        feed.reload();
+
+        // Act
+        feed.catchUp();
+
+        // Assert
+        assertEquals(List.of(4L, 3L, 2L, 1L), ids(feed.latest(10)));
+        assertEquals(List.of(3L, 4L), ids(feed.since(2, 10)));
+    }
+
+    @Test
+    void sinceShouldReturnNullWhenRangeWasEvicted() {
+        // Arrange
+        RecentActivityFeed feed = new RecentActivityFeed(activityRepository, 4);
+        when(activityRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(activities(2, 1)));
+        when(activityRepository.findByIdGreaterThanOrderByIdAsc(eq(2L), any(Pageable.class)))
+                .thenReturn(activities(3, 4, 5, 6));
+        feed.reload();
+        feed.catchUp();
+
+        // Act & Assert
+        assertNull(feed.since(1, 10));
+        assertEquals(List.of(5L, 6L), ids(feed.since(4, 10)));
+        assertEquals(List.of(6L, 5L, 4L), ids(feed.latest(10)));
+    }
+
+    private List<Activity> activities(long... ids) {
+        return LongStream.of(ids)
+                .mapToObj(id -> Activity.builder()
+                        .id(id)
+                        .activityType("LOAN")
+                        .description("Atividade " + id)
+                        .timestamp(LocalDateTime.now().plusSeconds(id))
+                        .build())
+                .toList();
+    }
+
+    private List<Long> ids(List<RecentActivityDTO> activities) {
+        return activities.stream().map(RecentActivityDTO::getId).toList();
+    }
+}
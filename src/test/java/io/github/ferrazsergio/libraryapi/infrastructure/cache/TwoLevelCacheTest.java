@@ -0,0 +1,102 @@
+package io.github.ferrazsergio.libraryapi.infrastructure.cache;
+
+import io.github.ferrazsergio.libraryapi.config.LibraryCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TwoLevelCacheTest {
+
+    @Mock
+    private TwoLevelCacheManager cacheManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrentMapCache remoteCache;
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        remoteCache = new ConcurrentMapCache("books");
+        cache = new TwoLevelCache("books", remoteCache, new LibraryCacheProperties.Spec(), cacheManager, meterRegistry);
+    }
+
+    @Test
+    void getShouldPromoteRemoteHitToLocalCache() {
+        // Arrange
+        remoteCache.put(1, "1984");
+
+        // Act
+        assertEquals("1984", cache.get(1).get());
+        remoteCache.evict(1);
+
+        // Assert
+        assertEquals("1984", cache.get(1).get());
+        assertEquals(1.0, counter("l2", "hit"));
+        assertEquals(1.0, counter("l1", "hit"));
+    }
+
+    @Test
+    void getShouldReturnNullAndCountMissWhenAbsent() {
+        // Act & Assert
+        assertNull(cache.get(99));
+        assertEquals(1.0, counter("l2", "miss"));
+    }
+
+    @Test
+    void evictShouldRemoveBothLevelsAndPublishInvalidation() {
+        // Arrange
+        cache.put(1, "1984");
+
+        // Act
+        cache.evict(1);
+
+        // Assert
+        assertNull(cache.get(1));
+        assertNull(remoteCache.get(1));
+        verify(cacheManager, times(2)).publishInvalidation("books", 1);
+    }
+
+    @Test
+    void remoteInvalidationShouldOnlyDropLocalEntry() {
+        // Arrange
+        cache.put(1, "1984");
+
+        // Act
+        cache.onRemoteInvalidation(1);
+
+        // Assert
+        assertNotNull(remoteCache.get(1));
+        assertEquals("1984", cache.get(1).get());
+        assertEquals(1.0, counter("l2", "hit"));
+    }
+
+    @Test
+    void getWithLoaderShouldLoadOnceAndCache() {
+        // Act
+        String first = cache.get(1, () -> "1984");
+        String second = cache.get(1, () -> "other");
+
+        // Assert
+        assertEquals("1984", first);
+        assertEquals("1984", second);
+        assertEquals("1984", remoteCache.get(1).get());
+    }
+
+    private double counter(String tier, String result) {
+        return meterRegistry.get("library.cache.gets")
+                .tag("cache", "books")
+                .tag("tier", tier)
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+}
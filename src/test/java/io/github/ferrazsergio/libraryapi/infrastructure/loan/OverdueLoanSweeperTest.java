@@ -0,0 +1,75 @@
+package io.github.ferrazsergio.libraryapi.infrastructure.loan;
+
+import io.github.ferrazsergio.libraryapi.domain.model.Loan;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.OverdueLoanRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OverdueLoanSweeperTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 10, 1);
+
+    @Mock
+    private OverdueLoanRepository overdueLoanRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void sweepShouldMarkInBatchesUntilAShortBatch() {
+        // Arrange
+        OverdueLoanSweeper sweeper = new OverdueLoanSweeper(overdueLoanRepository, transactionManager, 2);
+        when(overdueLoanRepository.tryLock()).thenReturn(true);
+        when(overdueLoanRepository.markOverdue(TODAY, 2)).thenReturn(2, 2, 1);
+        when(overdueLoanRepository.findLoansToAccrue(TODAY, 0, 2)).thenReturn(List.of());
+
+        // Act
+        sweeper.sweep(TODAY);
+
+        // Assert
+        verify(overdueLoanRepository, times(3)).markOverdue(TODAY, 2);
+    }
+
+    @Test
+    void sweepShouldAccrueFinesWithKeysetOverLoanIds() {
+        // Arrange
+        OverdueLoanSweeper sweeper = new OverdueLoanSweeper(overdueLoanRepository, transactionManager, 2);
+        when(overdueLoanRepository.tryLock()).thenReturn(true);
+        when(overdueLoanRepository.markOverdue(TODAY, 2)).thenReturn(0);
+        when(overdueLoanRepository.findLoansToAccrue(TODAY, 0, 2)).thenReturn(List.of(3, 7));
+        when(overdueLoanRepository.findLoansToAccrue(TODAY, 7, 2)).thenReturn(List.of(9));
+
+        // Act
+        sweeper.sweep(TODAY);
+
+        // Assert
+        verify(overdueLoanRepository).accrueFines(List.of(3, 7), TODAY, Loan.DAILY_FINE);
+        verify(overdueLoanRepository).accrueFines(List.of(9), TODAY, Loan.DAILY_FINE);
+    }
+
+    @Test
+    void sweepShouldStopWhenAnotherNodeHoldsTheLock() {
+        // Arrange
+        OverdueLoanSweeper sweeper = new OverdueLoanSweeper(overdueLoanRepository, transactionManager, 2);
+        when(overdueLoanRepository.tryLock()).thenReturn(false);
+
+        // Act
+        sweeper.sweep(TODAY);
+
+        // Assert
+        verify(overdueLoanRepository, never()).markOverdue(any(), anyInt());
+        verify(overdueLoanRepository, never()).accrueFines(anyList(), any(), any());
+    }
+}
@@ -0,0 +1,169 @@
+package io.github.ferrazsergio.libraryapi.infrastructure.search;
+
+import io.github.ferrazsergio.libraryapi.domain.model.Author;
+import io.github.ferrazsergio.libraryapi.domain.model.Book;
+import io.github.ferrazsergio.libraryapi.domain.model.Category;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.AuthorRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.BookRepository;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.BookDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CatalogIndexTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private AuthorRepository authorRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CatalogIndex catalogIndex;
+    private Author machado;
+
+    @BeforeEach
+    void setUp() {
+        Category ficcao = new Category();
+        ficcao.setId(1);
+        ficcao.setName("Ficção Científica");
+        Category romance = new Category();
+        romance.setId(2);
+        romance.setName("Romance");
+
+        machado = new Author();
+        machado.setId(10);
+        machado.setName("Machado de Assis");
+        Author garcia = new Author();
+        garcia.setId(11);
+        garcia.setName("Gabriel García Márquez");
+
+        when(bookRepository.findByDeletedFalseAndIdGreaterThanOrderByIdAsc(anyInt(), any(Pageable.class)))
+                .thenReturn(List.of(
+                        book(1, "O Amor nos Tempos do Cólera", null, romance, garcia),
+                        book(2, "Dom Casmurro", null, romance, machado),
+                        book(3, "Fundação", "Ficção científica sobre a queda de um império galáctico", ficcao, null)));
+        when(authorRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(machado, garcia)));
+
+        catalogIndex = new CatalogIndex(bookRepository, authorRepository, transactionManager, "memory");
+        catalogIndex.rebuild();
+    }
+
+    @Test
+    void searchShouldFoldAccentsAndMatchPrefixes() {
+        // Act & Assert
+        assertTrue(catalogIndex.isReady());
+        assertEquals(List.of(1), ids(catalogIndex.searchBooks("colera", null, null, PageRequest.of(0, 10))));
+        assertEquals(List.of(1), ids(catalogIndex.searchBooks("Cólera tem", null, null, PageRequest.of(0, 10))));
+        assertEquals(List.of(3), ids(catalogIndex.searchBooks("ficcao cient", null, null, PageRequest.of(0, 10))));
+        assertEquals(List.of(2), ids(catalogIndex.searchBooks("machado", null, null, PageRequest.of(0, 10))));
+        assertEquals("Gabriel García Márquez", catalogIndex.searchAuthors("garcia", 5).get(0).getName());
+    }
+
+    @Test
+    void searchShouldIndexSameFieldsAsDatabase() {
+        // Act & Assert
+        assertEquals(List.of(3), ids(catalogIndex.searchBooks("imperio galac", null, null, PageRequest.of(0, 10))));
+        // O nome da categoria não está no search_vector do banco, então também não é termo aqui
+        assertTrue(catalogIndex.searchBooks("romance", null, null, PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void searchShouldIntersectWithCategoryAndAuthorFilters() {
+        // Act & Assert
+        assertEquals(List.of(1, 2), ids(catalogIndex.searchBooks("d", 2, null, PageRequest.of(0, 10))));
+        assertEquals(List.of(2), ids(catalogIndex.searchBooks("d", 2, 10, PageRequest.of(0, 10))));
+        assertTrue(catalogIndex.searchBooks("dom", 1, null, PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void indexShouldReplaceTermsOfUpdatedBook() {
+        // Arrange
+        BookDTO renamed = BookDTO.builder().id(2).title("Memórias Póstumas").categoryId(2).build();
+
+        // Act
+        catalogIndex.index(renamed);
+
+        // Assert
+        assertTrue(catalogIndex.searchBooks("casmurro", null, null, PageRequest.of(0, 10)).isEmpty());
+        assertEquals(List.of(2), ids(catalogIndex.searchBooks("postumas", null, null, PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void removeBookShouldDropItFromResults() {
+        // Act
+        catalogIndex.removeBook(3);
+
+        // Assert
+        assertTrue(catalogIndex.searchBooks("fundacao", null, null, PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void updateAvailabilityShouldKeepTerms() {
+        // Act
+        catalogIndex.updateAvailability(2, 0);
+
+        // Assert
+        Page<BookDTO> result = catalogIndex.searchBooks("dom", null, null, PageRequest.of(0, 10));
+        assertEquals(0, result.getContent().get(0).getAvailableQuantity());
+    }
+
+    @Test
+    void searchShouldRankTitleMatchesFirst() {
+        // Arrange
+        catalogIndex.index(BookDTO.builder().id(4).title("Machado").build());
+
+        // Act & Assert
+        assertEquals(List.of(4, 2), ids(catalogIndex.searchBooks("machado", null, null, PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void canAnswerShouldRejectPrefixesWithTooManyTerms() {
+        // Arrange
+        for (int i = 0; i < 300; i++) {
+            catalogIndex.index(BookDTO.builder().id(100 + i).title("Volume v" + i).build());
+        }
+
+        // Act & Assert
+        assertFalse(catalogIndex.canAnswer("v"));
+        assertFalse(catalogIndex.canAnswer("machado v"));
+        assertTrue(catalogIndex.canAnswer("v29"));
+        assertEquals(300, catalogIndex.searchBooks("volume", null, null, PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    private Book book(Integer id, String title, String description, Category category, Author author) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setDescription(description);
+        book.setCategory(category);
+        book.setAvailableQuantity(1);
+        book.setTotalQuantity(1);
+        if (author != null) {
+            book.setAuthors(Set.of(author));
+        }
+        return book;
+    }
+
+    private List<Integer> ids(Page<BookDTO> page) {
+        return page.getContent().stream().map(BookDTO::getId).toList();
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.ferrazsergio.libraryapi.infrastructure.storage;
+
+import io.github.ferrazsergio.libraryapi.application.exception.InvalidRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AvatarStoreTest {
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 13, 'I', 'H', 'D', 'R'};
+
+    @TempDir
+    Path root;
+
+    private AvatarStore avatarStore;
+
+    @BeforeEach
+    void setUp() {
+        avatarStore = new AvatarStore(root);
+    }
+
+    @Test
+    void storeShouldNameFileByContentAndShareDuplicates() throws IOException {
+        // Act
+        String first = avatarStore.store(new MockMultipartFile("avatar", "me.jpeg", "image/jpeg", PNG));
+        String second = avatarStore.store(new MockMultipartFile("avatar", "other.png", "image/png", PNG));
+
+        // Assert
+        assertEquals(first, second);
+        assertTrue(first.matches("[0-9a-f]{64}\\.png"));
+        try (var files = Files.list(root)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void storeShouldRejectContentThatIsNotAnImage() {
+        // Arrange
+        MockMultipartFile script = new MockMultipartFile("avatar", "avatar.png", "image/png",
+                "<script>alert(1)</script>".getBytes());
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> avatarStore.store(script));
+    }
+
+    @Test
+    void findShouldUseHashAsStrongImmutableEtag() {
+        // Arrange
+        String filename = avatarStore.store(new MockMultipartFile("avatar", "me.png", "image/png", PNG));
+
+        // Act
+        StoredFile file = avatarStore.find(filename).orElseThrow();
+
+        // Assert
+        assertEquals("\"" + filename.substring(0, 64) + "\"", file.etag());
+        assertTrue(file.immutable());
+        assertEquals("image/png", file.contentType());
+        assertEquals(PNG.length, file.size());
+    }
+
+    @Test
+    void findShouldServeLegacyNamesWithWeakEtag() throws IOException {
+        // Arrange
+        Files.write(root.resolve("user_1_1700000000000.png"), PNG);
+
+        // Act
+        StoredFile file = avatarStore.find("user_1_1700000000000.png").orElseThrow();
+
+        // Assert
+        assertTrue(file.etag().startsWith("W/\""));
+        assertFalse(file.immutable());
+    }
+
+    @Test
+    void findShouldRejectPathsOutsideTheStore() {
+        // Act
+        Optional<StoredFile> result = avatarStore.find("../application.properties");
+
+        // Assert
+        assertTrue(result.isEmpty());
+        assertTrue(avatarStore.find("missing.png").isEmpty());
+    }
+}
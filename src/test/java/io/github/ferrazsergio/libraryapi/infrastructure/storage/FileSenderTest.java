@@ -0,0 +1,115 @@
+package io.github.ferrazsergio.libraryapi.infrastructure.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileSenderTest {
+
+    private static final String ETAG = "\"abc123\"";
+
+    @TempDir
+    Path root;
+
+    private final FileSender fileSender = new FileSender();
+
+    private StoredFile file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path path = Files.writeString(root.resolve("avatar.png"), "0123456789");
+        file = new StoredFile(path, "image/png", 10, 1_700_000_000_000L, ETAG, true);
+    }
+
+    @Test
+    void sendShouldWriteWholeFileWithCachingHeaders() throws IOException {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/avatar.png");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        fileSender.send(file, request, response);
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertEquals("0123456789", response.getContentAsString(StandardCharsets.UTF_8));
+        assertEquals(ETAG, response.getHeader(HttpHeaders.ETAG));
+        assertTrue(response.getHeader(HttpHeaders.CACHE_CONTROL).contains("immutable"));
+        assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+    }
+
+    @Test
+    void sendShouldAnswerNotModifiedForMatchingEtag() throws IOException {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/avatar.png");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ETAG);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        fileSender.send(file, request, response);
+
+        // Assert
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void sendShouldServeRequestedRange() throws IOException {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/avatar.png");
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        fileSender.send(file, request, response);
+
+        // Assert
+        assertEquals(206, response.getStatus());
+        assertEquals("2345", response.getContentAsString(StandardCharsets.UTF_8));
+        assertEquals("bytes 2-5/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(4, response.getContentLengthLong());
+    }
+
+    @Test
+    void sendShouldRejectUnsatisfiableRange() throws IOException {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/avatar.png");
+        request.addHeader(HttpHeaders.RANGE, "bytes=20-30");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        fileSender.send(file, request, response);
+
+        // Assert
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void sendShouldHandOffToSendfileWhenSupported() throws IOException {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/avatar.png");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=-3");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        fileSender.send(file, request, response);
+
+        // Assert
+        assertEquals(206, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(7L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals(10L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+    }
+}
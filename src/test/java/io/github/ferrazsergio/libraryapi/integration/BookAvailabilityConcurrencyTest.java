@@ -0,0 +1,206 @@
+package io.github.ferrazsergio.libraryapi.integration;
+
+import io.github.ferrazsergio.libraryapi.application.service.ActivityService;
+import io.github.ferrazsergio.libraryapi.application.service.HoldService;
+import io.github.ferrazsergio.libraryapi.application.service.LoanService;
+import io.github.ferrazsergio.libraryapi.domain.model.Book;
+import io.github.ferrazsergio.libraryapi.domain.model.User;
+import io.github.ferrazsergio.libraryapi.infrastructure.cache.BookCache;
+import io.github.ferrazsergio.libraryapi.infrastructure.hold.HoldQueueIndex;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.BookRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.TableStatisticsRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.UserRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.search.CatalogIndex;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.LoanDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste de estresse do estoque de empréstimo: muitas chamadas concorrentes a
+ * {@link LoanService} disputam poucos exemplares, cada uma na própria transação do serviço,
+ * e o estoque não pode ficar negativo nem passar do total.
+ */
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // cada thread precisa da própria transação
+@Import({LoanService.class, HoldService.class})
+public class BookAvailabilityConcurrencyTest {
+
+    private static final int COPIES = 5;
+    private static final int THREADS = 32;
+    private static final int ATTEMPTS = 200;
+    private static final int RETURNS_PER_LOAN = 8;
+
+    @Container
+    static PostgreSQLContainer<?> postgresContainer = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void postgresqlProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgresContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgresContainer::getUsername);
+        registry.add("spring.datasource.password", postgresContainer::getPassword);
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> String.valueOf(THREADS));
+    }
+
+    @MockitoBean
+    private ActivityService activityService;
+
+    @MockitoBean
+    private BookCache bookCache;
+
+    @MockitoBean
+    private CatalogIndex catalogIndex;
+
+    @MockitoBean
+    private HoldQueueIndex queueIndex;
+
+    @MockitoBean
+    private TableStatisticsRepository tableStatistics;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Integer bookId;
+    private Integer userId;
+
+    @BeforeEach
+    void setUp() {
+        Book book = new Book();
+        book.setIsbn("CONCURRENCY-1");
+        book.setTitle("Disputado");
+        book.setAvailableQuantity(COPIES);
+        book.setTotalQuantity(COPIES);
+        bookId = bookRepository.save(book).getId();
+
+        User user = new User();
+        user.setName("Leitor concorrente");
+        user.setEmail("concorrente@teste.com");
+        user.setPassword("hash");
+        user.setRole(User.Role.READER);
+        user.setCreatedAt(LocalDateTime.now());
+        userId = userRepository.save(user).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM loans WHERE book_id = ?", bookId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+        jdbcTemplate.update("DELETE FROM books WHERE id = ?", bookId);
+    }
+
+    @Test
+    void concurrentLoansShouldNeverOversell() throws Exception {
+        // Arrange
+        List<Callable<LoanDTO>> attempts = new ArrayList<>(ATTEMPTS);
+        for (int i = 0; i < ATTEMPTS; i++) {
+            attempts.add(() -> loanService.createLoan(loanRequest()));
+        }
+
+        // Act
+        int granted = race(attempts, "Book is not available for loan");
+
+        // Assert
+        assertEquals(COPIES, granted);
+        assertEquals(0, bookRepository.findAvailableQuantity(bookId));
+    }
+
+    @Test
+    void concurrentReturnsShouldReleaseEachCopyOnce() throws Exception {
+        // Arrange
+        List<Callable<LoanDTO>> attempts = new ArrayList<>(COPIES * RETURNS_PER_LOAN);
+        for (int i = 0; i < COPIES; i++) {
+            Integer loanId = loanService.createLoan(loanRequest()).getId();
+            for (int j = 0; j < RETURNS_PER_LOAN; j++) {
+                attempts.add(() -> loanService.returnBook(loanId));
+            }
+        }
+
+        // Act
+        int returned = race(attempts, "This book has already been returned");
+
+        // Assert
+        assertEquals(COPIES, returned);
+        assertEquals(COPIES, bookRepository.findAvailableQuantity(bookId));
+    }
+
+    private LoanDTO loanRequest() {
+        return LoanDTO.builder()
+                .bookId(bookId)
+                .userId(userId)
+                .build();
+    }
+
+    /**
+     * Dispara as chamadas ao mesmo tempo e devolve quantas o serviço aceitou. Recusas com a
+     * mensagem esperada são o resultado correto de quem perdeu a disputa; qualquer outra
+     * falha (deadlock, violação de constraint) derruba o teste.
+     */
+    private int race(List<Callable<LoanDTO>> attempts, String expectedRefusal) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<LoanDTO>> results = new ArrayList<>(attempts.size());
+            for (Callable<LoanDTO> attempt : attempts) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return attempt.call();
+                }));
+            }
+            start.countDown();
+
+            int accepted = 0;
+            for (Future<LoanDTO> result : results) {
+                try {
+                    result.get();
+                    accepted++;
+                } catch (ExecutionException e) {
+                    if (!expectedRefusal.equals(e.getCause().getMessage())) {
+                        throw e;
+                    }
+                }
+            }
+            return accepted;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
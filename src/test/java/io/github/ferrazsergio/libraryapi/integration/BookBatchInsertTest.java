@@ -0,0 +1,115 @@
+package io.github.ferrazsergio.libraryapi.integration;
+
+import io.github.ferrazsergio.libraryapi.domain.model.Author;
+import io.github.ferrazsergio.libraryapi.domain.model.Book;
+import io.github.ferrazsergio.libraryapi.domain.model.Category;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.BookRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Gravação em massa pelo Hibernate. Com ids por sequência (pooled-lo, V11) e
+ * {@code hibernate.jdbc.batch_size}, 500 livros com 2 autores cada deixam de custar
+ * 1.500 INSERTs individuais e passam a dezenas de lotes.
+ */
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class BookBatchInsertTest {
+
+    private static final int BOOKS = 500;
+    private static final int AUTHORS_PER_BOOK = 2;
+    // hibernate.jdbc.batch_size e INCREMENT BY das sequências (V11)
+    private static final int BATCH_SIZE = 50;
+
+    @Container
+    static PostgreSQLContainer<?> postgresContainer = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void postgresqlProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgresContainer.getJdbcUrl() + "&reWriteBatchedInserts=true");
+        registry.add("spring.datasource.username", postgresContainer::getUsername);
+        registry.add("spring.datasource.password", postgresContainer::getPassword);
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+    }
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void saveAllShouldBatchInserts() {
+        // Arrange
+        Category category = entityManager.persist(category());
+        Author first = entityManager.persist(author("Autor 1"));
+        Author second = entityManager.persist(author("Autor 2"));
+        entityManager.flush();
+
+        List<Book> books = new ArrayList<>(BOOKS);
+        for (int i = 0; i < BOOKS; i++) {
+            Book book = new Book();
+            book.setIsbn("BATCH" + i);
+            book.setTitle("Livro em lote " + i);
+            book.setAvailableQuantity(1);
+            book.setTotalQuantity(1);
+            book.setCategory(category);
+            book.setAuthors(new HashSet<>(Set.of(first, second)));
+            books.add(book);
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        bookRepository.saveAll(books);
+        entityManager.flush();
+
+        // Assert
+        // Um nextval por bloco de ids, um lote por BATCH_SIZE livros e outro por BATCH_SIZE vínculos
+        long idBlocks = BOOKS / BATCH_SIZE;
+        long bookBatches = BOOKS / BATCH_SIZE;
+        long authorLinkBatches = (long) BOOKS * AUTHORS_PER_BOOK / BATCH_SIZE;
+        assertEquals(BOOKS, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= idBlocks + bookBatches + authorLinkBatches,
+                "expected batched inserts, got " + statistics.getPrepareStatementCount() + " statements");
+        assertTrue(books.stream().allMatch(book -> book.getId() != null));
+    }
+
+    private Category category() {
+        Category category = new Category();
+        category.setName("Lote");
+        return category;
+    }
+
+    private Author author(String name) {
+        Author author = new Author();
+        author.setName(name);
+        return author;
+    }
+}
@@ -0,0 +1,139 @@
+package io.github.ferrazsergio.libraryapi.integration;
+
+import io.github.ferrazsergio.libraryapi.domain.model.Author;
+import io.github.ferrazsergio.libraryapi.domain.model.Book;
+import io.github.ferrazsergio.libraryapi.domain.model.Category;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.BookRepository;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.BookDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class BookListingQueryCountTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgresContainer = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void postgresqlProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgresContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgresContainer::getUsername);
+        registry.add("spring.datasource.password", postgresContainer::getPassword);
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+    }
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Author author;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        category = entityManager.persist(category("Listagem"));
+        author = entityManager.persist(author("Autor A"));
+        Author coAuthor = entityManager.persist(author("Autor B"));
+
+        for (int i = 0; i < 60; i++) {
+            Book book = new Book();
+            book.setIsbn("LIST" + i);
+            book.setTitle("Livro de listagem " + i);
+            book.setAvailableQuantity(1);
+            book.setTotalQuantity(1);
+            book.setCategory(category);
+            book.setAuthors(new HashSet<>(Set.of(author, coAuthor)));
+            entityManager.persist(book);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findAllNotDeletedShouldUseSameStatementCountForAnyPageSize() {
+        assertConstantStatementCount(bookRepository::findAllNotDeleted);
+    }
+
+    @Test
+    void findByTitleShouldUseSameStatementCountForAnyPageSize() {
+        assertConstantStatementCount(pageable ->
+                bookRepository.findByTitleContainingIgnoreCaseAndDeletedFalse("listagem", pageable));
+    }
+
+    @Test
+    void findByAuthorShouldUseSameStatementCountForAnyPageSize() {
+        assertConstantStatementCount(pageable -> bookRepository.findByAuthorId(author.getId(), pageable));
+    }
+
+    @Test
+    void findByCategoryShouldUseSameStatementCountForAnyPageSize() {
+        assertConstantStatementCount(pageable -> bookRepository.findByCategoryId(category.getId(), pageable));
+    }
+
+    private void assertConstantStatementCount(Function<Pageable, Page<Book>> listing) {
+        long small = statementsFor(listing, PageRequest.of(0, 5));
+        long large = statementsFor(listing, PageRequest.of(0, 50));
+
+        // página + contagem + autores em lote
+        assertEquals(small, large);
+        assertTrue(large <= 3, "expected at most 3 statements, got " + large);
+    }
+
+    private long statementsFor(Function<Pageable, Page<Book>> listing, Pageable pageable) {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Page<BookDTO> page = listing.apply(pageable).map(BookDTO::fromEntity);
+
+        assertEquals(pageable.getPageSize(), page.getNumberOfElements());
+        page.forEach(book -> {
+            assertEquals("Listagem", book.getCategory().getName());
+            assertEquals(2, book.getAuthors().size());
+        });
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Category category(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return category;
+    }
+
+    private Author author(String name) {
+        Author author = new Author();
+        author.setName(name);
+        return author;
+    }
+}
@@ -0,0 +1,147 @@
+package io.github.ferrazsergio.libraryapi.integration;
+
+import io.github.ferrazsergio.libraryapi.application.service.ActivityService;
+import io.github.ferrazsergio.libraryapi.application.service.HoldService;
+import io.github.ferrazsergio.libraryapi.domain.model.Book;
+import io.github.ferrazsergio.libraryapi.domain.model.Hold;
+import io.github.ferrazsergio.libraryapi.domain.model.User;
+import io.github.ferrazsergio.libraryapi.infrastructure.cache.BookCache;
+import io.github.ferrazsergio.libraryapi.infrastructure.hold.HoldQueueIndex;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.BookRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.HoldRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.search.CatalogIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Roda a varredura de exemplares parados contra o schema real: a consulta nativa de
+ * {@code HoldRepository} não é exercitada pelos testes unitários, que usam mocks.
+ */
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(HoldService.class)
+public class HoldSweepIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgresContainer = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void postgresqlProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgresContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgresContainer::getUsername);
+        registry.add("spring.datasource.password", postgresContainer::getPassword);
+    }
+
+    @MockitoBean
+    private ActivityService activityService;
+
+    @MockitoBean
+    private BookCache bookCache;
+
+    @MockitoBean
+    private CatalogIndex catalogIndex;
+
+    @MockitoBean
+    private HoldQueueIndex queueIndex;
+
+    @Autowired
+    private HoldService holdService;
+
+    @Autowired
+    private HoldRepository holdRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void allocateStrandedCopiesShouldReadyFirstWaitingHold() {
+        // Arrange
+        Book book = entityManager.persist(book("STRANDED-1", 1, false));
+        User first = entityManager.persist(user("primeiro@teste.com"));
+        User second = entityManager.persist(user("segundo@teste.com"));
+        LocalDateTime now = LocalDateTime.now();
+        Hold firstHold = entityManager.persist(waitingHold(book, first, now.minusMinutes(2)));
+        Hold secondHold = entityManager.persist(waitingHold(book, second, now.minusMinutes(1)));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        int allocated = holdService.allocateStrandedCopies(10);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Assert
+        assertEquals(1, allocated);
+        assertEquals(0, bookRepository.findAvailableQuantity(book.getId()));
+        assertEquals(Hold.HoldStatus.READY, holdRepository.findById(firstHold.getId()).orElseThrow().getStatus());
+        assertEquals(Hold.HoldStatus.WAITING, holdRepository.findById(secondHold.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void allocateStrandedCopiesShouldSkipDeletedBooks() {
+        // Arrange
+        Book book = entityManager.persist(book("STRANDED-2", 1, true));
+        User user = entityManager.persist(user("removido@teste.com"));
+        Hold hold = entityManager.persist(waitingHold(book, user, LocalDateTime.now()));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        int allocated = holdService.allocateStrandedCopies(10);
+
+        // Assert
+        assertEquals(0, allocated);
+        assertEquals(1, bookRepository.findAvailableQuantity(book.getId()));
+        assertEquals(Hold.HoldStatus.WAITING, holdRepository.findById(hold.getId()).orElseThrow().getStatus());
+    }
+
+    private static Book book(String isbn, int available, boolean deleted) {
+        Book book = new Book();
+        book.setIsbn(isbn);
+        book.setTitle("Livro " + isbn);
+        book.setAvailableQuantity(available);
+        book.setTotalQuantity(available);
+        book.setDeleted(deleted);
+        return book;
+    }
+
+    private static User user(String email) {
+        User user = new User();
+        user.setName(email);
+        user.setEmail(email);
+        user.setPassword("hash");
+        user.setRole(User.Role.READER);
+        user.setCreatedAt(LocalDateTime.now());
+        return user;
+    }
+
+    private static Hold waitingHold(Book book, User user, LocalDateTime createdAt) {
+        return Hold.builder()
+                .book(book)
+                .user(user)
+                .status(Hold.HoldStatus.WAITING)
+                .createdAt(createdAt)
+                .build();
+    }
+}
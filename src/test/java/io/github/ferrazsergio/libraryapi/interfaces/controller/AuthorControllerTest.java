@@ -6,6 +6,7 @@ import io.github.ferrazsergio.libraryapi.config.SecurityConfig;
 import io.github.ferrazsergio.libraryapi.interfaces.dto.AuthorDTO;
 import io.github.ferrazsergio.libraryapi.interfaces.dto.BookDTO;
 import io.github.ferrazsergio.libraryapi.security.JwtTokenProvider;
+import io.github.ferrazsergio.libraryapi.security.PrincipalCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -50,6 +51,9 @@ class AuthorControllerTest {
     @MockitoBean
     private JwtTokenProvider jwtTokenProvider;
 
+    @MockitoBean
+    private PrincipalCache principalCache;
+
     @MockitoBean
     private UserDetailsService userDetailsService;
 
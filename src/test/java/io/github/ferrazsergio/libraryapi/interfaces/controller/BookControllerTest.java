@@ -1,10 +1,12 @@
 package io.github.ferrazsergio.libraryapi.interfaces.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.ferrazsergio.libraryapi.application.service.BookImportService;
 import io.github.ferrazsergio.libraryapi.application.service.BookService;
 import io.github.ferrazsergio.libraryapi.config.SecurityConfig;
 import io.github.ferrazsergio.libraryapi.interfaces.dto.BookDTO;
 import io.github.ferrazsergio.libraryapi.security.JwtTokenProvider;
+import io.github.ferrazsergio.libraryapi.security.PrincipalCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -57,9 +59,15 @@ class BookControllerTest {
     @MockitoBean
     private BookService bookService;
 
+    @MockitoBean
+    private BookImportService bookImportService;
+
     @MockitoBean
     private JwtTokenProvider jwtTokenProvider;
 
+    @MockitoBean
+    private PrincipalCache principalCache;
+
     @MockitoBean
     private UserDetailsService userDetailsService;
 
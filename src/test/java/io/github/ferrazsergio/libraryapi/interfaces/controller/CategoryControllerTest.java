@@ -6,6 +6,7 @@ import io.github.ferrazsergio.libraryapi.application.service.CategoryService;
 import io.github.ferrazsergio.libraryapi.config.SecurityConfig;
 import io.github.ferrazsergio.libraryapi.interfaces.dto.CategoryDTO;
 import io.github.ferrazsergio.libraryapi.security.JwtTokenProvider;
+import io.github.ferrazsergio.libraryapi.security.PrincipalCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -53,6 +54,9 @@ class CategoryControllerTest {
     @MockitoBean
     private JwtTokenProvider jwtTokenProvider;
 
+    @MockitoBean
+    private PrincipalCache principalCache;
+
     @MockitoBean
     private org.springframework.security.core.userdetails.UserDetailsService userDetailsService;
 
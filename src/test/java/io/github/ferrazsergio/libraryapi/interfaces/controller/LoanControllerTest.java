@@ -4,7 +4,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.ferrazsergio.libraryapi.application.service.LoanService;
 import io.github.ferrazsergio.libraryapi.config.SecurityConfig;
 import io.github.ferrazsergio.libraryapi.interfaces.dto.LoanDTO;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.LoanSummaryDTO;
 import io.github.ferrazsergio.libraryapi.security.JwtTokenProvider;
+import io.github.ferrazsergio.libraryapi.security.PrincipalCache;
 import io.github.ferrazsergio.libraryapi.security.LoanSecurityService;
 import io.github.ferrazsergio.libraryapi.security.UserSecurityService;
 import org.junit.jupiter.api.BeforeEach;
@@ -28,8 +30,11 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -63,6 +68,9 @@ class LoanControllerTest {
     @MockitoBean
     private JwtTokenProvider jwtTokenProvider;
 
+    @MockitoBean
+    private PrincipalCache principalCache;
+
     @MockitoBean
     private UserDetailsService userDetailsService;
 
@@ -100,6 +108,35 @@ class LoanControllerTest {
                 .andExpect(jsonPath("$.content[0].status", is("ACTIVE")));
     }
 
+    @Test
+    @WithMockUser(roles = "LIBRARIAN")
+    void getAllLoansWithSummaryViewShouldReturnSummaries() throws Exception {
+        LoanSummaryDTO summary = LoanSummaryDTO.builder()
+                .id(1).userId(1).userName("Test User").bookId(1).bookTitle("Test Book").status("ACTIVE")
+                .build();
+        when(loanService.findAllSummaries(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(summary)));
+
+        mockMvc.perform(get("/api/v1/loans").param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].bookTitle", is("Test Book")))
+                .andExpect(jsonPath("$.content[0].book").doesNotExist());
+
+        verify(loanService, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    @WithMockUser(roles = "LIBRARIAN")
+    void getOverdueLoansWithSummaryViewShouldReturnSummaries() throws Exception {
+        when(loanService.findOverdueSummaries())
+                .thenReturn(List.of(LoanSummaryDTO.builder().id(1).status("ACTIVE").build()));
+
+        mockMvc.perform(get("/api/v1/loans/overdue").param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].fineAmount", nullValue()));
+    }
+
     @Test
     @WithMockUser(roles = "LIBRARIAN")
     void getLoanByIdShouldReturnLoan() throws Exception {
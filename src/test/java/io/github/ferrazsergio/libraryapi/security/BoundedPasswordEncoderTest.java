@@ -0,0 +1,146 @@
+package io.github.ferrazsergio.libraryapi.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedPasswordEncoderTest {
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    void encodeShouldProduceHashThatMatches() {
+        // Arrange
+        encoder = new BoundedPasswordEncoder(4, 1, 4, Duration.ofSeconds(5));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        encoder.bindTo(registry);
+
+        // Act
+        String hash = encoder.encode("secret");
+
+        // Assert
+        assertTrue(encoder.matches("secret", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertEquals(1, registry.get("library.password.hash").tag("operation", "encode").timer().count());
+        assertEquals(2, registry.get("library.password.hash").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void upgradeEncodingShouldFlagWeakerHashes() {
+        // Arrange
+        encoder = new BoundedPasswordEncoder(6, 1, 4, Duration.ofSeconds(5));
+        String weaker = new BCryptPasswordEncoder(4).encode("secret");
+
+        // Act & Assert
+        assertTrue(encoder.upgradeEncoding(weaker));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("secret")));
+    }
+
+    @Test
+    void encodeShouldShedWhenQueueIsFull() throws Exception {
+        // Arrange
+        encoder = new BoundedPasswordEncoder(4, 1, 1, Duration.ofSeconds(5));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        encoder.bindTo(registry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(
+                () -> encoder.encode(new BlockingPassword(started, release)));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("queued"));
+        awaitQueued(registry);
+
+        // Act & Assert
+        assertThrows(PasswordHashingUnavailableException.class, () -> encoder.encode("shed"));
+        assertEquals(1.0, registry.get("library.password.rejected").tag("reason", "saturated").counter().count());
+
+        release.countDown();
+        assertNotNull(running.get(5, TimeUnit.SECONDS));
+        assertNotNull(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void encodeShouldTimeOutWhileWaiting() throws Exception {
+        // Arrange
+        encoder = new BoundedPasswordEncoder(4, 1, 4, Duration.ofMillis(100));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture.runAsync(() -> {
+            try {
+                encoder.encode(new BlockingPassword(started, release));
+            } catch (PasswordHashingUnavailableException expected) {
+                // também passa do timeout
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Act & Assert
+        try {
+            assertThrows(PasswordHashingUnavailableException.class, () -> encoder.encode("waiting"));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static void awaitQueued(SimpleMeterRegistry registry) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("library.password.queue").gauge().value() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Senha que segura a thread de hash até ser liberada, para ocupar o pool no teste.
+     */
+    private record BlockingPassword(CountDownLatch started, CountDownLatch release) implements CharSequence {
+
+        @Override
+        public String toString() {
+            started.countDown();
+            // Ignora o cancelamento por timeout, como um hash BCrypt em andamento
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            return "blocking";
+        }
+
+        @Override
+        public int length() {
+            return toString().length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            return toString().charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().subSequence(start, end);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package io.github.ferrazsergio.libraryapi.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtTokenProviderTest {
+
+    private static final String SECRET = "f7b0c3a5d9e2814c6b9a0f2e7d4a8c1e3b5f0d6a9c7b4e2d8a1f3b6e9d7c2a5f8";
+
+    private JwtTokenProvider jwtTokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(SECRET, 60_000L, 100);
+    }
+
+    @Test
+    void authenticateShouldRestoreSubjectAndRoles() {
+        // Arrange
+        String token = token("ROLE_READER", "ROLE_LIBRARIAN");
+
+        // Act
+        Optional<Authentication> result = jwtTokenProvider.authenticate(token);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals("reader@library.com", result.get().getName());
+        assertEquals(List.of("ROLE_LIBRARIAN", "ROLE_READER"),
+                result.get().getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    @Test
+    void authenticateShouldCarryUserIdAndStatusFromLogin() {
+        // Arrange
+        LibraryUserDetails details = new LibraryUserDetails(7, "reader@library.com", "",
+                io.github.ferrazsergio.libraryapi.domain.model.User.Status.ACTIVE,
+                List.of(new SimpleGrantedAuthority("ROLE_READER")));
+        String token = jwtTokenProvider.createToken(
+                new UsernamePasswordAuthenticationToken(details, "", details.getAuthorities()));
+
+        // Act
+        Authentication result = jwtTokenProvider.authenticate(token).orElseThrow();
+
+        // Assert
+        AuthenticatedUser principal = assertInstanceOf(AuthenticatedUser.class, result.getPrincipal());
+        assertEquals(7, principal.id());
+        assertEquals(io.github.ferrazsergio.libraryapi.domain.model.User.Role.READER, principal.role());
+        assertEquals(io.github.ferrazsergio.libraryapi.domain.model.User.Status.ACTIVE, principal.status());
+        assertEquals("reader@library.com", result.getName());
+        assertEquals(7, AuthenticatedUser.idOf(result));
+    }
+
+    @Test
+    void authenticateShouldReuseVerifiedToken() {
+        // Arrange
+        String token = token("ROLE_READER");
+        Authentication first = jwtTokenProvider.authenticate(token).orElseThrow();
+
+        // Act
+        Authentication second = jwtTokenProvider.authenticate(token).orElseThrow();
+
+        // Assert
+        assertSame(first, second);
+    }
+
+    @Test
+    void authenticateShouldRejectTamperedToken() {
+        // Arrange
+        String token = token("ROLE_READER");
+        int signature = token.lastIndexOf('.') + 1;
+        char flipped = token.charAt(signature) == 'A' ? 'B' : 'A';
+        String tampered = token.substring(0, signature) + flipped + token.substring(signature + 1);
+
+        // Act & Assert
+        assertTrue(jwtTokenProvider.authenticate(tampered).isEmpty());
+        assertFalse(jwtTokenProvider.validateToken(tampered));
+    }
+
+    @Test
+    void authenticateShouldRejectTokenSignedWithAnotherKey() {
+        // Arrange
+        JwtTokenProvider other = new JwtTokenProvider(SECRET.replace('f', 'e'), 60_000L, 100);
+        String token = token(other, "ROLE_READER");
+
+        // Act & Assert
+        assertTrue(jwtTokenProvider.authenticate(token).isEmpty());
+    }
+
+    @Test
+    void authenticateShouldRejectExpiredToken() {
+        // Arrange
+        JwtTokenProvider shortLived = new JwtTokenProvider(SECRET, -1_000L, 100);
+        String token = token(shortLived, "ROLE_READER");
+
+        // Act & Assert
+        assertTrue(jwtTokenProvider.authenticate(token).isEmpty());
+    }
+
+    private String token(String... roles) {
+        return token(jwtTokenProvider, roles);
+    }
+
+    private String token(JwtTokenProvider provider, String... roles) {
+        List<SimpleGrantedAuthority> authorities = Arrays.stream(roles)
+                .map(SimpleGrantedAuthority::new)
+                .toList();
+        User user = new User("reader@library.com", "", authorities);
+        return provider.createToken(new UsernamePasswordAuthenticationToken(user, "", authorities));
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.ferrazsergio.libraryapi.security;
+
+import io.github.ferrazsergio.libraryapi.domain.model.User;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.LoanRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LoanSecurityServiceTest {
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    private LoanSecurityService loanSecurityService;
+
+    @BeforeEach
+    void setUp() {
+        loanSecurityService = new LoanSecurityService(loanRepository);
+    }
+
+    @Test
+    void isLoanOwnerShouldCheckOwnershipByUserId() {
+        // Arrange
+        AuthenticatedUser principal = new AuthenticatedUser(7, "reader@library.com", User.Role.READER, User.Status.ACTIVE);
+        Authentication authentication = new UsernamePasswordAuthenticationToken(principal, "",
+                List.of(new SimpleGrantedAuthority("ROLE_READER")));
+        when(loanRepository.isOwnedBy(1, 7)).thenReturn(true);
+
+        // Act
+        boolean owner = loanSecurityService.isLoanOwner(1, authentication);
+
+        // Assert
+        assertTrue(owner);
+        verify(loanRepository, never()).findById(any());
+        verify(loanRepository, never()).isOwnedByEmail(any(), any());
+    }
+
+    @Test
+    void isLoanOwnerShouldFallBackToEmailForTokensWithoutId() {
+        // Arrange
+        Authentication authentication = new UsernamePasswordAuthenticationToken("reader@library.com", "",
+                List.of(new SimpleGrantedAuthority("ROLE_READER")));
+        when(loanRepository.isOwnedByEmail(1, "reader@library.com")).thenReturn(false);
+
+        // Act
+        boolean owner = loanSecurityService.isLoanOwner(1, authentication);
+
+        // Assert
+        assertFalse(owner);
+        verify(loanRepository, never()).findById(any());
+    }
+
+    @Test
+    void isLoanOwnerShouldRejectMissingAuthentication() {
+        // Act & Assert
+        assertFalse(loanSecurityService.isLoanOwner(1, null));
+        verifyNoInteractions(loanRepository);
+    }
+}
@@ -0,0 +1,142 @@
+package io.github.ferrazsergio.libraryapi.security;
+
+import io.github.ferrazsergio.libraryapi.domain.model.User;
+import io.github.ferrazsergio.libraryapi.infrastructure.cache.TwoLevelCacheManager;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PrincipalCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TwoLevelCacheManager cacheManager;
+
+    private PrincipalCache principalCache;
+
+    @BeforeEach
+    void setUp() {
+        principalCache = new PrincipalCache(userRepository, cacheManager, 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void refreshShouldLoadCurrentStateOnce() {
+        // Arrange
+        Authentication fromToken = fromToken(User.Role.READER);
+        when(userRepository.findPrincipalById(7)).thenReturn(Optional.of(
+                new AuthenticatedUser(7, "reader@library.com", User.Role.LIBRARIAN, User.Status.ACTIVE)));
+
+        // Act
+        Authentication first = principalCache.refresh(fromToken).orElseThrow();
+        Authentication second = principalCache.refresh(fromToken).orElseThrow();
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(List.of("ROLE_LIBRARIAN"),
+                first.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        verify(userRepository, times(1)).findPrincipalById(7);
+    }
+
+    @Test
+    void refreshShouldRejectDeletedUser() {
+        // Arrange
+        when(userRepository.findPrincipalById(7)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertTrue(principalCache.refresh(fromToken(User.Role.READER)).isEmpty());
+    }
+
+    @Test
+    void refreshShouldRejectInactiveUser() {
+        // Arrange
+        when(userRepository.findPrincipalById(7)).thenReturn(Optional.of(
+                new AuthenticatedUser(7, "reader@library.com", User.Role.READER, User.Status.INACTIVE)));
+
+        // Act & Assert
+        assertTrue(principalCache.refresh(fromToken(User.Role.READER)).isEmpty());
+    }
+
+    @Test
+    void invalidateShouldReloadOnNextRequest() {
+        // Arrange
+        Authentication fromToken = fromToken(User.Role.READER);
+        when(userRepository.findPrincipalById(7)).thenReturn(Optional.of(
+                new AuthenticatedUser(7, "reader@library.com", User.Role.READER, User.Status.ACTIVE)));
+        principalCache.refresh(fromToken);
+
+        // Act
+        principalCache.invalidate(7);
+        principalCache.refresh(fromToken);
+
+        // Assert
+        verify(userRepository, times(2)).findPrincipalById(7);
+    }
+
+    @Test
+    void invalidateShouldPublishToOtherNodes() {
+        // Act
+        principalCache.invalidate(7);
+
+        // Assert
+        verify(cacheManager).publishInvalidation(PrincipalCache.CACHE_NAME, 7);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void remoteInvalidationShouldReloadOnNextRequest() {
+        // Arrange
+        ArgumentCaptor<Consumer<Object>> evictor = ArgumentCaptor.forClass(Consumer.class);
+        verify(cacheManager).registerLocalCache(eq(PrincipalCache.CACHE_NAME), evictor.capture());
+        Authentication fromToken = fromToken(User.Role.READER);
+        when(userRepository.findPrincipalById(7)).thenReturn(Optional.of(
+                new AuthenticatedUser(7, "reader@library.com", User.Role.READER, User.Status.ACTIVE)));
+        principalCache.refresh(fromToken);
+
+        // Act
+        evictor.getValue().accept(7);
+        principalCache.refresh(fromToken);
+
+        // Assert
+        verify(userRepository, times(2)).findPrincipalById(7);
+        verify(cacheManager, never()).publishInvalidation(any(), any());
+    }
+
+    @Test
+    void refreshShouldKeepTokensWithoutUserId() {
+        // Arrange
+        Authentication legacy = new UsernamePasswordAuthenticationToken("reader@library.com", "",
+                List.of(new SimpleGrantedAuthority("ROLE_READER")));
+
+        // Act
+        Optional<Authentication> result = principalCache.refresh(legacy);
+
+        // Assert
+        assertSame(legacy, result.orElseThrow());
+        verifyNoInteractions(userRepository);
+    }
+
+    private Authentication fromToken(User.Role role) {
+        AuthenticatedUser principal = new AuthenticatedUser(7, "reader@library.com", role, User.Status.ACTIVE);
+        return new UsernamePasswordAuthenticationToken(principal, "",
+                List.of(new SimpleGrantedAuthority("ROLE_" + role.name())));
+    }
+}
@@ -1,10 +1,12 @@
 package io.github.ferrazsergio.libraryapi.services;
 
+import io.github.ferrazsergio.libraryapi.application.service.ActivityService;
 import io.github.ferrazsergio.libraryapi.application.service.AuthorService;
 import io.github.ferrazsergio.libraryapi.domain.model.Author;
 import io.github.ferrazsergio.libraryapi.domain.model.Book;
 import io.github.ferrazsergio.libraryapi.infrastructure.repository.AuthorRepository;
 import io.github.ferrazsergio.libraryapi.infrastructure.repository.BookRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.search.CatalogIndex;
 import io.github.ferrazsergio.libraryapi.interfaces.dto.AuthorDTO;
 import io.github.ferrazsergio.libraryapi.interfaces.dto.BookDTO;
 import org.junit.jupiter.api.BeforeEach;
@@ -38,6 +40,12 @@ public class AuthorServiceTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private ActivityService activityService;
+
+    @Mock
+    private CatalogIndex catalogIndex;
+
     @InjectMocks
     private AuthorService authorService;
 
@@ -0,0 +1,168 @@
+package io.github.ferrazsergio.libraryapi.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.ferrazsergio.libraryapi.application.service.ActivityService;
+import io.github.ferrazsergio.libraryapi.application.service.BookImportService;
+import io.github.ferrazsergio.libraryapi.domain.model.Author;
+import io.github.ferrazsergio.libraryapi.domain.model.Category;
+import io.github.ferrazsergio.libraryapi.infrastructure.cache.BookCache;
+import io.github.ferrazsergio.libraryapi.infrastructure.importer.BookRecordReader;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.AuthorRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.BookImportRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.CategoryRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.search.CatalogIndex;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.BookDTO;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.BookImportJobDTO;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BookImportServiceTest {
+
+    private static final String CSV = """
+            isbn,title,available_quantity,total_quantity,category_id,author_ids,publisher
+            111,"Livro, um",1,2,1,1;2,Editora
+            222,Livro dois,1,1,,,
+            111,Repetido,1,1,,,
+            333,Sem categoria,1,1,9,,
+            ,Sem ISBN,1,1,,,
+            444,Existente,1,1,,,
+            """;
+
+    @Mock
+    private BookImportRepository importRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private AuthorRepository authorRepository;
+
+    @Mock
+    private ActivityService activityService;
+
+    @Mock
+    private BookCache bookCache;
+
+    @Mock
+    private CatalogIndex catalogIndex;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BookImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new BookImportService(importRepository, categoryRepository, authorRepository,
+                activityService, bookCache, catalogIndex,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new ObjectMapper().findAndRegisterModules(), transactionManager, 100);
+    }
+
+    @Test
+    void importBooksShouldInsertValidRowsAndReportTheRest() {
+        // Arrange
+        Category category = new Category();
+        category.setId(1);
+        category.setName("Romance");
+        when(categoryRepository.findAllById(Set.of(1, 9))).thenReturn(List.of(category));
+        when(authorRepository.findAllById(Set.of(1, 2))).thenReturn(List.of(author(1), author(2)));
+        when(importRepository.findExistingIsbns(any())).thenReturn(Set.of("444"));
+        when(importRepository.checkpoint(any(), eq(0L), eq(6L), eq(2L), eq(4L))).thenReturn(true);
+        when(importRepository.nextBookIds(2)).thenReturn(List.of(10, 11));
+        when(importRepository.findJob(any())).thenReturn(Optional.of(BookImportJobDTO.builder().status("COMPLETED").build()));
+
+        // Act
+        importService.importBooks(stream(CSV), BookRecordReader.Format.CSV, null);
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<BookDTO>> books = ArgumentCaptor.forClass(List.class);
+        verify(importRepository).insertBooks(books.capture());
+        assertEquals(List.of("111", "222"), books.getValue().stream().map(BookDTO::getIsbn).toList());
+        assertEquals(10, books.getValue().get(0).getId());
+        assertEquals("Livro, um", books.getValue().get(0).getTitle());
+        assertEquals(Set.of(1, 2), books.getValue().get(0).getAuthorIds());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<BookImportJobDTO.RowError>> errors = ArgumentCaptor.forClass(List.class);
+        verify(importRepository).insertErrors(any(), errors.capture());
+        assertEquals(List.of(3L, 4L, 5L, 6L), errors.getValue().stream().map(BookImportJobDTO.RowError::getRecord).toList());
+        assertTrue(errors.getValue().get(1).getMessage().contains("Category not found"));
+
+        verify(categoryRepository, times(1)).findAllById(any());
+        verify(bookCache).adjustTotalBooks(2);
+        verify(catalogIndex, times(2)).index(any(BookDTO.class));
+        verify(importRepository).finish(any(), eq("COMPLETED"), isNull());
+    }
+
+    @Test
+    void importBooksShouldSkipRecordsAlreadyCommittedWhenResuming() {
+        // Arrange
+        UUID jobId = UUID.randomUUID();
+        String ndjson = """
+                {"isbn":"111","title":"Um","availableQuantity":1,"totalQuantity":1}
+
+                {"isbn":"222","title":"Dois","availableQuantity":1,"totalQuantity":1}
+                {"isbn":"333","title":"Três","availableQuantity":1,"totalQuantity":1}
+                """;
+        when(importRepository.findJob(jobId)).thenReturn(Optional.of(
+                BookImportJobDTO.builder().id(jobId).status("FAILED").recordsProcessed(2).build()));
+        when(importRepository.checkpoint(jobId, 2L, 3L, 1L, 0L)).thenReturn(true);
+        when(importRepository.nextBookIds(1)).thenReturn(List.of(20));
+
+        // Act
+        importService.importBooks(stream(ndjson), BookRecordReader.Format.NDJSON, jobId);
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<BookDTO>> books = ArgumentCaptor.forClass(List.class);
+        verify(importRepository).insertBooks(books.capture());
+        assertEquals(List.of("333"), books.getValue().stream().map(BookDTO::getIsbn).toList());
+        verify(importRepository, never()).createJob(any(), any());
+    }
+
+    @Test
+    void importBooksShouldMarkJobFailedWhenAnotherRequestOwnsTheCheckpoint() {
+        // Arrange
+        when(importRepository.checkpoint(any(), anyLong(), anyLong(), anyLong(), anyLong())).thenReturn(false);
+        when(importRepository.findJob(any())).thenReturn(Optional.of(BookImportJobDTO.builder().status("FAILED").build()));
+
+        // Act
+        importService.importBooks(stream("{\"isbn\":\"1\",\"title\":\"Um\",\"availableQuantity\":1,\"totalQuantity\":1}\n"),
+                BookRecordReader.Format.NDJSON, null);
+
+        // Assert
+        verify(importRepository, never()).insertBooks(any());
+        verify(importRepository).finish(any(), eq("FAILED"), contains("another request"));
+    }
+
+    private static Author author(int id) {
+        Author author = new Author();
+        author.setId(id);
+        author.setName("Autor " + id);
+        return author;
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
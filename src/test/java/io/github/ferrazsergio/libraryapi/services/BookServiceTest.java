@@ -1,13 +1,21 @@
 package io.github.ferrazsergio.libraryapi.services;
 
+import io.github.ferrazsergio.libraryapi.application.pagination.ContinuationToken;
+import io.github.ferrazsergio.libraryapi.application.pagination.InvalidContinuationTokenException;
+import io.github.ferrazsergio.libraryapi.application.service.ActivityService;
 import io.github.ferrazsergio.libraryapi.application.service.BookService;
 import io.github.ferrazsergio.libraryapi.domain.model.Author;
 import io.github.ferrazsergio.libraryapi.domain.model.Book;
 import io.github.ferrazsergio.libraryapi.domain.model.Category;
+import io.github.ferrazsergio.libraryapi.infrastructure.cache.BookCache;
 import io.github.ferrazsergio.libraryapi.infrastructure.repository.AuthorRepository;
 import io.github.ferrazsergio.libraryapi.infrastructure.repository.BookRepository;
 import io.github.ferrazsergio.libraryapi.infrastructure.repository.CategoryRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.LoanRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.TableStatisticsRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.search.CatalogIndex;
 import io.github.ferrazsergio.libraryapi.interfaces.dto.BookDTO;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.CursorPageDTO;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,6 +26,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 
 import java.time.LocalDate;
 import java.util.*;
@@ -39,6 +49,21 @@ public class BookServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private LoanRepository loanRepository;
+
+    @Mock
+    private ActivityService activityService;
+
+    @Mock
+    private BookCache bookCache;
+
+    @Mock
+    private CatalogIndex catalogIndex;
+
+    @Mock
+    private TableStatisticsRepository tableStatistics;
+
     @InjectMocks
     private BookService bookService;
 
@@ -168,6 +193,8 @@ public class BookServiceTest {
         assertEquals("1984", result.getTitle());
         assertEquals("9780451524935", result.getIsbn());
         verify(bookRepository, times(1)).save(any(Book.class));
+        verify(bookCache).adjustTotalBooks(1);
+        verify(bookCache, never()).evictBook(any(), any());
     }
 
     @Test
@@ -202,6 +229,26 @@ public class BookServiceTest {
         assertNotNull(result);
         assertEquals("1984 - Updated", result.getTitle());
         verify(bookRepository, times(1)).save(any(Book.class));
+        verify(bookCache).evictBook(1, "9780451524935", "9780451524935");
+        verify(bookCache, never()).evictTopCategories();
+    }
+
+    @Test
+    void updateShouldEvictPreviousIsbnWhenIsbnChanges() {
+        // Arrange
+        when(bookRepository.findById(1)).thenReturn(Optional.of(book));
+        when(bookRepository.findByIsbn("9780451524936")).thenReturn(Optional.empty());
+        when(categoryRepository.findById(1)).thenReturn(Optional.of(category));
+        when(authorRepository.findById(1)).thenReturn(Optional.of(author));
+        when(bookRepository.save(any(Book.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        bookDTO.setIsbn("9780451524936");
+
+        // Act
+        bookService.update(1, bookDTO);
+
+        // Assert
+        verify(bookCache).evictBook(1, "9780451524935", "9780451524936");
     }
 
     @Test
@@ -215,6 +262,21 @@ public class BookServiceTest {
         // Assert
         verify(bookRepository, times(1)).save(any(Book.class));
         assertTrue(book.isDeleted());
+        verify(bookCache).evictBook(1, "9780451524935");
+        verify(bookCache).adjustTotalBooks(-1);
+        verify(bookCache).adjustStock(-5, -5);
+    }
+
+    @Test
+    void deleteShouldRejectAlreadyDeletedBook() {
+        // Arrange
+        book.setDeleted(true);
+        when(bookRepository.findById(1)).thenReturn(Optional.of(book));
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> bookService.delete(1));
+        verify(bookRepository, never()).save(any(Book.class));
+        verifyNoInteractions(bookCache, catalogIndex, activityService);
     }
 
     @Test
@@ -231,4 +293,29 @@ public class BookServiceTest {
         assertEquals(1, result.size());
         assertEquals("1984", result.get(0).getTitle());
     }
-}
\ No newline at end of file
+
+    @Test
+    void scrollShouldSeekPastCursorWithoutCounting() {
+        // Arrange
+        Pageable page = PageRequest.of(0, 1, Sort.by("id"));
+        when(bookRepository.findByDeletedFalseAndIdGreaterThan(0, page))
+                .thenReturn(new SliceImpl<>(List.of(book), page, true));
+
+        // Act
+        CursorPageDTO<BookDTO> first = bookService.scroll(null, 1, false);
+
+        // Assert
+        assertTrue(first.isHasNext());
+        assertEquals(1, ContinuationToken.decodeId(first.getNextCursor()));
+        assertNull(first.getEstimatedTotal());
+        verify(bookRepository, never()).findAllNotDeleted(any());
+        verifyNoInteractions(tableStatistics);
+    }
+
+    @Test
+    void scrollShouldRejectTamperedCursor() {
+        // Act & Assert
+        assertThrows(InvalidContinuationTokenException.class, () -> bookService.scroll("not-a-token", 20, false));
+        verifyNoInteractions(bookRepository);
+    }
+}
@@ -0,0 +1,194 @@
+package io.github.ferrazsergio.libraryapi.services;
+
+import io.github.ferrazsergio.libraryapi.application.service.ActivityService;
+import io.github.ferrazsergio.libraryapi.application.service.BookService;
+import io.github.ferrazsergio.libraryapi.application.service.DashboardService;
+import io.github.ferrazsergio.libraryapi.application.service.LoanService;
+import io.github.ferrazsergio.libraryapi.application.service.UserService;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.DashboardSnapshotRepository;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.DashboardDataDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DashboardServiceTest {
+
+    @Mock
+    private BookService bookService;
+
+    @Mock
+    private LoanService loanService;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private ActivityService activityService;
+
+    @Mock
+    private DashboardSnapshotRepository snapshotRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void getDashboardDataShouldServeSnapshotWhileFresh() {
+        // Arrange
+        DashboardService dashboardService = snapshotService();
+        when(snapshotRepository.load(anyInt(), anyInt())).thenReturn(snapshot(LocalDateTime.now(), 10));
+
+        // Act
+        DashboardDataDTO first = dashboardService.getDashboardData();
+        DashboardDataDTO second = dashboardService.getDashboardData();
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(10, second.getTotalBooks());
+        verify(snapshotRepository, times(1)).load(anyInt(), anyInt());
+        verifyNoInteractions(bookService, loanService, userService, activityService);
+    }
+
+    @Test
+    void getDashboardDataShouldReloadWhenSnapshotIsStale() {
+        // Arrange
+        DashboardService dashboardService = snapshotService();
+        when(snapshotRepository.load(anyInt(), anyInt()))
+                .thenReturn(snapshot(LocalDateTime.now().minusMinutes(5), 10))
+                .thenReturn(snapshot(LocalDateTime.now(), 11));
+
+        // Act
+        dashboardService.getDashboardData();
+        DashboardDataDTO result = dashboardService.getDashboardData();
+
+        // Assert
+        assertEquals(11, result.getTotalBooks());
+        verify(snapshotRepository, times(2)).refresh(any(Duration.class));
+    }
+
+    @Test
+    void getDashboardDataShouldServeLastSnapshotAndBackOffWhenRefreshFails() {
+        // Arrange
+        DashboardService dashboardService = snapshotService();
+        when(snapshotRepository.load(anyInt(), anyInt()))
+                .thenReturn(snapshot(LocalDateTime.now().minusMinutes(5), 10))
+                .thenThrow(new RuntimeException("view refresh failed"));
+        dashboardService.getDashboardData();
+
+        // Act
+        DashboardDataDTO first = dashboardService.getDashboardData();
+        DashboardDataDTO second = dashboardService.getDashboardData();
+
+        // Assert
+        assertEquals(10, first.getTotalBooks());
+        assertSame(first, second);
+        verify(snapshotRepository, times(2)).load(anyInt(), anyInt());
+        verifyNoInteractions(bookService, loanService, userService, activityService);
+    }
+
+    @Test
+    void getDashboardDataShouldQueryLiveWithoutRetryingWhenNoSnapshotYet() {
+        // Arrange
+        DashboardService dashboardService = snapshotService();
+        when(snapshotRepository.load(anyInt(), anyInt())).thenThrow(new RuntimeException("view missing"));
+        when(bookService.getTotalBooks()).thenReturn(3L);
+
+        // Act
+        dashboardService.getDashboardData();
+        DashboardDataDTO result = dashboardService.getDashboardData();
+
+        // Assert
+        assertEquals(3, result.getTotalBooks());
+        verify(snapshotRepository, times(1)).load(anyInt(), anyInt());
+        verify(bookService, times(2)).getTotalBooks();
+    }
+
+    @Test
+    void getDashboardDataShouldQueryServicesWhenSnapshotDisabled() {
+        // Arrange
+        DashboardService dashboardService = liveService(Duration.ofSeconds(2));
+        when(bookService.getTotalBooks()).thenReturn(3L);
+
+        // Act
+        DashboardDataDTO result = dashboardService.getDashboardData();
+
+        // Assert
+        assertEquals(3, result.getTotalBooks());
+        assertFalse(result.isDegraded());
+        verifyNoInteractions(snapshotRepository);
+    }
+
+    @Test
+    void getDashboardDataShouldRunQueriesInParallel() {
+        // Arrange
+        DashboardService dashboardService = liveService(Duration.ofSeconds(5));
+        when(bookService.getTotalBooks()).thenAnswer(invocation -> sleepAndReturn(300, 1L));
+        when(loanService.getTotalLoans()).thenAnswer(invocation -> sleepAndReturn(300, 2L));
+        when(userService.getTotalUsers()).thenAnswer(invocation -> sleepAndReturn(300, 3L));
+
+        // Act
+        long start = System.nanoTime();
+        DashboardDataDTO result = dashboardService.getDashboardData();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Assert
+        assertEquals(3, result.getTotalUsers());
+        assertTrue(elapsedMillis < 800, "expected ~300ms, took " + elapsedMillis + "ms");
+    }
+
+    @Test
+    void getDashboardDataShouldReturnPartialResultWhenSectionTimesOut() {
+        // Arrange
+        DashboardService dashboardService = liveService(Duration.ofMillis(200));
+        when(bookService.getTotalBooks()).thenReturn(3L);
+        when(loanService.getTotalLoans()).thenAnswer(invocation -> sleepAndReturn(2_000, 2L));
+
+        // Act
+        DashboardDataDTO result = dashboardService.getDashboardData();
+
+        // Assert
+        assertEquals(3, result.getTotalBooks());
+        assertEquals(0, result.getTotalLoans());
+        assertTrue(result.isDegraded());
+        assertEquals(List.of("totalLoans"), result.getUnavailableSections());
+    }
+
+    private DashboardService snapshotService() {
+        return new DashboardService(bookService, loanService, userService, activityService,
+                snapshotRepository, true, Duration.ofMinutes(1), Duration.ofSeconds(30),
+                Duration.ofSeconds(2), transactionManager);
+    }
+
+    private DashboardService liveService(Duration timeout) {
+        return new DashboardService(bookService, loanService, userService, activityService,
+                snapshotRepository, false, Duration.ofMinutes(1), Duration.ofSeconds(30),
+                timeout, transactionManager);
+    }
+
+    private static <T> T sleepAndReturn(long millis, T value) throws InterruptedException {
+        Thread.sleep(millis);
+        return value;
+    }
+
+    private DashboardDataDTO snapshot(LocalDateTime generatedAt, long totalBooks) {
+        return DashboardDataDTO.builder()
+                .totalBooks(totalBooks)
+                .mostBorrowedCategories(new ArrayList<>())
+                .recentActivities(new ArrayList<>())
+                .generatedAt(generatedAt)
+                .build();
+    }
+}
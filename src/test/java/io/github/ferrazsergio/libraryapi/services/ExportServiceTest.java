@@ -0,0 +1,129 @@
+package io.github.ferrazsergio.libraryapi.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.github.ferrazsergio.libraryapi.application.exception.InvalidRequestException;
+import io.github.ferrazsergio.libraryapi.application.service.ExportService;
+import io.github.ferrazsergio.libraryapi.domain.model.User;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.ActivityRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.BookRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.LoanRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.UserRepository;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.BookExportDTO;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.LoanSummaryDTO;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ExportServiceTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ActivityRepository activityRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new ExportService(bookRepository, loanRepository, userRepository, activityRepository,
+                entityManager, objectMapper, transactionManager);
+    }
+
+    @Test
+    void exportShouldWriteOneJsonObjectPerLine() {
+        // Arrange
+        AtomicBoolean closed = new AtomicBoolean();
+        when(bookRepository.streamForExport()).thenReturn(Stream.of(
+                        BookExportDTO.builder().id(1).title("1984").authors("George Orwell").build(),
+                        BookExportDTO.builder().id(2).title("Dom Casmurro").build())
+                .onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long rows = exportService.export(ExportService.Dataset.BOOKS, ExportService.Format.NDJSON, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, rows);
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,"));
+        assertTrue(lines[1].contains("\"title\":\"Dom Casmurro\""));
+        assertTrue(closed.get(), "the database cursor must be closed");
+    }
+
+    @Test
+    void exportShouldQuoteCsvText() {
+        // Arrange
+        when(loanRepository.streamSummaries()).thenReturn(Stream.of(LoanSummaryDTO.builder()
+                .id(7).userId(1).userName("Ana \"Leitora\"").bookId(2).bookTitle("Livro, volume 1")
+                .loanDate(LocalDate.of(2025, 9, 1)).status("RETURNED").fineAmount(new BigDecimal("1.50"))
+                .build()));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        exportService.export(ExportService.Dataset.LOANS, ExportService.Format.CSV, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals("id,user_id,user_name,book_id,book_title,loan_date,expected_return_date,return_date,status,fine_amount",
+                lines[0]);
+        assertEquals("7,1,\"Ana \"\"Leitora\"\"\",2,\"Livro, volume 1\",\"2025-09-01\",,,\"RETURNED\",1.50", lines[1]);
+    }
+
+    @Test
+    void exportShouldDetachStreamedUsers() {
+        // Arrange
+        User user = new User();
+        user.setId(1);
+        user.setName("Test User");
+        user.setEmail("test@example.com");
+        user.setPassword("secret");
+        when(userRepository.streamAllNotDeleted()).thenReturn(Stream.of(user));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        exportService.export(ExportService.Dataset.USERS, ExportService.Format.NDJSON, out);
+
+        // Assert
+        assertFalse(out.toString(StandardCharsets.UTF_8).contains("secret"));
+        verify(entityManager).detach(user);
+    }
+
+    @Test
+    void parseShouldRejectUnknownDataset() {
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> ExportService.Dataset.parse("fines"));
+        assertEquals(ExportService.Format.CSV, ExportService.Format.parse("csv"));
+    }
+}
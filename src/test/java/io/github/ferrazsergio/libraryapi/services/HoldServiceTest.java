@@ -0,0 +1,245 @@
+package io.github.ferrazsergio.libraryapi.services;
+
+import io.github.ferrazsergio.libraryapi.application.service.ActivityService;
+import io.github.ferrazsergio.libraryapi.application.service.HoldService;
+import io.github.ferrazsergio.libraryapi.domain.model.Book;
+import io.github.ferrazsergio.libraryapi.domain.model.Hold;
+import io.github.ferrazsergio.libraryapi.domain.model.User;
+import io.github.ferrazsergio.libraryapi.infrastructure.cache.BookCache;
+import io.github.ferrazsergio.libraryapi.infrastructure.hold.HoldQueueIndex;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.BookRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.HoldRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.UserRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.search.CatalogIndex;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.HoldDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class HoldServiceTest {
+
+    @Mock
+    private HoldRepository holdRepository;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ActivityService activityService;
+
+    @Mock
+    private BookCache bookCache;
+
+    @Mock
+    private CatalogIndex catalogIndex;
+
+    @Mock
+    private HoldQueueIndex queueIndex;
+
+    private HoldService holdService;
+
+    private Book book;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        holdService = new HoldService(holdRepository, bookRepository, userRepository, activityService,
+                bookCache, catalogIndex, queueIndex, Duration.ofDays(3));
+
+        book = new Book();
+        book.setId(1);
+        book.setTitle("1984");
+        book.setIsbn("9780451524935");
+        book.setAvailableQuantity(0);
+        book.setTotalQuantity(1);
+
+        user = new User();
+        user.setId(2);
+        user.setName("Jane Doe");
+    }
+
+    @Test
+    void placeHoldShouldQueueWhenNoCopyIsAvailable() {
+        // Arrange
+        when(bookRepository.findById(1)).thenReturn(Optional.of(book));
+        when(userRepository.findById(2)).thenReturn(Optional.of(user));
+        when(bookRepository.decrementAvailableQuantity(1)).thenReturn(0);
+        when(holdRepository.save(any(Hold.class))).thenAnswer(invocation -> {
+            Hold hold = invocation.getArgument(0);
+            hold.setId(10);
+            return hold;
+        });
+        when(holdRepository.countWaitingAhead(eq(1), any(LocalDateTime.class), eq(10))).thenReturn(2L);
+
+        // Act
+        HoldDTO result = holdService.placeHold(1, 2);
+
+        // Assert
+        assertEquals("WAITING", result.getStatus());
+        assertEquals(3, result.getPosition());
+        assertNull(result.getExpiresAt());
+        verify(queueIndex).enqueued(1);
+        verifyNoInteractions(bookCache);
+    }
+
+    @Test
+    void placeHoldShouldReserveCopyImmediatelyWhenInStock() {
+        // Arrange
+        when(bookRepository.findById(1)).thenReturn(Optional.of(book));
+        when(userRepository.findById(2)).thenReturn(Optional.of(user));
+        when(bookRepository.decrementAvailableQuantity(1)).thenReturn(1);
+        when(bookRepository.findAvailableQuantity(1)).thenReturn(0);
+        when(holdRepository.save(any(Hold.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        HoldDTO result = holdService.placeHold(1, 2);
+
+        // Assert
+        assertEquals("READY", result.getStatus());
+        assertEquals(result.getReadyAt().plusDays(3), result.getExpiresAt());
+        assertNull(result.getPosition());
+        verify(bookCache).adjustStock(0, -1);
+        verify(queueIndex, never()).enqueued(any());
+    }
+
+    @Test
+    void placeHoldShouldRejectDuplicateOpenHold() {
+        // Arrange
+        when(bookRepository.findById(1)).thenReturn(Optional.of(book));
+        when(userRepository.findById(2)).thenReturn(Optional.of(user));
+        when(holdRepository.existsOpen(1, 2)).thenReturn(true);
+
+        // Act & Assert
+        Exception exception = assertThrows(RuntimeException.class, () -> holdService.placeHold(1, 2));
+
+        assertTrue(exception.getMessage().contains("already has an active hold"));
+        verify(holdRepository, never()).save(any(Hold.class));
+    }
+
+    @Test
+    void releaseCopyShouldAllocateToNextHolder() {
+        // Arrange
+        Hold waiting = hold(Hold.HoldStatus.WAITING);
+        when(queueIndex.mayHaveWaiters(1)).thenReturn(true);
+        when(holdRepository.lockNextWaiting(1)).thenReturn(Optional.of(waiting));
+
+        // Act
+        holdService.releaseCopy(book);
+
+        // Assert
+        assertEquals(Hold.HoldStatus.READY, waiting.getStatus());
+        assertNotNull(waiting.getExpiresAt());
+        verify(queueIndex).dequeued(1);
+        verify(bookRepository, never()).incrementAvailableQuantity(any());
+        verify(activityService).logActivity(eq("HOLD_READY"), anyString(), eq("Jane Doe"), eq("1984"));
+    }
+
+    @Test
+    void releaseCopyShouldReturnToStockWithoutQueue() {
+        // Arrange
+        when(queueIndex.mayHaveWaiters(1)).thenReturn(false);
+        when(bookRepository.incrementAvailableQuantity(1)).thenReturn(1);
+        when(bookRepository.findAvailableQuantity(1)).thenReturn(1);
+
+        // Act
+        holdService.releaseCopy(book);
+
+        // Assert
+        verify(holdRepository, never()).lockNextWaiting(any());
+        verify(bookCache).adjustStock(0, 1);
+        verify(catalogIndex).updateAvailability(1, 1);
+    }
+
+    @Test
+    void cancelReadyHoldShouldPassCopyOn() {
+        // Arrange
+        Hold ready = hold(Hold.HoldStatus.READY);
+        when(holdRepository.lockById(10)).thenReturn(Optional.of(ready));
+        when(queueIndex.mayHaveWaiters(1)).thenReturn(true);
+        when(holdRepository.lockNextWaiting(1)).thenReturn(Optional.empty());
+        when(bookRepository.incrementAvailableQuantity(1)).thenReturn(1);
+
+        // Act
+        HoldDTO result = holdService.cancelHold(10);
+
+        // Assert
+        assertEquals("CANCELLED", result.getStatus());
+        verify(bookRepository).incrementAvailableQuantity(1);
+        verify(queueIndex, never()).dequeued(any());
+    }
+
+    @Test
+    void claimReadyHoldShouldFulfillHold() {
+        // Arrange
+        Hold ready = hold(Hold.HoldStatus.READY);
+        when(holdRepository.lockReady(1, 2)).thenReturn(Optional.of(ready));
+
+        // Act
+        boolean claimed = holdService.claimReadyHold(1, 2);
+
+        // Assert
+        assertTrue(claimed);
+        assertEquals(Hold.HoldStatus.FULFILLED, ready.getStatus());
+        assertNotNull(ready.getClosedAt());
+    }
+
+    @Test
+    void expireReadyHoldsShouldSkipWhenAnotherNodeIsSweeping() {
+        // Arrange
+        when(holdRepository.tryLockSweep()).thenReturn(false);
+
+        // Act
+        int expired = holdService.expireReadyHolds(100);
+
+        // Assert
+        assertEquals(0, expired);
+        verify(holdRepository, never()).lockExpiredReady(any(), anyInt());
+    }
+
+    @Test
+    void expireReadyHoldsShouldReleaseCopies() {
+        // Arrange
+        Hold ready = hold(Hold.HoldStatus.READY);
+        when(holdRepository.tryLockSweep()).thenReturn(true);
+        when(holdRepository.lockExpiredReady(any(LocalDateTime.class), eq(100))).thenReturn(List.of(ready));
+        when(queueIndex.mayHaveWaiters(1)).thenReturn(false);
+        when(bookRepository.incrementAvailableQuantity(1)).thenReturn(1);
+
+        // Act
+        int expired = holdService.expireReadyHolds(100);
+
+        // Assert
+        assertEquals(1, expired);
+        assertEquals(Hold.HoldStatus.EXPIRED, ready.getStatus());
+        verify(bookRepository).incrementAvailableQuantity(1);
+    }
+
+    private Hold hold(Hold.HoldStatus status) {
+        Hold hold = new Hold();
+        hold.setId(10);
+        hold.setBook(book);
+        hold.setUser(user);
+        hold.setStatus(status);
+        hold.setCreatedAt(LocalDateTime.now().minusDays(5));
+        if (status == Hold.HoldStatus.READY) {
+            hold.setReadyAt(LocalDateTime.now().minusDays(4));
+            hold.setExpiresAt(LocalDateTime.now().minusDays(1));
+        }
+        return hold;
+    }
+}
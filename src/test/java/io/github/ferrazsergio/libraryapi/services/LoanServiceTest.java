@@ -1,14 +1,23 @@
 package io.github.ferrazsergio.libraryapi.services;
 
+import io.github.ferrazsergio.libraryapi.application.pagination.ContinuationToken;
+import io.github.ferrazsergio.libraryapi.application.pagination.InvalidContinuationTokenException;
+import io.github.ferrazsergio.libraryapi.application.service.ActivityService;
+import io.github.ferrazsergio.libraryapi.application.service.HoldService;
 import io.github.ferrazsergio.libraryapi.application.service.LoanService;
 import io.github.ferrazsergio.libraryapi.domain.model.Book;
 import io.github.ferrazsergio.libraryapi.domain.model.Loan;
 import io.github.ferrazsergio.libraryapi.domain.model.User;
+import io.github.ferrazsergio.libraryapi.infrastructure.cache.BookCache;
 import io.github.ferrazsergio.libraryapi.infrastructure.repository.BookRepository;
-import io.github.ferrazsergio.libraryapi.infrastructure.repository.FineRepository;
 import io.github.ferrazsergio.libraryapi.infrastructure.repository.LoanRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.TableStatisticsRepository;
 import io.github.ferrazsergio.libraryapi.infrastructure.repository.UserRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.search.CatalogIndex;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.CursorPageDTO;
 import io.github.ferrazsergio.libraryapi.interfaces.dto.LoanDTO;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.LoanEligibilityDTO;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.LoanSummaryDTO;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,7 +28,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -42,7 +53,19 @@ public class LoanServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private FineRepository fineRepository;
+    private ActivityService activityService;
+
+    @Mock
+    private BookCache bookCache;
+
+    @Mock
+    private CatalogIndex catalogIndex;
+
+    @Mock
+    private TableStatisticsRepository tableStatistics;
+
+    @Mock
+    private HoldService holdService;
 
     @InjectMocks
     private LoanService loanService;
@@ -90,9 +113,10 @@ public class LoanServiceTest {
     @Test
     void createLoanShouldCreateNewLoan() {
         // Arrange
-        when(bookRepository.findById(1)).thenReturn(Optional.of(book));
+        book.setAvailableQuantity(3); // estoque já decrementado pelo UPDATE condicional
         when(userRepository.findById(1)).thenReturn(Optional.of(user));
-        when(fineRepository.getTotalUnpaidFinesForUser(1)).thenReturn(0.0);
+        when(bookRepository.decrementAvailableQuantity(1)).thenReturn(1);
+        when(bookRepository.findById(1)).thenReturn(Optional.of(book));
         when(loanRepository.save(any(Loan.class))).thenReturn(loan);
 
         // Act
@@ -102,15 +126,52 @@ public class LoanServiceTest {
         assertNotNull(result);
         assertEquals(1, result.getBookId());
         assertEquals(1, result.getUserId());
-        verify(bookRepository, times(1)).save(any(Book.class)); // Check that book quantity was updated
+        verify(bookRepository).decrementAvailableQuantity(1); // Check that book quantity was updated
+        verify(bookRepository, never()).save(any(Book.class));
+        verify(bookCache).evictBook(1, "9780451524935");
+        verify(bookCache).adjustStock(0, -1);
+        verify(catalogIndex).updateAvailability(1, 3);
     }
 
     @Test
-    void createLoanShouldThrowExceptionWhenBookNotAvailable() {
+    void createLoanShouldUseCopyReservedByReadyHold() {
         // Arrange
         book.setAvailableQuantity(0);
+        when(userRepository.findById(1)).thenReturn(Optional.of(user));
+        when(holdService.claimReadyHold(1, 1)).thenReturn(true);
         when(bookRepository.findById(1)).thenReturn(Optional.of(book));
+        when(loanRepository.save(any(Loan.class))).thenReturn(loan);
+
+        // Act
+        LoanDTO result = loanService.createLoan(loanDTO);
+
+        // Assert
+        assertNotNull(result);
+        verify(bookRepository, never()).decrementAvailableQuantity(any());
+        verifyNoInteractions(bookCache, catalogIndex);
+    }
+
+    @Test
+    void createLoanShouldFailWhenConditionalDecrementLosesRace() {
+        // Arrange: o livro mostrava estoque ao cliente, mas outro empréstimo levou o último exemplar
         when(userRepository.findById(1)).thenReturn(Optional.of(user));
+        when(bookRepository.decrementAvailableQuantity(1)).thenReturn(0);
+        when(bookRepository.existsById(1)).thenReturn(true);
+
+        // Act & Assert
+        Exception exception = assertThrows(RuntimeException.class, () -> loanService.createLoan(loanDTO));
+
+        assertTrue(exception.getMessage().contains("not available"));
+        verify(loanRepository, never()).save(any(Loan.class));
+        verifyNoInteractions(bookCache, catalogIndex);
+    }
+
+    @Test
+    void createLoanShouldThrowExceptionWhenBookNotAvailable() {
+        // Arrange
+        book.setAvailableQuantity(0);
+        when(userRepository.findById(1)).thenReturn(Optional.of(user));
+        when(bookRepository.existsById(1)).thenReturn(true);
 
         // Act & Assert
         Exception exception = assertThrows(RuntimeException.class, () -> {
@@ -124,9 +185,8 @@ public class LoanServiceTest {
     @Test
     void createLoanShouldThrowExceptionWhenUserHasUnpaidFines() {
         // Arrange
-        when(bookRepository.findById(1)).thenReturn(Optional.of(book));
+        user.setUnpaidFines(new BigDecimal("10.00"));
         when(userRepository.findById(1)).thenReturn(Optional.of(user));
-        when(fineRepository.getTotalUnpaidFinesForUser(1)).thenReturn(10.0);
 
         // Act & Assert
         Exception exception = assertThrows(RuntimeException.class, () -> {
@@ -135,12 +195,57 @@ public class LoanServiceTest {
 
         assertTrue(exception.getMessage().contains("unpaid fines"));
         verify(loanRepository, never()).save(any(Loan.class));
+        verify(bookRepository, never()).decrementAvailableQuantity(any());
+    }
+
+    @Test
+    void createLoanShouldRejectInactiveUser() {
+        // Arrange
+        user.setStatus(User.Status.INACTIVE);
+        when(userRepository.findById(1)).thenReturn(Optional.of(user));
+
+        // Act & Assert
+        Exception exception = assertThrows(RuntimeException.class, () -> loanService.createLoan(loanDTO));
+
+        assertTrue(exception.getMessage().contains("not active"));
+        verifyNoInteractions(bookRepository, holdService);
+    }
+
+    @Test
+    void createLoanShouldReportMissingBook() {
+        // Arrange
+        when(userRepository.findById(1)).thenReturn(Optional.of(user));
+        when(bookRepository.decrementAvailableQuantity(1)).thenReturn(0);
+        when(bookRepository.existsById(1)).thenReturn(false);
+
+        // Act & Assert
+        Exception exception = assertThrows(RuntimeException.class, () -> loanService.createLoan(loanDTO));
+
+        assertTrue(exception.getMessage().contains("Book not found"));
+    }
+
+    @Test
+    void getEligibilityShouldSummarizeUserRow() {
+        // Arrange
+        user.setUnpaidFines(new BigDecimal("2.50"));
+        user.setOpenLoans(1);
+        when(userRepository.findById(1)).thenReturn(Optional.of(user));
+
+        // Act
+        LoanEligibilityDTO result = loanService.getEligibility(1);
+
+        // Assert
+        assertFalse(result.isEligible());
+        assertEquals(1, result.getOpenLoans());
+        assertEquals(new BigDecimal("2.50"), result.getUnpaidFines());
+        assertTrue(result.getReason().contains("unpaid fines"));
+        verifyNoInteractions(loanRepository);
     }
 
     @Test
     void returnBookShouldUpdateLoanStatus() {
         // Arrange
-        when(loanRepository.findById(1)).thenReturn(Optional.of(loan));
+        when(loanRepository.lockById(1)).thenReturn(Optional.of(loan));
         when(loanRepository.save(any(Loan.class))).thenReturn(loan);
 
         // Act
@@ -149,14 +254,31 @@ public class LoanServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(Loan.LoanStatus.RETURNED.name(), result.getStatus());
-        verify(bookRepository, times(1)).save(any(Book.class)); // Check that book quantity was updated
+        verify(holdService).releaseCopy(book); // Copy goes to the hold queue or back to stock
+    }
+
+    @Test
+    void returnBookShouldAcceptLoanMarkedOverdue() {
+        // Arrange
+        loan.setStatus(Loan.LoanStatus.OVERDUE);
+        loan.setExpectedReturnDate(LocalDate.now().minusDays(4));
+        when(loanRepository.lockById(1)).thenReturn(Optional.of(loan));
+        when(loanRepository.save(any(Loan.class))).thenReturn(loan);
+
+        // Act
+        LoanDTO result = loanService.returnBook(1);
+
+        // Assert
+        assertEquals(Loan.LoanStatus.RETURNED.name(), result.getStatus());
+        assertEquals(0, new BigDecimal("2.00").compareTo(loan.getFine().getAmount()));
+        verify(holdService).releaseCopy(book);
     }
 
     @Test
     void returnBookShouldThrowExceptionWhenLoanNotActive() {
         // Arrange
         loan.setStatus(Loan.LoanStatus.RETURNED);
-        when(loanRepository.findById(1)).thenReturn(Optional.of(loan));
+        when(loanRepository.lockById(1)).thenReturn(Optional.of(loan));
 
         // Act & Assert
         Exception exception = assertThrows(RuntimeException.class, () -> {
@@ -171,7 +293,7 @@ public class LoanServiceTest {
     void renewLoanShouldExtendExpectedReturnDate() {
         // Arrange
         LocalDate originalDate = loan.getExpectedReturnDate();
-        when(loanRepository.findById(1)).thenReturn(Optional.of(loan));
+        when(loanRepository.findWithDetailsById(1)).thenReturn(Optional.of(loan));
         when(loanRepository.save(any(Loan.class))).thenReturn(loan);
 
         // Act
@@ -186,7 +308,7 @@ public class LoanServiceTest {
     @Test
     void findByIdShouldReturnLoanWhenExists() {
         // Arrange
-        when(loanRepository.findById(1)).thenReturn(Optional.of(loan));
+        when(loanRepository.findWithDetailsById(1)).thenReturn(Optional.of(loan));
 
         // Act
         LoanDTO result = loanService.findById(1);
@@ -227,4 +349,64 @@ public class LoanServiceTest {
         assertNotNull(result);
         assertEquals(1, result.size());
     }
+
+    @Test
+    void findSummariesByUserShouldUseProjectionQuery() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10);
+        LoanSummaryDTO summary = LoanSummaryDTO.builder().id(1).userId(1).bookTitle("Test Book").status("ACTIVE").build();
+        when(userRepository.existsById(1)).thenReturn(true);
+        when(loanRepository.findSummariesByUserId(1, pageable)).thenReturn(new PageImpl<>(List.of(summary)));
+
+        // Act
+        Page<LoanSummaryDTO> result = loanService.findSummariesByUser(1, pageable);
+
+        // Assert
+        assertEquals(1, result.getTotalElements());
+        assertEquals("Test Book", result.getContent().get(0).getBookTitle());
+        verify(loanRepository, never()).findByUserId(any(), any());
+    }
+
+    @Test
+    void findSummariesByUserShouldThrowWhenUserNotFound() {
+        // Arrange
+        when(userRepository.existsById(99)).thenReturn(false);
+
+        // Act & Assert
+        Exception exception = assertThrows(RuntimeException.class,
+                () -> loanService.findSummariesByUser(99, PageRequest.of(0, 10)));
+        assertTrue(exception.getMessage().contains("User not found"));
+        verifyNoInteractions(loanRepository);
+    }
+
+    @Test
+    void scrollHistoryShouldContinueFromLastLoanDateAndId() {
+        // Arrange
+        LocalDate day = LocalDate.of(2025, 9, 1);
+        LoanSummaryDTO last = LoanSummaryDTO.builder().id(42).loanDate(day).status("RETURNED").build();
+        Pageable page = PageRequest.of(0, 1);
+        when(loanRepository.findSummariesFirst(page)).thenReturn(new SliceImpl<>(List.of(last), page, true));
+        when(loanRepository.findSummariesBefore(day, 42, page)).thenReturn(new SliceImpl<>(List.of(), page, false));
+        when(tableStatistics.estimateRows("loans")).thenReturn(1_000_000L);
+
+        // Act
+        CursorPageDTO<LoanSummaryDTO> first = loanService.scrollHistory(null, 1, true);
+        CursorPageDTO<LoanSummaryDTO> second = loanService.scrollHistory(first.getNextCursor(), 1, false);
+
+        // Assert
+        assertEquals(1_000_000L, first.getEstimatedTotal());
+        assertEquals(List.of(last), first.getContent());
+        assertFalse(second.isHasNext());
+        assertNull(second.getNextCursor());
+        verify(loanRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void scrollHistoryShouldRejectCursorFromAnotherListing() {
+        // Arrange
+        String bookCursor = ContinuationToken.encode(10);
+
+        // Act & Assert
+        assertThrows(InvalidContinuationTokenException.class, () -> loanService.scrollHistory(bookCursor, 20, false));
+    }
 }
@@ -0,0 +1,127 @@
+package io.github.ferrazsergio.libraryapi.services;
+
+import io.github.ferrazsergio.libraryapi.application.service.SearchService;
+import io.github.ferrazsergio.libraryapi.domain.model.Book;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.AuthorRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.BookRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.repository.CatalogSearchRepository;
+import io.github.ferrazsergio.libraryapi.infrastructure.search.CatalogIndex;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.BookDTO;
+import io.github.ferrazsergio.libraryapi.interfaces.dto.SearchResultDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SearchServiceTest {
+
+    @Mock
+    private CatalogSearchRepository catalogSearchRepository;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private AuthorRepository authorRepository;
+
+    @Mock
+    private CatalogIndex catalogIndex;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private SearchService searchService;
+
+    @Test
+    void toTsQueryShouldBuildPrefixTermsAndStripOperators() {
+        assertEquals("george:* & orw:*", SearchService.toTsQuery("George  Orw"));
+        assertEquals("dom:* & casmurro:*", SearchService.toTsQuery("dom & !casmurro:*"));
+        assertEquals("memórias:* & póstumas:*", SearchService.toTsQuery("Memórias Póstumas"));
+        assertNull(SearchService.toTsQuery("  ()&|  "));
+        assertNull(SearchService.toTsQuery(null));
+    }
+
+    @Test
+    void searchShouldKeepRelevanceOrder() {
+        // Arrange
+        when(catalogSearchRepository.searchBookIds("orwell:*", null, null, 20, 0)).thenReturn(List.of(2, 1));
+        when(bookRepository.findAllById(List.of(2, 1))).thenReturn(List.of(book(1, "Animal Farm"), book(2, "1984")));
+        when(catalogSearchRepository.searchAuthorIds(anyString(), anyInt())).thenReturn(List.of());
+
+        // Act
+        SearchResultDTO result = searchService.search("Orwell", null, null, PageRequest.of(0, 20));
+
+        // Assert
+        assertEquals(List.of(2, 1), result.getBooks().getContent().stream().map(BookDTO::getId).toList());
+        assertEquals(2, result.getBooks().getTotalElements());
+        verify(catalogSearchRepository, never()).countBooks(anyString(), any(), any());
+    }
+
+    @Test
+    void searchShouldNotQueryDatabaseForBlankText() {
+        // Act
+        SearchResultDTO result = searchService.search("   ", null, null, PageRequest.of(0, 20));
+
+        // Assert
+        assertTrue(result.getBooks().isEmpty());
+        assertTrue(result.getAuthors().isEmpty());
+        verifyNoInteractions(catalogSearchRepository, bookRepository, authorRepository);
+    }
+
+    @Test
+    void searchShouldUseInMemoryIndexWhenReady() {
+        // Arrange
+        PageRequest pageable = PageRequest.of(0, 20);
+        when(catalogIndex.isReady()).thenReturn(true);
+        when(catalogIndex.canAnswer("ficcao")).thenReturn(true);
+        when(catalogIndex.searchBooks("ficcao", 3, null, pageable))
+                .thenReturn(new PageImpl<>(List.of(BookDTO.builder().id(7).build()), pageable, 1));
+
+        // Act
+        SearchResultDTO result = searchService.search("ficcao", 3, null, pageable);
+
+        // Assert
+        assertEquals(7, result.getBooks().getContent().get(0).getId());
+        verifyNoInteractions(catalogSearchRepository, bookRepository, authorRepository, transactionManager);
+    }
+
+    @Test
+    void searchShouldUseDatabaseWhenIndexCannotAnswer() {
+        // Arrange
+        when(catalogIndex.isReady()).thenReturn(true);
+        when(catalogIndex.canAnswer("a")).thenReturn(false);
+        when(catalogSearchRepository.searchBookIds(eq("a:*"), any(), any(), anyInt(), anyLong())).thenReturn(List.of());
+        when(catalogSearchRepository.searchAuthorIds(anyString(), anyInt())).thenReturn(List.of());
+
+        // Act
+        searchService.search("a", null, null, PageRequest.of(0, 20));
+
+        // Assert
+        verify(catalogIndex, never()).searchBooks(any(), any(), any(), any());
+        verify(catalogSearchRepository).searchBookIds(eq("a:*"), any(), any(), anyInt(), anyLong());
+        verify(transactionManager).getTransaction(any());
+    }
+
+    private Book book(Integer id, String title) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setAuthors(new HashSet<>());
+        return book;
+    }
+}